@@ -0,0 +1,88 @@
+package edu.doane.sudoku.model;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * BatchKernel using the jdk.incubator.vector module. Each lane of a vector
+ * holds one grid, so every instruction works on the same cell or unit of
+ * as many grids as the hardware's widest vector register holds.
+ * <p>
+ * This class lives in its own source root, src-vector, which is not part
+ * of the project's default build: it needs a JDK with the incubator module
+ * and --add-modules jdk.incubator.vector to compile, and javac warns about
+ * using an incubating module whenever it does. Build it on top of the
+ * compiled src classes with
+ * <pre>
+ * javac --add-modules jdk.incubator.vector -cp out -d out \
+ *       src-vector/edu/doane/sudoku/model/VectorBatchKernel.java
+ * </pre>
+ * and run with --add-modules jdk.incubator.vector. When the class is
+ * missing, or the module is, BatchKernel.create() uses ScalarBatchKernel
+ * instead, so nothing else may refer to this class directly.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/16/2026
+ */
+final class VectorBatchKernel implements BatchKernel {
+
+    /**
+     * Widest int vector shape the hardware supports.
+     */
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+    @Override
+    public void compute(CandidateBatch batch) {
+        int stride = batch.stride;
+        int[] cells = batch.cells;
+        int[] unitMasks = batch.unitMasks;
+        int[] candidates = batch.candidates;
+        IntVector zero = IntVector.zero(SPECIES);
+        IntVector one = IntVector.broadcast(SPECIES, 1);
+        IntVector all = IntVector.broadcast(SPECIES, DigitMask.ALL);
+
+        // the stride is a multiple of every vector length, so there is no
+        // scalar tail
+        for (int g = 0; g < stride; g += SPECIES.length()) {
+            IntVector repeats = zero;
+            for (int u = 0; u < Units.COUNT; u++) {
+                IntVector seen = zero;
+                for (int cell : Units.UNITS[u]) {
+                    IntVector bit = IntVector.fromArray(SPECIES, cells, cell * stride + g);
+                    repeats = repeats.or(seen.and(bit));
+                    seen = seen.or(bit);
+                }
+                seen.intoArray(unitMasks, u * stride + g);
+            }
+
+            IntVector dead = zero;
+            IntVector singles = zero;
+            for (int cell = 0; cell < Units.CELLS; cell++) {
+                int k = cell * stride + g;
+                int[] units = Units.UNITS_OF[cell];
+                IntVector used = IntVector.fromArray(SPECIES, unitMasks, units[0] * stride + g)
+                        .or(IntVector.fromArray(SPECIES, unitMasks, units[1] * stride + g))
+                        .or(IntVector.fromArray(SPECIES, unitMasks, units[2] * stride + g));
+                VectorMask<Integer> empty = IntVector.fromArray(SPECIES, cells, k).eq(0);
+                IntVector mask = zero.blend(all.and(used.not()), empty);
+                mask.intoArray(candidates, k);
+
+                VectorMask<Integer> none = mask.eq(0);
+                dead = dead.add(one, empty.and(none));
+                VectorMask<Integer> single = mask.and(mask.sub(1)).eq(0).andNot(none);
+                singles = singles.add(one, single);
+            }
+
+            repeats.intoArray(batch.repeats, g);
+            dead.intoArray(batch.deadCells, g);
+            singles.intoArray(batch.singles, g);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "vector (" + SPECIES.vectorBitSize() + "-bit)";
+    }
+}
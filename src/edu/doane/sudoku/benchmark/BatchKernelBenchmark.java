@@ -0,0 +1,76 @@
+package edu.doane.sudoku.benchmark;
+
+import edu.doane.sudoku.model.BatchKernel;
+import edu.doane.sudoku.model.CandidateBatch;
+
+/**
+ * Measure BatchKernel throughput, in grids per second, for the scalar
+ * kernel and for the fastest one available. To include the vector
+ * kernel, build src-vector as VectorBatchKernel describes and run with
+ * --add-modules jdk.incubator.vector; without it, both lines report the
+ * scalar kernel.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/16/2026
+ */
+public final class BatchKernelBenchmark {
+
+    /**
+     * Accumulated results, so the JIT can't discard the work being timed.
+     */
+    private static volatile long sink;
+
+    /**
+     * Private constructor; this class is only a program entry point.
+     */
+    private BatchKernelBenchmark() {
+    }
+
+    /**
+     * Run the benchmark.
+     *
+     * @param args optional batch size; defaults to 4096.
+     */
+    public static void main(String[] args) {
+        int size = (args.length > 0) ? Integer.parseInt(args[0]) : 4096;
+        final CandidateBatch batch = new CandidateBatch(size);
+        for (int i = 0; i < size; i++) {
+            batch.set(i, Benchmarks.PUZZLES[i % Benchmarks.PUZZLES.length]);
+        }
+
+        BatchKernel[] kernels = {BatchKernel.createScalar(), BatchKernel.create()};
+        long[] checks = new long[kernels.length];
+        for (int k = 0; k < kernels.length; k++) {
+            final BatchKernel kernel = kernels[k];
+            Benchmarks.time(kernel.getName(), 200, size, new Runnable() {
+                @Override
+                public void run() {
+                    kernel.compute(batch);
+                    sink += batch.getSingleCount(0);
+                }
+            });
+            checks[k] = checksum(batch);
+        }
+
+        if (checks[0] != checks[1]) {
+            System.out.println("Kernels disagree!");
+        }
+    }
+
+    /**
+     * Fold every result in a batch into one number, to compare kernels.
+     *
+     * @param batch Computed batch.
+     * @return Checksum of the results.
+     */
+    private static long checksum(CandidateBatch batch) {
+        long sum = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            sum = sum * 31 + batch.getSingleCount(i) + (batch.isDeadEnd(i) ? 1 : 0);
+            for (int cell = 0; cell < 81; cell++) {
+                sum = sum * 31 + batch.getCandidates(i, cell);
+            }
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,73 @@
+package edu.doane.sudoku.benchmark;
+
+/**
+ * Shared helpers for the benchmark programs in this package: a set of
+ * sample puzzles, and a simple warm-up / measure timing loop. The
+ * benchmarks are plain command-line programs; run one with no arguments
+ * to get its report on standard output.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/16/2026
+ */
+public final class Benchmarks {
+
+    /**
+     * Sample puzzles, in the 81-character format used by GameGrid. The
+     * first is an easy newspaper puzzle; the rest are among the hardest
+     * known 9x9 puzzles.
+     */
+    public static final String[] PUZZLES = {
+            "530070000600195000098000060800060003400803001700020006060000280000419005000080079",
+            "800000000003600000070090200050007000000045700000100030001000068008500010090000400",
+            "100007090030020008009600500005300900010080002600004000300000010040000007007000300",
+            "100000002090400050006000700050903000000070000000850040700000600030009080002000001",
+            "000000039000001005003050800008090006070002000100400000009080050020000600400700000",
+            "000000012000000003002300400001800005060070800000009000008500000900040500470006000"
+    };
+
+    /**
+     * Minimum number of untimed warm-up rounds run before measuring.
+     */
+    private static final int WARMUP_ROUNDS = 5;
+
+    /**
+     * Minimum time spent warming up, in nanoseconds.
+     */
+    private static final long WARMUP_NANOS = 300_000_000L;
+
+    /**
+     * Private constructor; this class only holds static methods.
+     */
+    private Benchmarks() {
+    }
+
+    /**
+     * Time a piece of work. The work is run untimed for a short while to let
+     * the JIT compiler settle, then timed over the requested number of
+     * rounds.
+     *
+     * @param label  Label printed with the result.
+     * @param rounds Number of timed rounds.
+     * @param ops    Number of operations performed by one run of the work,
+     *               used to report a per-operation time.
+     * @param work   Work to time.
+     * @return Average nanoseconds per operation.
+     */
+    public static double time(String label, int rounds, long ops, Runnable work) {
+        long warmupEnd = System.nanoTime() + WARMUP_NANOS;
+        for (int i = 0; i < WARMUP_ROUNDS || System.nanoTime() < warmupEnd; i++) {
+            work.run();
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            work.run();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        double nsPerOp = (double) elapsed / ((double) rounds * ops);
+        System.out.printf("%-40s %12.1f ns/op %14.0f ops/s%n", label, nsPerOp,
+                1.0e9 / nsPerOp);
+        return nsPerOp;
+    }
+}
@@ -0,0 +1,72 @@
+package edu.doane.sudoku.benchmark;
+
+import edu.doane.sudoku.model.Canonicalizer;
+import edu.doane.sudoku.model.Game;
+import edu.doane.sudoku.model.PuzzleGenerator;
+import edu.doane.sudoku.model.SolverEngine;
+
+import java.util.List;
+
+/**
+ * Measure the cost of finding the canonical form of a puzzle, on the
+ * sample puzzles and on a set of freshly generated ones, one thread at a
+ * time and in parallel with canonicalizeAll().
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/16/2026
+ */
+public final class CanonicalizerBenchmark {
+
+    /**
+     * Accumulated results, so the JIT can't discard the work being timed.
+     */
+    private static volatile long sink;
+
+    /**
+     * Private constructor; this class is only a program entry point.
+     */
+    private CanonicalizerBenchmark() {
+    }
+
+    /**
+     * Run the benchmark.
+     *
+     * @param args optional number of puzzles to generate; defaults to 200.
+     */
+    public static void main(String[] args) {
+        int count = (args.length > 0) ? Integer.parseInt(args[0]) : 200;
+        List<Game> games = new PuzzleGenerator(SolverEngine.DEFAULT).generate(count, 1);
+        final String[] generated = new String[games.size()];
+        for (int i = 0; i < generated.length; i++) {
+            generated[i] = games.get(i).getInitial().getGameData();
+        }
+
+        final Canonicalizer canonicalizer = new Canonicalizer();
+        Benchmarks.time("canonicalize, sample puzzles", 2000, Benchmarks.PUZZLES.length, new Runnable() {
+            @Override
+            public void run() {
+                long acc = 0;
+                for (String p : Benchmarks.PUZZLES) {
+                    acc += canonicalizer.canonicalize(p).charAt(80);
+                }
+                sink += acc;
+            }
+        });
+        Benchmarks.time("canonicalize, generated puzzles", 50, generated.length, new Runnable() {
+            @Override
+            public void run() {
+                long acc = 0;
+                for (String p : generated) {
+                    acc += canonicalizer.canonicalize(p).charAt(80);
+                }
+                sink += acc;
+            }
+        });
+        Benchmarks.time("canonicalizeAll(), generated puzzles", 50, generated.length, new Runnable() {
+            @Override
+            public void run() {
+                sink += Canonicalizer.canonicalizeAll(generated).length;
+            }
+        });
+    }
+}
@@ -0,0 +1,306 @@
+package edu.doane.sudoku.benchmark;
+
+import edu.doane.sudoku.model.FactoryGrid;
+
+/**
+ * Compare the bit mask cell representation used by FactoryGrid with the
+ * earlier one, where each cell held an int[10] array of constraint counts
+ * and a boolean[10] array of notes. A copy of the earlier representation is
+ * kept here, in LegacyGrid, so the two can be measured side by side on the
+ * same work: constraint queries, deductions, lock checks, note reads, and
+ * setting / unsetting numbers.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/16/2026
+ */
+public final class CellBenchmark {
+
+    /**
+     * Accumulated results, so the JIT can't discard the work being timed.
+     */
+    private static volatile long sink;
+
+    /**
+     * Private constructor; this class is only a program entry point.
+     */
+    private CellBenchmark() {
+    }
+
+    /**
+     * Run the benchmark.
+     *
+     * @param args command-line arguments. Ignored by this program.
+     */
+    public static void main(String[] args) {
+        final int rounds = 2000;
+        final long ops = Benchmarks.PUZZLES.length;
+
+        final FactoryGrid[] grids = new FactoryGrid[Benchmarks.PUZZLES.length];
+        final LegacyGrid[] legacy = new LegacyGrid[Benchmarks.PUZZLES.length];
+        for (int i = 0; i < grids.length; i++) {
+            grids[i] = new FactoryGrid(Benchmarks.PUZZLES[i]);
+            legacy[i] = new LegacyGrid(Benchmarks.PUZZLES[i]);
+        }
+
+        System.out.println("Per-grid query sweep (81 cells x 9 numbers)");
+        double oldQuery = Benchmarks.time("  legacy count arrays", rounds, ops, new Runnable() {
+            @Override
+            public void run() {
+                long acc = 0;
+                for (LegacyGrid g : legacy) {
+                    acc += querySweep(g);
+                }
+                sink += acc;
+            }
+        });
+        double newQuery = Benchmarks.time("  bit masks", rounds, ops, new Runnable() {
+            @Override
+            public void run() {
+                long acc = 0;
+                for (FactoryGrid g : grids) {
+                    acc += querySweep(g);
+                }
+                sink += acc;
+            }
+        });
+
+        System.out.println("Set / unset every legal number in every empty cell");
+        double oldMove = Benchmarks.time("  legacy count arrays", rounds, ops, new Runnable() {
+            @Override
+            public void run() {
+                long acc = 0;
+                for (LegacyGrid g : legacy) {
+                    acc += moveSweep(g);
+                }
+                sink += acc;
+            }
+        });
+        double newMove = Benchmarks.time("  bit masks", rounds, ops, new Runnable() {
+            @Override
+            public void run() {
+                long acc = 0;
+                for (FactoryGrid g : grids) {
+                    acc += moveSweep(g);
+                }
+                sink += acc;
+            }
+        });
+
+        System.out.printf("Speedup: queries %.2fx, moves %.2fx%n",
+                oldQuery / newQuery, oldMove / newMove);
+    }
+
+    /**
+     * Query every cell of a mask-based grid.
+     *
+     * @param g Grid to query.
+     * @return Checksum of the results.
+     */
+    private static long querySweep(FactoryGrid g) {
+        long acc = 0;
+        for (int row = 0; row < 9; row++) {
+            for (int col = 0; col < 9; col++) {
+                acc += g.deduceNumber(row, col);
+                acc += g.getNotesMask(row, col);
+                for (int n = 1; n <= 9; n++) {
+                    if (g.isConstraint(row, col, n)) {
+                        acc++;
+                    }
+                }
+            }
+        }
+        return acc + (g.isLocked() ? 1 : 0);
+    }
+
+    /**
+     * Query every cell of a legacy grid.
+     *
+     * @param g Grid to query.
+     * @return Checksum of the results.
+     */
+    private static long querySweep(LegacyGrid g) {
+        long acc = 0;
+        for (int row = 0; row < 9; row++) {
+            for (int col = 0; col < 9; col++) {
+                acc += g.deduceNumber(row, col);
+                acc += g.getNotes(row, col).length;
+                for (int n = 1; n <= 9; n++) {
+                    if (g.isConstraint(row, col, n)) {
+                        acc++;
+                    }
+                }
+            }
+        }
+        return acc + (g.isLocked() ? 1 : 0);
+    }
+
+    /**
+     * Try every legal move on a mask-based grid, undoing each one.
+     *
+     * @param g Grid to play on.
+     * @return Checksum of the results.
+     */
+    private static long moveSweep(FactoryGrid g) {
+        long acc = 0;
+        for (int row = 0; row < 9; row++) {
+            for (int col = 0; col < 9; col++) {
+                for (int n = 1; n <= 9; n++) {
+                    if (g.canSetNumber(row, col, n)) {
+                        g.setNumber(row, col, n);
+                        g.unsetNumber(row, col);
+                        acc++;
+                    }
+                }
+            }
+        }
+        return acc;
+    }
+
+    /**
+     * Try every legal move on a legacy grid, undoing each one.
+     *
+     * @param g Grid to play on.
+     * @return Checksum of the results.
+     */
+    private static long moveSweep(LegacyGrid g) {
+        long acc = 0;
+        for (int row = 0; row < 9; row++) {
+            for (int col = 0; col < 9; col++) {
+                for (int n = 1; n <= 9; n++) {
+                    if (g.canSetNumber(row, col, n)) {
+                        g.setNumber(row, col, n);
+                        g.unsetNumber(row, col);
+                        acc++;
+                    }
+                }
+            }
+        }
+        return acc;
+    }
+
+    /**
+     * The earlier grid representation: every cell has its own constraint
+     * count and note arrays, and placing a number ripples a count update
+     * through the cell's row, column, and block.
+     */
+    private static final class LegacyGrid {
+
+        /**
+         * Number in each cell, in [0, 9].
+         */
+        private final int[][] numbers = new int[9][9];
+
+        /**
+         * Given flag for each cell.
+         */
+        private final boolean[][] givens = new boolean[9][9];
+
+        /**
+         * Constraint counts for each cell; element 0 unused.
+         */
+        private final int[][][] constraints = new int[9][9][10];
+
+        /**
+         * Notes for each cell; element 0 unused.
+         */
+        private final boolean[][][] notes = new boolean[9][9][10];
+
+        /**
+         * Construct a legacy grid from game data.
+         *
+         * @param data 81-character game data.
+         */
+        LegacyGrid(String data) {
+            for (int k = 0; k < 81; k++) {
+                int n = data.charAt(k) - '0';
+                if (n != 0) {
+                    setNumber(k / 9, k % 9, n);
+                    givens[k / 9][k % 9] = true;
+                }
+            }
+        }
+
+        boolean isConstraint(int row, int col, int number) {
+            check(row, col, number);
+            return constraints[row][col][number] != 0;
+        }
+
+        boolean canSetNumber(int row, int col, int number) {
+            check(row, col, number);
+            return !givens[row][col] && numbers[row][col] == 0
+                    && !isConstraint(row, col, number);
+        }
+
+        int deduceNumber(int row, int col) {
+            check(row, col, 1);
+            if (numbers[row][col] != 0) return 0;
+            int num = 0;
+            int numConstraints = 0;
+            for (int i = 1; i <= 9; i++) {
+                if (!isConstraint(row, col, i))
+                    num = i;
+                else
+                    numConstraints++;
+            }
+            return (numConstraints == 8) ? num : 0;
+        }
+
+        boolean isLocked() {
+            for (int row = 0; row < 9; row++) {
+                for (int col = 0; col < 9; col++) {
+                    if (numbers[row][col] == 0) {
+                        boolean locked = true;
+                        for (int i = 1; i <= 9 && locked; i++) {
+                            locked = isConstraint(row, col, i);
+                        }
+                        if (locked) return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        boolean[] getNotes(int row, int col) {
+            check(row, col, 1);
+            return java.util.Arrays.copyOf(notes[row][col], 10);
+        }
+
+        void setNumber(int row, int col, int number) {
+            numbers[row][col] = number;
+            ripple(row, col, number, 1);
+        }
+
+        void unsetNumber(int row, int col) {
+            int number = numbers[row][col];
+            numbers[row][col] = 0;
+            ripple(row, col, number, -1);
+        }
+
+        private void check(int row, int col, int number) {
+            if (row < 0 || row > 8 || col < 0 || col > 8 || number < 1 || number > 9) {
+                throw new IllegalArgumentException("Illegal parameters: ("
+                        + row + ", " + col + ", " + number + ")");
+            }
+        }
+
+        private void ripple(int row, int col, int number, int delta) {
+            int rStart = (row / 3) * 3;
+            int cStart = (col / 3) * 3;
+            for (int c = 0; c < 9; c++) {
+                if (!(c >= cStart && c < (cStart + 3))) {
+                    constraints[row][c][number] += delta;
+                }
+            }
+            for (int r = 0; r < 9; r++) {
+                if (!(r >= rStart && r < (rStart + 3))) {
+                    constraints[r][col][number] += delta;
+                }
+            }
+            for (int r = rStart; r < rStart + 3; r++) {
+                for (int c = cStart; c < cStart + 3; c++) {
+                    constraints[r][c][number] += delta;
+                }
+            }
+        }
+    }
+}
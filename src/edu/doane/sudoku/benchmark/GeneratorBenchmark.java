@@ -0,0 +1,58 @@
+package edu.doane.sudoku.benchmark;
+
+import edu.doane.sudoku.model.Game;
+import edu.doane.sudoku.model.PuzzleGenerator;
+import edu.doane.sudoku.model.SolverEngine;
+
+import java.util.List;
+
+/**
+ * Measure PuzzleGenerator throughput, in puzzles per second, for each
+ * solver engine, using every core through the common fork / join pool.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/16/2026
+ */
+public final class GeneratorBenchmark {
+
+    /**
+     * Private constructor; this class is only a program entry point.
+     */
+    private GeneratorBenchmark() {
+    }
+
+    /**
+     * Run the benchmark.
+     *
+     * @param args optional number of puzzles to generate per engine;
+     *             defaults to 2000.
+     */
+    public static void main(String[] args) {
+        int count = (args.length > 0) ? Integer.parseInt(args[0]) : 2000;
+        System.out.println("Cores: " + Runtime.getRuntime().availableProcessors());
+
+        for (SolverEngine engine : SolverEngine.values()) {
+            PuzzleGenerator generator = new PuzzleGenerator(engine);
+
+            // warm up
+            generator.generate(Math.max(count / 10, 50), 1, 1L);
+
+            long start = System.nanoTime();
+            List<Game> games = generator.generate(count, 1, 2L);
+            double seconds = (System.nanoTime() - start) / 1.0e9;
+
+            int clues = 0;
+            for (Game g : games) {
+                for (char c : g.getInitial().getGameData().toCharArray()) {
+                    if (c != '0') {
+                        clues++;
+                    }
+                }
+            }
+
+            System.out.printf("%-16s %6d puzzles in %6.2f s: %8.1f puzzles/s, "
+                            + "%.1f clues on average%n", engine, games.size(), seconds,
+                    games.size() / seconds, (double) clues / games.size());
+        }
+    }
+}
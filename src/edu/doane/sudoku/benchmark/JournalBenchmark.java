@@ -0,0 +1,229 @@
+package edu.doane.sudoku.benchmark;
+
+import edu.doane.sudoku.model.FactoryGrid;
+import edu.doane.sudoku.model.MoveJournal;
+
+/**
+ * Measure the cost of backtracking with a MoveJournal, against copying the
+ * grid at each level of the search. The same search solves each sample
+ * puzzle both ways: fill naked singles, then try each candidate of the
+ * cell with the fewest, until two solutions are found or the tree is
+ * exhausted. With the journal, a level takes a mark() and rewinds to it;
+ * without, it saves the grid with copyFrom() and restores it. The cost of
+ * recording moves when no search is made of them is timed too, as plain
+ * set / unset pairs with and without a journal attached.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/16/2026
+ */
+public final class JournalBenchmark {
+
+    /**
+     * Deepest search level any puzzle can need.
+     */
+    private static final int MAX_DEPTH = 82;
+
+    /**
+     * Accumulated results, so the JIT can't discard the work being timed.
+     */
+    private static volatile long sink;
+
+    /**
+     * Private constructor; this class is only a program entry point.
+     */
+    private JournalBenchmark() {
+    }
+
+    /**
+     * Run the benchmark.
+     *
+     * @param args command-line arguments. Ignored by this program.
+     */
+    public static void main(String[] args) {
+        final int n = Benchmarks.PUZZLES.length;
+        final FactoryGrid[] journaled = new FactoryGrid[n];
+        final FactoryGrid[] copied = new FactoryGrid[n];
+        final FactoryGrid[] saves = new FactoryGrid[MAX_DEPTH];
+        for (int d = 0; d < MAX_DEPTH; d++) {
+            saves[d] = new FactoryGrid();
+        }
+
+        long nodes = 0;
+        for (int i = 0; i < n; i++) {
+            journaled[i] = new FactoryGrid(Benchmarks.PUZZLES[i]);
+            journaled[i].setJournal(new MoveJournal(128));
+            copied[i] = new FactoryGrid(Benchmarks.PUZZLES[i]);
+            long[] counts = new long[2];
+            searchJournal(journaled[i], counts);
+            long[] check = new long[2];
+            searchCopy(copied[i], saves, 0, check);
+            if (counts[0] != check[0] || counts[1] != check[1]) {
+                throw new IllegalStateException("Searches disagree on puzzle " + i);
+            }
+            nodes += counts[1];
+        }
+        System.out.println(nodes + " search nodes over " + n + " puzzles");
+
+        double journalNs = Benchmarks.time("search, journal rewind", 20, nodes, new Runnable() {
+            @Override
+            public void run() {
+                long[] counts = new long[2];
+                for (FactoryGrid g : journaled) {
+                    searchJournal(g, counts);
+                }
+                sink += counts[1];
+            }
+        });
+        double copyNs = Benchmarks.time("search, copy per level", 20, nodes, new Runnable() {
+            @Override
+            public void run() {
+                long[] counts = new long[2];
+                for (FactoryGrid g : copied) {
+                    searchCopy(g, saves, 0, counts);
+                }
+                sink += counts[1];
+            }
+        });
+        System.out.printf("journal speedup: %.2fx%n", copyNs / journalNs);
+
+        final FactoryGrid plain = new FactoryGrid(Benchmarks.PUZZLES[0]);
+        final FactoryGrid recorded = new FactoryGrid(Benchmarks.PUZZLES[0]);
+        recorded.setJournal(new MoveJournal());
+        long pairs = sweep(plain);
+        Benchmarks.time("set / unset pair, no journal", 200_000, pairs, new Runnable() {
+            @Override
+            public void run() {
+                sink += sweep(plain);
+            }
+        });
+        Benchmarks.time("set / unset pair, journaled", 200_000, pairs, new Runnable() {
+            @Override
+            public void run() {
+                sink += sweep(recorded);
+            }
+        });
+    }
+
+    /**
+     * Search below the grid's current state, backtracking with the journal.
+     * The grid is left as it was found.
+     *
+     * @param g      Grid to search, with a journal attached.
+     * @param counts Solutions found, and search nodes visited, updated.
+     */
+    private static void searchJournal(FactoryGrid g, long[] counts) {
+        counts[1]++;
+        int mark = g.mark();
+        int cell = propagate(g);
+        if (cell == 81) {
+            counts[0]++;
+        } else if (cell >= 0) {
+            int row = cell / 9;
+            int col = cell % 9;
+            for (int number = 1; number <= 9 && counts[0] < 2; number++) {
+                if (g.canSetNumber(row, col, number)) {
+                    int inner = g.mark();
+                    g.setNumber(row, col, number);
+                    searchJournal(g, counts);
+                    g.rewind(inner);
+                }
+            }
+        }
+        g.rewind(mark);
+    }
+
+    /**
+     * Search below the grid's current state, backtracking by restoring a
+     * copy of the grid saved at each level. The grid is left as it was
+     * found.
+     *
+     * @param g      Grid to search.
+     * @param saves  Grid to save into at each depth.
+     * @param depth  Current depth of the search.
+     * @param counts Solutions found, and search nodes visited, updated.
+     */
+    private static void searchCopy(FactoryGrid g, FactoryGrid[] saves, int depth, long[] counts) {
+        counts[1]++;
+        FactoryGrid save = saves[depth];
+        save.copyFrom(g);
+        int cell = propagate(g);
+        if (cell == 81) {
+            counts[0]++;
+        } else if (cell >= 0) {
+            int row = cell / 9;
+            int col = cell % 9;
+            for (int number = 1; number <= 9 && counts[0] < 2; number++) {
+                if (g.canSetNumber(row, col, number)) {
+                    g.setNumber(row, col, number);
+                    searchCopy(g, saves, depth + 1, counts);
+                    g.unsetNumber(row, col);
+                }
+            }
+        }
+        g.copyFrom(save);
+    }
+
+    /**
+     * Fill in every cell with only one candidate, repeatedly, then choose
+     * the empty cell with the fewest candidates.
+     *
+     * @param g Grid to fill in.
+     * @return Index of the cell to branch on, 81 if the grid is full, or -1
+     * if some empty cell has no candidates.
+     */
+    private static int propagate(FactoryGrid g) {
+        boolean progress = true;
+        int best = 81;
+        while (progress) {
+            progress = false;
+            best = 81;
+            int fewest = 10;
+            for (int cell = 0; cell < 81; cell++) {
+                int row = cell / 9;
+                int col = cell % 9;
+                if (g.getNumber(row, col) == 0) {
+                    int count = 0;
+                    int last = 0;
+                    for (int number = 1; number <= 9; number++) {
+                        if (g.canSetNumber(row, col, number)) {
+                            count++;
+                            last = number;
+                        }
+                    }
+                    if (count == 0) {
+                        return -1;
+                    } else if (count == 1) {
+                        g.setNumber(row, col, last);
+                        progress = true;
+                    } else if (count < fewest) {
+                        fewest = count;
+                        best = cell;
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Set and unset every number in every empty cell of a grid.
+     *
+     * @param g Grid to sweep.
+     * @return Number of pairs made.
+     */
+    private static long sweep(FactoryGrid g) {
+        long pairs = 0;
+        for (int row = 0; row < 9; row++) {
+            for (int col = 0; col < 9; col++) {
+                if (!g.isGiven(row, col)) {
+                    for (int number = 1; number <= 9; number++) {
+                        g.setNumber(row, col, number);
+                        g.unsetNumber(row, col);
+                        pairs++;
+                    }
+                }
+            }
+        }
+        return pairs;
+    }
+}
@@ -0,0 +1,430 @@
+package edu.doane.sudoku.benchmark;
+
+import edu.doane.sudoku.model.FactoryGrid;
+import edu.doane.sudoku.model.GameGrid;
+
+import java.util.SplittableRandom;
+
+/**
+ * Measure the cost of loading puzzle strings into a reused FactoryGrid with
+ * setGameData(), and of resetting it with clearGrid(). A million puzzle
+ * strings, made by relabeling the digits of the sample puzzles, are loaded
+ * three ways: with the bulk load, one given at a time through setNumber()
+ * (how setGameData() used to work on the mask-based grid), and with the
+ * original per-cell constraint counters, rippled given by given. The reset
+ * is timed on grids holding a full solution and notes in every empty cell.
+ * Before timing, the loads and resets are checked against the original
+ * counters, including on game data with an illegal character.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/16/2026
+ */
+public final class LoadBenchmark {
+
+    /**
+     * Accumulated results, so the JIT can't discard the work being timed.
+     */
+    private static volatile long sink;
+
+    /**
+     * Private constructor; this class is only a program entry point.
+     */
+    private LoadBenchmark() {
+    }
+
+    /**
+     * Run the benchmark.
+     *
+     * @param args optional number of puzzle strings to load; defaults to
+     *             1,000,000.
+     */
+    public static void main(String[] args) {
+        int count = (args.length > 0) ? Integer.parseInt(args[0]) : 1_000_000;
+        final String[] puzzles = relabeled(count, new SplittableRandom(1L));
+        check(puzzles);
+
+        final FactoryGrid bulk = new FactoryGrid();
+        double bulkNs = Benchmarks.time("load, bulk setGameData()", 5, count, new Runnable() {
+            @Override
+            public void run() {
+                long acc = 0;
+                for (String p : puzzles) {
+                    bulk.setGameData(p);
+                    acc += bulk.getFilledCount();
+                }
+                sink += acc;
+            }
+        });
+
+        final PerGivenGrid perGiven = new PerGivenGrid();
+        double perGivenNs = Benchmarks.time("load, one given at a time", 5, count, new Runnable() {
+            @Override
+            public void run() {
+                long acc = 0;
+                for (String p : puzzles) {
+                    perGiven.load(p);
+                    acc += perGiven.getFilledCount();
+                }
+                sink += acc;
+            }
+        });
+
+        final RippleGrid ripple = new RippleGrid();
+        double rippleNs = Benchmarks.time("load, rippled constraint counters", 5, count, new Runnable() {
+            @Override
+            public void run() {
+                long acc = 0;
+                for (String p : puzzles) {
+                    ripple.load(p);
+                    acc += ripple.numbers[0];
+                }
+                sink += acc;
+            }
+        });
+
+        System.out.printf("bulk load speedup: %.1fx over one given at a time, "
+                + "%.1fx over rippled counters%n", perGivenNs / bulkNs, rippleNs / bulkNs);
+
+        clear();
+    }
+
+    /**
+     * Check that setGameData() and clearGrid() leave a FactoryGrid with the
+     * same numbers, givens, and constraints as the original rippled
+     * counters, for well-formed puzzles and for puzzles with an illegal
+     * character partway through.
+     *
+     * @param puzzles Puzzle strings to check with.
+     * @throws IllegalStateException if a grid disagrees with the original.
+     */
+    private static void check(String[] puzzles) {
+        FactoryGrid grid = new FactoryGrid();
+        RippleGrid ripple = new RippleGrid();
+        SplittableRandom random = new SplittableRandom(2L);
+        for (int i = 0; i < Math.min(puzzles.length, 10_000); i++) {
+            String p = puzzles[i];
+            if (i % 2 == 1) {
+                // break the puzzle at a random cell
+                int k = random.nextInt(81);
+                p = p.substring(0, k) + 'x' + p.substring(k + 1);
+            }
+
+            boolean gridThrew = false;
+            boolean rippleThrew = false;
+            try {
+                grid.setGameData(p);
+            } catch (IllegalArgumentException ex) {
+                gridThrew = true;
+            }
+            try {
+                ripple.load(p);
+            } catch (IllegalArgumentException ex) {
+                rippleThrew = true;
+            }
+            if (gridThrew != rippleThrew || !same(grid, ripple)) {
+                throw new IllegalStateException("Load disagrees with the original on " + p);
+            }
+
+            // put a number and a note in each empty cell, then clear
+            for (int cell = 0; cell < 81; cell++) {
+                if (!ripple.given[cell]) {
+                    int number = 1 + random.nextInt(9);
+                    grid.setNumber(cell / 9, cell % 9, number);
+                    grid.setNote(cell / 9, cell % 9, number);
+                    ripple.setNumber(cell / 9, cell % 9, number);
+                    ripple.notes[cell][number] = true;
+                }
+            }
+            grid.clearGrid();
+            ripple.clear();
+            if (!same(grid, ripple)) {
+                throw new IllegalStateException("Clear disagrees with the original on " + p);
+            }
+        }
+    }
+
+    /**
+     * Do a FactoryGrid and a RippleGrid hold the same numbers, givens,
+     * notes, and constraints?
+     *
+     * @param grid   Grid to compare.
+     * @param ripple Original grid to compare with.
+     * @return true if the grids agree.
+     */
+    private static boolean same(FactoryGrid grid, RippleGrid ripple) {
+        for (int cell = 0; cell < 81; cell++) {
+            int row = cell / 9;
+            int col = cell % 9;
+            if (grid.getNumber(row, col) != ripple.numbers[cell]
+                    || grid.isGiven(row, col) != ripple.given[cell]) {
+                return false;
+            }
+            for (int number = 1; number <= 9; number++) {
+                if (grid.hasNote(row, col, number) != ripple.notes[cell][number]
+                        || grid.isConstraint(row, col, number)
+                        != (ripple.constraints[cell][number] > 0)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Time clearGrid() against the rippled counters' per-cell unset.
+     */
+    private static void clear() {
+        final int n = Benchmarks.PUZZLES.length;
+        final FactoryGrid[] full = new FactoryGrid[n];
+        final FactoryGrid[] grids = new FactoryGrid[n];
+        final RippleGrid[] fullRipple = new RippleGrid[n];
+        final RippleGrid[] ripples = new RippleGrid[n];
+        for (int i = 0; i < n; i++) {
+            full[i] = new FactoryGrid(Benchmarks.PUZZLES[i]);
+            fullRipple[i] = new RippleGrid();
+            fullRipple[i].load(Benchmarks.PUZZLES[i]);
+            GameGrid solved = edu.doane.sudoku.model.SolverEngine.DEFAULT.create().solve(full[i]);
+            for (int row = 0; row < 9; row++) {
+                for (int col = 0; col < 9; col++) {
+                    if (!full[i].isGiven(row, col)) {
+                        full[i].setNumber(row, col, solved.getNumber(row, col));
+                        fullRipple[i].setNumber(row, col, solved.getNumber(row, col));
+                        for (int note = 1; note <= 9; note++) {
+                            full[i].setNote(row, col, note);
+                            fullRipple[i].notes[row * 9 + col][note] = true;
+                        }
+                    }
+                }
+            }
+            grids[i] = full[i].copy();
+            ripples[i] = new RippleGrid();
+        }
+
+        double copyNs = Benchmarks.time("restore only", 200_000, n, new Runnable() {
+            @Override
+            public void run() {
+                for (int i = 0; i < n; i++) {
+                    grids[i].copyFrom(full[i]);
+                }
+                sink += grids[0].getFilledCount();
+            }
+        });
+        double bulkNs = Benchmarks.time("restore + bulk clearGrid()", 200_000, n, new Runnable() {
+            @Override
+            public void run() {
+                for (int i = 0; i < n; i++) {
+                    grids[i].copyFrom(full[i]);
+                    grids[i].clearGrid();
+                }
+                sink += grids[0].getFilledCount();
+            }
+        });
+        double rippleNs = Benchmarks.time("restore + rippled per-cell clear", 200_000, n, new Runnable() {
+            @Override
+            public void run() {
+                for (int i = 0; i < n; i++) {
+                    ripples[i].copyFrom(fullRipple[i]);
+                    ripples[i].clear();
+                }
+                sink += ripples[0].numbers[0];
+            }
+        });
+        System.out.printf("bulk clear speedup, restore excluded: %.1fx over rippled counters%n",
+                (rippleNs - copyNs) / (bulkNs - copyNs));
+    }
+
+    /**
+     * Make puzzle strings by applying random digit permutations to the
+     * sample puzzles.
+     *
+     * @param count  Number of strings to make.
+     * @param random Random number generator to use.
+     * @return Puzzle strings.
+     */
+    private static String[] relabeled(int count, SplittableRandom random) {
+        String[] puzzles = new String[count];
+        char[] map = new char[10];
+        char[] buf = new char[81];
+        for (int i = 0; i < count; i++) {
+            map[0] = '0';
+            for (int d = 1; d <= 9; d++) {
+                map[d] = (char) ('0' + d);
+            }
+            for (int d = 9; d > 1; d--) {
+                int j = 1 + random.nextInt(d);
+                char t = map[d];
+                map[d] = map[j];
+                map[j] = t;
+            }
+            String source = Benchmarks.PUZZLES[i % Benchmarks.PUZZLES.length];
+            for (int k = 0; k < 81; k++) {
+                buf[k] = map[source.charAt(k) - '0'];
+            }
+            puzzles[i] = new String(buf);
+        }
+        return puzzles;
+    }
+
+    /**
+     * Grid loaded the way setGameData() worked before the bulk load: reset,
+     * then setNumber() and mark a given for each clue.
+     */
+    private static final class PerGivenGrid extends GameGrid {
+
+        /**
+         * Load game data one given at a time.
+         *
+         * @param data 81-character game data.
+         */
+        void load(String data) {
+            resetAll();
+            int k = 0;
+            for (int row = 0; row < 9; row++) {
+                for (int col = 0; col < 9; col++) {
+                    int number = data.charAt(k) - '0';
+                    if (number < 0 || number > 9) {
+                        throw new IllegalArgumentException("Illegal character: " + data.charAt(k));
+                    }
+                    if (number != 0) {
+                        setNumber(row, col, number);
+                        setGivenCell(row * 9 + col);
+                    }
+                    k++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Copy of the original FactoryGrid bookkeeping: each cell has a count of
+     * how many placed numbers constrain each digit, and setting or unsetting
+     * a number ripples +1 / -1 to the 21 cells of its row, column, and
+     * block, with the same argument checks the original made.
+     */
+    private static final class RippleGrid {
+
+        /**
+         * Number in each cell.
+         */
+        final int[] numbers = new int[81];
+
+        /**
+         * Given flag for each cell.
+         */
+        final boolean[] given = new boolean[81];
+
+        /**
+         * Constraint counts for each cell; element 0 unused.
+         */
+        final int[][] constraints = new int[81][10];
+
+        /**
+         * Notes for each cell; element 0 unused.
+         */
+        final boolean[][] notes = new boolean[81][10];
+
+        /**
+         * Reset every cell, then set and ripple each given.
+         *
+         * @param data 81-character game data.
+         */
+        void load(String data) {
+            for (int cell = 0; cell < 81; cell++) {
+                numbers[cell] = 0;
+                given[cell] = false;
+                java.util.Arrays.fill(constraints[cell], 0);
+                java.util.Arrays.fill(notes[cell], false);
+            }
+            for (int k = 0; k < 81; k++) {
+                int number = data.charAt(k) - '0';
+                if (number < 0 || number > 9) {
+                    throw new IllegalArgumentException("Illegal character: " + data.charAt(k));
+                }
+                if (number != 0) {
+                    setNumber(k / 9, k % 9, number);
+                    given[k] = true;
+                }
+            }
+        }
+
+        /**
+         * Unset every non-given number, then remove notes one at a time.
+         */
+        void clear() {
+            for (int row = 0; row < 9; row++) {
+                for (int col = 0; col < 9; col++) {
+                    if (!given[row * 9 + col]) {
+                        unsetNumber(row, col);
+                    }
+                    for (int number = 1; number <= 9; number++) {
+                        removeNote(row, col, number);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Copy another grid's state into this one.
+         *
+         * @param other Grid to copy from.
+         */
+        void copyFrom(RippleGrid other) {
+            System.arraycopy(other.numbers, 0, numbers, 0, 81);
+            System.arraycopy(other.given, 0, given, 0, 81);
+            for (int cell = 0; cell < 81; cell++) {
+                System.arraycopy(other.constraints[cell], 0, constraints[cell], 0, 10);
+                System.arraycopy(other.notes[cell], 0, notes[cell], 0, 10);
+            }
+        }
+
+        void setNumber(int row, int col, int number) {
+            check(row, col, number);
+            if (numbers[row * 9 + col] != 0) {
+                unsetNumber(row, col);
+            }
+            numbers[row * 9 + col] = number;
+            ripple(row, col, number, 1);
+        }
+
+        void unsetNumber(int row, int col) {
+            check(row, col, 1);
+            int number = numbers[row * 9 + col];
+            if (number != 0) {
+                numbers[row * 9 + col] = 0;
+                ripple(row, col, number, -1);
+            }
+        }
+
+        void removeNote(int row, int col, int number) {
+            check(row, col, number);
+            notes[row * 9 + col][number] = false;
+        }
+
+        private void check(int row, int col, int number) {
+            if (row < 0 || row > 8 || col < 0 || col > 8 || number < 1 || number > 9) {
+                throw new IllegalArgumentException("Illegal parameters: ("
+                        + row + ", " + col + ", " + number + ")");
+            }
+        }
+
+        private void ripple(int row, int col, int number, int delta) {
+            int rStart = (row / 3) * 3;
+            int cStart = (col / 3) * 3;
+            for (int c = 0; c < 9; c++) {
+                if (!(c >= cStart && c < cStart + 3)) {
+                    constraints[row * 9 + c][number] += delta;
+                }
+            }
+            for (int r = 0; r < 9; r++) {
+                if (!(r >= rStart && r < rStart + 3)) {
+                    constraints[r * 9 + col][number] += delta;
+                }
+            }
+            for (int r = rStart; r < rStart + 3; r++) {
+                for (int c = cStart; c < cStart + 3; c++) {
+                    constraints[r * 9 + c][number] += delta;
+                }
+            }
+        }
+    }
+}
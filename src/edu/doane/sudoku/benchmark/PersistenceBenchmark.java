@@ -0,0 +1,312 @@
+package edu.doane.sudoku.benchmark;
+
+import edu.doane.sudoku.model.Game;
+import edu.doane.sudoku.persistence.ConnectionPool;
+import edu.doane.sudoku.persistence.GameDispenser;
+import edu.doane.sudoku.persistence.GameImporter;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Measure the latency of fetching one game from an embedded Derby database,
+ * the way Persistence used to (open a connection, run a freshly compiled
+ * query, close the connection) and the way it does now (borrow a pooled
+ * connection and run its cached prepared statement). Then measure the rate
+ * of importing games one auto-committed row at a time, and with
+ * GameImporter's batched transactions. Last, drain the table with
+ * GameDispenser claims from one thread and from several at once, checking
+ * that no game is claimed twice. The benchmark builds its own
+ * throwaway database in a temporary directory, so the game database is
+ * never touched. Run with derby.jar on the class path.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/16/2026
+ */
+public final class PersistenceBenchmark {
+
+    /**
+     * Number of games in the throwaway GAME table.
+     */
+    private static final int GAMES = 1000;
+
+    /**
+     * Number of games per timed import.
+     */
+    private static final int IMPORT = 1000;
+
+    /**
+     * Number of games claimed at a time.
+     */
+    private static final int CLAIM = 8;
+
+    /**
+     * Number of threads claiming at once.
+     */
+    private static final int CLAIMERS = 4;
+
+    /**
+     * Next free GAME_ID for the import tests.
+     */
+    private static int nextId = GAMES + 1;
+
+    /**
+     * Accumulated results, so the JIT can't discard the work being timed.
+     */
+    private static volatile long sink;
+
+    /**
+     * Private constructor; this class is only a program entry point.
+     */
+    private PersistenceBenchmark() {
+    }
+
+    /**
+     * Run the benchmark.
+     *
+     * @param args optional number of fetches per round, defaults to 100, and
+     *             import batch size, defaults to 1000.
+     * @throws IOException  if the temporary directory can't be made.
+     * @throws SQLException if the throwaway database can't be built.
+     */
+    public static void main(String[] args) throws IOException, SQLException {
+        final int fetches = (args.length > 0) ? Integer.parseInt(args[0]) : 100;
+        int batchSize = (args.length > 1) ? Integer.parseInt(args[1]) : 1000;
+
+        File home = Files.createTempDirectory("sudoku-bench").toFile();
+        System.setProperty("derby.system.home", home.getAbsolutePath());
+        System.setProperty("derby.stream.error.file",
+                new File(home, "derby.log").getAbsolutePath());
+        final String url = "jdbc:derby:BenchDB";
+
+        final ConnectionPool pool = new ConnectionPool(url + ";create=true", CLAIMERS);
+        try {
+            fill(pool);
+
+            Benchmarks.time("connect + query + close", 5, fetches, new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        for (int i = 0; i < fetches; i++) {
+                            try (Connection conn = DriverManager.getConnection(url);
+                                 Statement s = conn.createStatement();
+                                 ResultSet rs = s.executeQuery("SELECT * FROM GAME "
+                                         + "WHERE GAME_ID = " + (i % GAMES + 1))) {
+                                rs.next();
+                                sink += rs.getString(2).charAt(0);
+                            }
+                        }
+                    } catch (SQLException ex) {
+                        throw new IllegalStateException(ex);
+                    }
+                }
+            });
+
+            Benchmarks.time("pooled + cached statement", 200, fetches, new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        for (int i = 0; i < fetches; i++) {
+                            try (ConnectionPool.Lease lease = pool.borrow()) {
+                                PreparedStatement ps = lease.prepare("SELECT * FROM GAME "
+                                        + "WHERE GAME_ID = ?");
+                                ps.setInt(1, i % GAMES + 1);
+                                try (ResultSet rs = ps.executeQuery()) {
+                                    rs.next();
+                                    sink += rs.getString(2).charAt(0);
+                                }
+                            }
+                        }
+                    } catch (SQLException ex) {
+                        throw new IllegalStateException(ex);
+                    }
+                }
+            });
+
+            Benchmarks.time("insert per row, auto-commit", 3, IMPORT, new Runnable() {
+                @Override
+                public void run() {
+                    try (ConnectionPool.Lease lease = pool.borrow()) {
+                        PreparedStatement ps = lease.prepare("INSERT INTO GAME "
+                                + "(GAME_ID, GAME_DATA, SOLVED_GAME_DATA) VALUES(?, ?, ?)");
+                        for (int i = 0; i < IMPORT; i++) {
+                            String game = Benchmarks.PUZZLES[i % Benchmarks.PUZZLES.length];
+                            ps.setInt(1, nextId++);
+                            ps.setString(2, game);
+                            ps.setString(3, game);
+                            ps.executeUpdate();
+                        }
+                    } catch (SQLException ex) {
+                        throw new IllegalStateException(ex);
+                    }
+                }
+            });
+
+            final GameImporter importer = new GameImporter(pool, batchSize);
+            final int[] ids = new int[IMPORT];
+            final String[] games = new String[IMPORT];
+            for (int i = 0; i < IMPORT; i++) {
+                games[i] = Benchmarks.PUZZLES[i % Benchmarks.PUZZLES.length];
+            }
+            Benchmarks.time("GameImporter, batch " + batchSize, 20, IMPORT, new Runnable() {
+                @Override
+                public void run() {
+                    for (int i = 0; i < IMPORT; i++) {
+                        ids[i] = nextId++;
+                    }
+                    try {
+                        sink += importer.importGames(ids, games, games);
+                    } catch (SQLException ex) {
+                        throw new IllegalStateException(ex);
+                    }
+                }
+            });
+
+            // send the last import again, with one new game in the middle
+            ids[IMPORT / 2] = nextId++;
+            importer.importGames(ids, games, games);
+            System.out.printf("Re-import: %d inserted, %d duplicates skipped%n",
+                    importer.getInserted(), importer.getSkipped());
+
+            GameDispenser dispenser = new GameDispenser(pool);
+            drain(dispenser, 1);
+            dispenser.releaseAll();
+            drain(dispenser, CLAIMERS);
+        } finally {
+            pool.close();
+            try {
+                DriverManager.getConnection(url + ";shutdown=true");
+            } catch (SQLException ex) {
+                // expected: Derby reports a clean shutdown as an exception
+            }
+            delete(home);
+        }
+    }
+
+    /**
+     * Claim every available game, CLAIM at a time, from some number of
+     * threads at once, and report the rate and any game claimed twice.
+     *
+     * @param dispenser Dispenser of the throwaway GAME table.
+     * @param threads   Number of claiming threads.
+     * @throws SQLException if the games can't be counted.
+     */
+    private static void drain(final GameDispenser dispenser, int threads)
+            throws SQLException {
+        int available = dispenser.countAvailable();
+        final List<List<Game>> claimed = new ArrayList<>();
+        List<Thread> claimers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            final List<Game> mine = new ArrayList<>();
+            claimed.add(mine);
+            claimers.add(new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        List<Game> batch;
+                        while (!(batch = dispenser.claim(null, CLAIM)).isEmpty()) {
+                            mine.addAll(batch);
+                        }
+                    } catch (SQLException ex) {
+                        throw new IllegalStateException(ex);
+                    }
+                }
+            }));
+        }
+
+        long start = System.nanoTime();
+        for (Thread t : claimers) {
+            t.start();
+        }
+        for (Thread t : claimers) {
+            try {
+                t.join();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        Set<Integer> ids = new HashSet<>();
+        int total = 0;
+        for (List<Game> mine : claimed) {
+            for (Game g : mine) {
+                ids.add(g.getID());
+                total++;
+            }
+        }
+        double nsPerOp = (double) elapsed / total;
+        System.out.printf("%-40s %12.1f ns/op %14.0f ops/s%n",
+                "GameDispenser claims, " + threads + " thread(s)", nsPerOp,
+                1.0e9 / nsPerOp);
+        if (total != available || ids.size() != total) {
+            System.out.printf("Claimed %d games, %d distinct, of %d available!%n",
+                    total, ids.size(), available);
+        }
+    }
+
+    /**
+     * Create the GAME table and fill it with the sample puzzles.
+     *
+     * @param pool Pool of connections to the throwaway database.
+     * @throws SQLException if the table can't be built.
+     */
+    private static void fill(ConnectionPool pool) throws SQLException {
+        try (ConnectionPool.Lease lease = pool.borrow()) {
+            Connection conn = lease.getConnection();
+            try (Statement s = conn.createStatement()) {
+                s.execute("CREATE TABLE GAME(GAME_ID INTEGER, "
+                        + "GAME_DATA CHAR(81) NOT NULL, "
+                        + "SOLVED_GAME_DATA CHAR(81) NOT NULL, "
+                        + "DIFFICULTY VARCHAR(16), "
+                        + "STATUS SMALLINT NOT NULL DEFAULT 0, "
+                        + "CLAIM_ID BIGINT, "
+                        + "SERVED_AT TIMESTAMP, "
+                        + "PRIMARY KEY(GAME_ID))");
+                s.execute("CREATE INDEX GAME_STATUS ON GAME(STATUS, DIFFICULTY, GAME_ID)");
+                s.execute("CREATE INDEX GAME_CLAIM ON GAME(CLAIM_ID)");
+                s.execute("CREATE SEQUENCE GAME_CLAIM AS BIGINT START WITH 1");
+            }
+
+            conn.setAutoCommit(false);
+            PreparedStatement ps = lease.prepare("INSERT INTO GAME "
+                    + "(GAME_ID, GAME_DATA, SOLVED_GAME_DATA) VALUES(?, ?, ?)");
+            for (int id = 1; id <= GAMES; id++) {
+                String game = Benchmarks.PUZZLES[id % Benchmarks.PUZZLES.length];
+                ps.setInt(1, id);
+                ps.setString(2, game);
+                ps.setString(3, game);
+                ps.addBatch();
+            }
+            ps.executeBatch();
+            conn.commit();
+        }
+    }
+
+    /**
+     * Delete a directory and everything in it.
+     *
+     * @param file Directory or file to delete.
+     */
+    private static void delete(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                delete(child);
+            }
+        }
+        file.delete();
+    }
+}
@@ -0,0 +1,112 @@
+package edu.doane.sudoku.benchmark;
+
+import edu.doane.sudoku.model.FactoryGrid;
+
+/**
+ * Measure the throughput of FactoryGrid.setNumber() / unsetNumber() pairs,
+ * which is the inner loop of any search that plays numbers on a grid. Every
+ * legal number is set and then unset in every empty cell of each sample
+ * puzzle, and the cost of one set / unset pair is reported. The same pairs
+ * are then timed with the win check DesktopController makes after every
+ * move (isComplete() and validate()) in between.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/16/2026
+ */
+public final class SetUnsetBenchmark {
+
+    /**
+     * Accumulated results, so the JIT can't discard the work being timed.
+     */
+    private static volatile long sink;
+
+    /**
+     * Private constructor; this class is only a program entry point.
+     */
+    private SetUnsetBenchmark() {
+    }
+
+    /**
+     * Run the benchmark.
+     *
+     * @param args command-line arguments. Ignored by this program.
+     */
+    public static void main(String[] args) {
+        final FactoryGrid[] grids = new FactoryGrid[Benchmarks.PUZZLES.length];
+        long pairs = 0;
+        for (int i = 0; i < grids.length; i++) {
+            grids[i] = new FactoryGrid(Benchmarks.PUZZLES[i]);
+            pairs += sweep(grids[i]);
+        }
+
+        Benchmarks.time("set / unset pair", 5000, pairs, new Runnable() {
+            @Override
+            public void run() {
+                long acc = 0;
+                for (FactoryGrid g : grids) {
+                    acc += sweep(g);
+                }
+                sink += acc;
+            }
+        });
+
+        Benchmarks.time("set / win check / unset", 5000, pairs, new Runnable() {
+            @Override
+            public void run() {
+                long acc = 0;
+                for (FactoryGrid g : grids) {
+                    acc += sweepWithWinCheck(g);
+                }
+                sink += acc;
+            }
+        });
+    }
+
+    /**
+     * Set and unset every legal number in every empty cell of a grid.
+     *
+     * @param g Grid to play on.
+     * @return Number of set / unset pairs performed.
+     */
+    private static long sweep(FactoryGrid g) {
+        long count = 0;
+        for (int row = 0; row < 9; row++) {
+            for (int col = 0; col < 9; col++) {
+                for (int n = 1; n <= 9; n++) {
+                    if (g.canSetNumber(row, col, n)) {
+                        g.setNumber(row, col, n);
+                        g.unsetNumber(row, col);
+                        count++;
+                    }
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Set and unset every legal number in every empty cell of a grid,
+     * checking for a win after each set.
+     *
+     * @param g Grid to play on.
+     * @return Number of set / unset pairs performed, plus the number of wins.
+     */
+    private static long sweepWithWinCheck(FactoryGrid g) {
+        long count = 0;
+        for (int row = 0; row < 9; row++) {
+            for (int col = 0; col < 9; col++) {
+                for (int n = 1; n <= 9; n++) {
+                    if (g.canSetNumber(row, col, n)) {
+                        g.setNumber(row, col, n);
+                        if (g.isComplete() && g.validate()) {
+                            count++;
+                        }
+                        g.unsetNumber(row, col);
+                        count++;
+                    }
+                }
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,127 @@
+package edu.doane.sudoku.benchmark;
+
+import edu.doane.sudoku.model.GridGeometry;
+import edu.doane.sudoku.model.SizedGenerator;
+import edu.doane.sudoku.model.SizedSolver;
+import edu.doane.sudoku.model.Solver;
+import edu.doane.sudoku.model.SolverEngine;
+
+import java.util.SplittableRandom;
+
+/**
+ * Measure how generation and solve times grow with board size, for 9x9,
+ * 16x16, and 25x25 grids. Each size generates a set of puzzles with
+ * SizedGenerator, then times SizedSolver on them. For 9x9, the sample
+ * puzzles are also timed with SizedSolver next to the 9x9 propagation
+ * engine, to show what the general code costs on the standard game.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/16/2026
+ */
+public final class SizeBenchmark {
+
+    /**
+     * Accumulated results, so the JIT can't discard the work being timed.
+     */
+    private static volatile long sink;
+
+    /**
+     * Private constructor; this class is only a program entry point.
+     */
+    private SizeBenchmark() {
+    }
+
+    /**
+     * Run the benchmark.
+     *
+     * @param args optional number of puzzles to generate per size; defaults
+     *             to 10.
+     */
+    public static void main(String[] args) {
+        int count = (args.length > 0) ? Integer.parseInt(args[0]) : 10;
+
+        compareNine();
+        for (int box = 3; box <= 5; box++) {
+            run(GridGeometry.of(box), count);
+        }
+    }
+
+    /**
+     * Time the sample 9x9 puzzles with both the 9x9 engine and the general
+     * solver.
+     */
+    private static void compareNine() {
+        final byte[][] puzzles = new byte[Benchmarks.PUZZLES.length][];
+        for (int i = 0; i < puzzles.length; i++) {
+            puzzles[i] = Solver.toNumbers(Benchmarks.PUZZLES[i]);
+        }
+        final byte[] solution = new byte[81];
+
+        final Solver nine = SolverEngine.PROPAGATION.create();
+        Benchmarks.time("9x9 samples, PropagationSolver", 2000, puzzles.length,
+                new Runnable() {
+                    @Override
+                    public void run() {
+                        for (byte[] puzzle : puzzles) {
+                            sink += nine.solve(puzzle, solution, 1);
+                        }
+                    }
+                });
+
+        final SizedSolver sized = new SizedSolver(GridGeometry.NINE);
+        Benchmarks.time("9x9 samples, SizedSolver", 2000, puzzles.length,
+                new Runnable() {
+                    @Override
+                    public void run() {
+                        for (byte[] puzzle : puzzles) {
+                            sink += sized.solve(puzzle, solution, 1);
+                        }
+                    }
+                });
+    }
+
+    /**
+     * Generate and solve puzzles of one size.
+     *
+     * @param geometry Size of the puzzles.
+     * @param count    Number of puzzles to generate.
+     */
+    private static void run(GridGeometry geometry, int count) {
+        SizedGenerator generator = new SizedGenerator(geometry);
+        SplittableRandom random = new SplittableRandom(1L);
+        int cells = geometry.getCells();
+
+        // warm up
+        generator.generate(random, new byte[cells], new byte[cells]);
+
+        final byte[][] puzzles = new byte[count][cells];
+        byte[] answer = new byte[cells];
+        int clues = 0;
+        long start = System.nanoTime();
+        for (byte[] puzzle : puzzles) {
+            generator.generate(random, puzzle, answer);
+        }
+        double seconds = (System.nanoTime() - start) / 1.0e9;
+        for (byte[] puzzle : puzzles) {
+            for (byte b : puzzle) {
+                if (b != 0) {
+                    clues++;
+                }
+            }
+        }
+        System.out.printf("%-8s %4d puzzles generated in %7.2f s: %8.1f puzzles/s, "
+                        + "%.1f%% clues on average%n", geometry, count, seconds,
+                count / seconds, 100.0 * clues / ((double) count * cells));
+
+        final SizedSolver solver = new SizedSolver(geometry);
+        final byte[] solution = new byte[cells];
+        Benchmarks.time(geometry + " generated, solve", 3, count, new Runnable() {
+            @Override
+            public void run() {
+                for (byte[] puzzle : puzzles) {
+                    sink += solver.solve(puzzle, solution, 1);
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,138 @@
+package edu.doane.sudoku.benchmark;
+
+import edu.doane.sudoku.model.FactoryGrid;
+import edu.doane.sudoku.model.GameGrid;
+import edu.doane.sudoku.model.GridSnapshot;
+
+/**
+ * Measure the cost of taking point-in-time copies of a grid: an immutable
+ * GridSnapshot, a GameGrid copy(), and the round trip through
+ * getGameData() / setGameData() that was the only way to do it before.
+ * Each copy is taken after a move, so the snapshot's cost includes copying
+ * the packed words the grid shared with the previous snapshot. Snapshot
+ * equality and hashing are timed as HashMap lookups.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/16/2026
+ */
+public final class SnapshotBenchmark {
+
+    /**
+     * Number of copies taken per timed round.
+     */
+    private static final int COPIES = 10_000;
+
+    /**
+     * Accumulated results, so the JIT can't discard the work being timed.
+     */
+    private static volatile long sink;
+
+    /**
+     * Private constructor; this class is only a program entry point.
+     */
+    private SnapshotBenchmark() {
+    }
+
+    /**
+     * Run the benchmark.
+     *
+     * @param args command-line arguments. Ignored by this program.
+     */
+    public static void main(String[] args) {
+        final FactoryGrid grid = new FactoryGrid(Benchmarks.PUZZLES[0]);
+        final GameGrid target = new GameGrid();
+
+        double snapNs = Benchmarks.time("move + snapshot()", 200, COPIES, new Runnable() {
+            @Override
+            public void run() {
+                long acc = 0;
+                for (int i = 0; i < COPIES; i++) {
+                    move(grid, i);
+                    acc += grid.snapshot().hashCode();
+                }
+                sink += acc;
+            }
+        });
+        double copyNs = Benchmarks.time("move + copy()", 200, COPIES, new Runnable() {
+            @Override
+            public void run() {
+                long acc = 0;
+                for (int i = 0; i < COPIES; i++) {
+                    move(grid, i);
+                    acc += grid.copy().getFilledCount();
+                }
+                sink += acc;
+            }
+        });
+        double dataNs = Benchmarks.time("move + game data round trip", 200, COPIES, new Runnable() {
+            @Override
+            public void run() {
+                long acc = 0;
+                for (int i = 0; i < COPIES; i++) {
+                    move(grid, i);
+                    target.setGameData(grid.getGameData());
+                    acc += target.getFilledCount();
+                }
+                sink += acc;
+            }
+        });
+        Benchmarks.time("move only", 200, COPIES, new Runnable() {
+            @Override
+            public void run() {
+                long acc = 0;
+                for (int i = 0; i < COPIES; i++) {
+                    move(grid, i);
+                    acc += grid.getFilledCount();
+                }
+                sink += acc;
+            }
+        });
+        System.out.printf("snapshot speedup: %.1fx over copy(), %.1fx over game data%n",
+                copyNs / snapNs, dataNs / snapNs);
+
+        final java.util.HashMap<GridSnapshot, Integer> seen = new java.util.HashMap<>();
+        final GridSnapshot[] probes = new GridSnapshot[COPIES];
+        for (int i = 0; i < COPIES; i++) {
+            move(grid, i);
+            probes[i] = grid.copy().snapshot();
+            seen.put(grid.snapshot(), i);
+        }
+        Benchmarks.time("snapshot HashMap lookup", 200, COPIES, new Runnable() {
+            @Override
+            public void run() {
+                long acc = 0;
+                for (GridSnapshot probe : probes) {
+                    acc += seen.get(probe);
+                }
+                sink += acc;
+            }
+        });
+    }
+
+    /**
+     * Make a move on the grid: set or clear a note, or set or unset a
+     * number in some non-given cell.
+     *
+     * @param grid Grid to change.
+     * @param i    Move counter, chooses the move.
+     */
+    private static void move(FactoryGrid grid, int i) {
+        int cell = (i * 7) % 81;
+        int row = cell / 9;
+        int col = cell % 9;
+        int number = 1 + (i % 9);
+        if ((i & 1) == 0) {
+            if (grid.hasNote(row, col, number)) {
+                grid.removeNote(row, col, number);
+            } else {
+                grid.setNote(row, col, number);
+            }
+        } else if (!grid.isGiven(row, col)) {
+            if (grid.getNumber(row, col) == number) {
+                grid.unsetNumber(row, col);
+            } else {
+                grid.setNumber(row, col, number);
+            }
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package edu.doane.sudoku.benchmark;
+
+import edu.doane.sudoku.model.CachingSolver;
+import edu.doane.sudoku.model.Game;
+import edu.doane.sudoku.model.PuzzleGenerator;
+import edu.doane.sudoku.model.SolutionCache;
+import edu.doane.sudoku.model.Solver;
+import edu.doane.sudoku.model.SolverEngine;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Measure what the SolutionCache saves. The cost of a solve answered from
+ * the cache is timed against a solve by the default engine, on the sample
+ * puzzles. Then a skewed stream of requests, where a few puzzles are asked
+ * for far more often than the rest (as hints and replays would be), is run
+ * through a cache holding a tenth of the distinct puzzles, and the hit
+ * rate, evictions, and time per request are reported.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/16/2026
+ */
+public final class SolutionCacheBenchmark {
+
+    /**
+     * Accumulated results, so the JIT can't discard the work being timed.
+     */
+    private static volatile long sink;
+
+    /**
+     * Private constructor; this class is only a program entry point.
+     */
+    private SolutionCacheBenchmark() {
+    }
+
+    /**
+     * Run the benchmark.
+     *
+     * @param args optional number of distinct puzzles in the skewed stream;
+     *             defaults to 2000.
+     */
+    public static void main(String[] args) {
+        int distinct = (args.length > 0) ? Integer.parseInt(args[0]) : 2000;
+
+        final byte[][] samples = new byte[Benchmarks.PUZZLES.length][];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = Solver.toNumbers(Benchmarks.PUZZLES[i]);
+        }
+        final byte[] solution = new byte[81];
+        final Solver plain = SolverEngine.DEFAULT.create();
+        final Solver cached = new CachingSolver(SolverEngine.DEFAULT.create(), new SolutionCache(1024));
+
+        double solveNs = Benchmarks.time("solve, no cache", 200, samples.length, new Runnable() {
+            @Override
+            public void run() {
+                long acc = 0;
+                for (byte[] p : samples) {
+                    acc += plain.solve(p, solution, 2);
+                }
+                sink += acc;
+            }
+        });
+        double hitNs = Benchmarks.time("solve, cache hit", 200_000, samples.length, new Runnable() {
+            @Override
+            public void run() {
+                long acc = 0;
+                for (byte[] p : samples) {
+                    acc += cached.solve(p, solution, 2);
+                }
+                sink += acc;
+            }
+        });
+        System.out.printf("cache hit speedup: %.0fx%n", solveNs / hitNs);
+
+        skewed(distinct);
+    }
+
+    /**
+     * Run a skewed request stream through a small cache.
+     *
+     * @param distinct Number of distinct puzzles.
+     */
+    private static void skewed(int distinct) {
+        List<Game> games = new PuzzleGenerator(SolverEngine.DEFAULT).generate(distinct, 1, 42L);
+        byte[][] puzzles = new byte[distinct][];
+        for (int i = 0; i < distinct; i++) {
+            puzzles[i] = Solver.toNumbers(games.get(i).getInitial().getGameData());
+        }
+
+        // request i with probability roughly proportional to 1 / (i + 1)
+        int requests = distinct * 20;
+        int[] stream = new int[requests];
+        SplittableRandom random = new SplittableRandom(7L);
+        double logN = Math.log(distinct + 1);
+        for (int r = 0; r < requests; r++) {
+            stream[r] = (int) Math.exp(random.nextDouble() * logN) - 1;
+        }
+
+        SolutionCache cache = new SolutionCache(Math.max(16, distinct / 10));
+        Solver plain = SolverEngine.DEFAULT.create();
+        Solver cached = new CachingSolver(SolverEngine.DEFAULT.create(), cache);
+        byte[] solution = new byte[81];
+
+        long start = System.nanoTime();
+        for (int i : stream) {
+            sink += plain.solve(puzzles[i], solution, 2);
+        }
+        double plainNs = (double) (System.nanoTime() - start) / requests;
+
+        start = System.nanoTime();
+        for (int i : stream) {
+            sink += cached.solve(puzzles[i], solution, 2);
+        }
+        double cachedNs = (double) (System.nanoTime() - start) / requests;
+
+        System.out.printf("skewed stream, %d requests over %d puzzles: %.0f ns/request "
+                + "uncached, %.0f ns/request cached%n", requests, distinct, plainNs, cachedNs);
+        System.out.println("cache: " + cache);
+    }
+}
@@ -0,0 +1,89 @@
+package edu.doane.sudoku.benchmark;
+
+import edu.doane.sudoku.model.Solver;
+import edu.doane.sudoku.model.SolverEngine;
+
+/**
+ * Measure solve time for each of the sample puzzles, plus the single-thread
+ * throughput over the whole set, for each solver engine.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/16/2026
+ */
+public final class SolverBenchmark {
+
+    /**
+     * Accumulated results, so the JIT can't discard the work being timed.
+     */
+    private static volatile long sink;
+
+    /**
+     * Private constructor; this class is only a program entry point.
+     */
+    private SolverBenchmark() {
+    }
+
+    /**
+     * Run the benchmark.
+     *
+     * @param args command-line arguments. Ignored by this program.
+     */
+    public static void main(String[] args) {
+        for (SolverEngine engine : SolverEngine.values()) {
+            run(engine.name(), engine.create());
+        }
+    }
+
+    /**
+     * Benchmark one engine.
+     *
+     * @param name   Engine name for the report.
+     * @param solver Engine to benchmark.
+     */
+    private static void run(String name, final Solver solver) {
+        System.out.println(name);
+
+        final byte[][] puzzles = new byte[Benchmarks.PUZZLES.length][];
+        for (int i = 0; i < puzzles.length; i++) {
+            puzzles[i] = toNumbers(Benchmarks.PUZZLES[i]);
+        }
+        final byte[] solution = new byte[81];
+
+        for (int i = 0; i < puzzles.length; i++) {
+            final byte[] puzzle = puzzles[i];
+            Benchmarks.time("  puzzle " + i + ", solve", 2000, 1, new Runnable() {
+                @Override
+                public void run() {
+                    sink += solver.solve(puzzle, solution, 1);
+                }
+            });
+            Benchmarks.time("  puzzle " + i + ", prove unique", 2000, 1, new Runnable() {
+                @Override
+                public void run() {
+                    sink += solver.solve(puzzle, solution, 2);
+                }
+            });
+        }
+
+        double ns = Benchmarks.time("  whole set, solve", 2000, puzzles.length, new Runnable() {
+            @Override
+            public void run() {
+                for (byte[] puzzle : puzzles) {
+                    sink += solver.solve(puzzle, solution, 1);
+                }
+            }
+        });
+        System.out.printf("  1,000,000 puzzles like these: %.1f s on one thread%n",
+                ns * 1.0e6 / 1.0e9);
+    }
+
+    /**
+     * Convert game data to numbers.
+     *
+     * @param gameData 81-character game data.
+     * @return 81 numbers.
+     */
+    private static byte[] toNumbers(String gameData) {
+        return Solver.toNumbers(gameData);
+    }
+}
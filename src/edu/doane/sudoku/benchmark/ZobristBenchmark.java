@@ -0,0 +1,207 @@
+package edu.doane.sudoku.benchmark;
+
+import edu.doane.sudoku.model.GameGrid;
+import edu.doane.sudoku.model.GridSnapshot;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.SplittableRandom;
+
+/**
+ * Measure the quality and cost of GameGrid's Zobrist hash. A large corpus
+ * of grid states is made, each from its own seed: a sample puzzle, then a
+ * random run of numbers and notes played and removed, so states differ
+ * from their neighbors in only a few cells, as in a search. Pairs of
+ * states with equal hashes are rebuilt from their seeds and compared, to
+ * tell true collisions from states reached twice; the same is done for
+ * the low 32 bits of the hash, where collisions are expected, to compare
+ * against the birthday bound. The cost of a set / unset pair with the hash
+ * kept up to date is timed, and so is detecting a change by comparing
+ * hashes against comparing getGameData() strings.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/16/2026
+ */
+public final class ZobristBenchmark {
+
+    /**
+     * Accumulated results, so the JIT can't discard the work being timed.
+     */
+    private static volatile long sink;
+
+    /**
+     * Private constructor; this class is only a program entry point.
+     */
+    private ZobristBenchmark() {
+    }
+
+    /**
+     * Run the benchmark.
+     *
+     * @param args optional number of states in the corpus; defaults to
+     *             1,000,000.
+     */
+    public static void main(String[] args) {
+        int count = (args.length > 0) ? Integer.parseInt(args[0]) : 1_000_000;
+
+        GameGrid grid = new GameGrid();
+        long[] hashes = new long[count];
+        long start = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            build(grid, i);
+            hashes[i] = grid.getHash();
+        }
+        System.out.printf("built %d states in %.2f s%n", count, (System.nanoTime() - start) / 1.0e9);
+
+        int[] full = collisions(hashes, -1L, grid);
+        System.out.printf("64-bit hash: %d collisions, %d repeated states%n", full[0], full[1]);
+        int[] low = collisions(hashes, 0xFFFFFFFFL, grid);
+        double expected = (double) (count - full[1]) * (count - full[1] - 1) / 2.0 / Math.pow(2, 32);
+        System.out.printf("low 32 bits: %d collisions, %.1f expected for a random hash%n",
+                low[0], expected);
+
+        throughput();
+    }
+
+    /**
+     * Count the pairs of states whose hashes agree in the masked bits,
+     * splitting them into true collisions and states that were reached
+     * more than once.
+     *
+     * @param hashes Hash of each state, indexed by seed.
+     * @param mask   Bits of the hash to compare.
+     * @param grid   Grid to rebuild states in.
+     * @return Number of colliding pairs, and number of repeated states.
+     */
+    private static int[] collisions(long[] hashes, long mask, GameGrid grid) {
+        long[] sorted = new long[hashes.length];
+        for (int i = 0; i < hashes.length; i++) {
+            sorted[i] = hashes[i] & mask;
+        }
+        Arrays.sort(sorted);
+
+        // find the hash values that occur more than once
+        HashMap<Long, Integer> shared = new HashMap<>();
+        for (int i = 1; i < sorted.length; i++) {
+            if (sorted[i] == sorted[i - 1]) {
+                shared.put(sorted[i], 0);
+            }
+        }
+
+        // rebuild the states with those hashes, and count distinct ones
+        HashMap<Long, HashMap<GridSnapshot, Integer>> states = new HashMap<>();
+        int repeats = 0;
+        for (int i = 0; i < hashes.length; i++) {
+            long key = hashes[i] & mask;
+            if (shared.containsKey(key)) {
+                build(grid, i);
+                HashMap<GridSnapshot, Integer> seen = states.get(key);
+                if (seen == null) {
+                    seen = new HashMap<>();
+                    states.put(key, seen);
+                }
+                if (seen.put(grid.snapshot(), i) != null) {
+                    repeats++;
+                }
+            }
+        }
+        int pairs = 0;
+        for (HashMap<GridSnapshot, Integer> seen : states.values()) {
+            pairs += seen.size() * (seen.size() - 1) / 2;
+        }
+        return new int[]{pairs, repeats};
+    }
+
+    /**
+     * Build a corpus state in a grid.
+     *
+     * @param grid Grid to build the state in.
+     * @param seed Seed of the state.
+     */
+    private static void build(GameGrid grid, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        grid.setGameData(Benchmarks.PUZZLES[random.nextInt(Benchmarks.PUZZLES.length)]);
+        int moves = 1 + random.nextInt(40);
+        for (int m = 0; m < moves; m++) {
+            int row = random.nextInt(9);
+            int col = random.nextInt(9);
+            int number = 1 + random.nextInt(9);
+            switch (random.nextInt(4)) {
+                case 0:
+                    grid.setNumber(row, col, number);
+                    break;
+                case 1:
+                    grid.unsetNumber(row, col);
+                    break;
+                case 2:
+                    grid.setNote(row, col, number);
+                    break;
+                default:
+                    grid.removeNote(row, col, number);
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Time moves with the hash kept up to date, and change detection by
+     * hash and by game data string.
+     */
+    private static void throughput() {
+        final GameGrid grid = new GameGrid(Benchmarks.PUZZLES[0]);
+        final int moves = 81 * 9;
+
+        Benchmarks.time("set / unset pair, hash kept", 20_000, moves, new Runnable() {
+            @Override
+            public void run() {
+                long acc = 0;
+                for (int cell = 0; cell < 81; cell++) {
+                    for (int number = 1; number <= 9; number++) {
+                        grid.setNumber(cell / 9, cell % 9, number);
+                        grid.unsetNumber(cell / 9, cell % 9);
+                    }
+                }
+                acc += grid.getHash();
+                sink += acc;
+            }
+        });
+
+        Benchmarks.time("move + change check by hash", 20_000, moves, new Runnable() {
+            @Override
+            public void run() {
+                long acc = 0;
+                long before = grid.getHash();
+                for (int cell = 0; cell < 81; cell++) {
+                    for (int number = 1; number <= 9; number++) {
+                        grid.setNumber(cell / 9, cell % 9, number);
+                        long now = grid.getHash();
+                        if (now != before) {
+                            acc++;
+                        }
+                        before = now;
+                    }
+                }
+                sink += acc;
+            }
+        });
+
+        Benchmarks.time("move + change check by game data", 2_000, moves, new Runnable() {
+            @Override
+            public void run() {
+                long acc = 0;
+                String before = grid.getGameData();
+                for (int cell = 0; cell < 81; cell++) {
+                    for (int number = 1; number <= 9; number++) {
+                        grid.setNumber(cell / 9, cell % 9, number);
+                        String now = grid.getGameData();
+                        if (!now.equals(before)) {
+                            acc++;
+                        }
+                        before = now;
+                    }
+                }
+                sink += acc;
+            }
+        });
+    }
+}
@@ -1,13 +1,20 @@
 package edu.doane.sudoku.controller;
 
+import edu.doane.sudoku.model.AutoCandidates;
+import edu.doane.sudoku.model.Difficulty;
+import edu.doane.sudoku.model.DigitMask;
 import edu.doane.sudoku.model.Game;
 import edu.doane.sudoku.model.GameGrid;
+import edu.doane.sudoku.model.MoveJournal;
 import edu.doane.sudoku.persistence.Persistence;
 import edu.doane.sudoku.view.DesktopAudio;
 import edu.doane.sudoku.view.SuDoKuUI;
 import edu.doane.sudoku.view.UIStatusBar;
 import edu.doane.sudoku.view.UIKeyHandler;
 
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
 /**
  * Implementation of the controller interface for the desktop app.
  *
@@ -57,6 +64,12 @@ public class DesktopController implements SuDoKuController {
      */
     private boolean isPaused = false;
 
+    /**
+     * Flag indicating whether automatic candidates are shown in place of
+     * the player's notes.
+     */
+    private boolean autoCandidates = false;
+
     /**
      * Construct a new instance of this controller.
      *
@@ -70,9 +83,12 @@ public class DesktopController implements SuDoKuController {
         this.pnlStatusBar = pnlStatusBar;
         timer.setView(view);
 
+        // let the view offer games by difficulty
+        view.setDifficulties(Difficulty.labels());
+
         // when constructed, i.e., on app start, load the next game we 
         // have
-        setNextGame();
+        setNextGame(null);
 
         // ... and start the clock!
         timer.startTimer();
@@ -85,22 +101,12 @@ public class DesktopController implements SuDoKuController {
     public void playNumber(int row, int col, int number) {
         // if the requested number isn't a given...
         if (!grid.isGiven(row, col)) {
-            // get any existing number
-            int n = grid.getNumber(row, col);
-            // if there was a number there, 
-            if (n != 0) {
-                // unset then set the number
-                grid.unsetNumber(row, col);
-                grid.setNumber(row, col, number);
-                view.setNumber(row, col, number);
-                // did we win yet?
-                didWin();
-            } else {
-                // no number there, so just set and check for win
-                grid.setNumber(row, col, number);
-                view.setNumber(row, col, number);
-                didWin();
-            } // if n != 0
+            // set the number, replacing any existing one as a single
+            // move, so one undo brings the old number back
+            grid.setNumber(row, col, number);
+            view.setNumber(row, col, number);
+            // did we win yet?
+            didWin();
         } // if not given
     }
 
@@ -145,7 +151,7 @@ public class DesktopController implements SuDoKuController {
         // confirm new game desire
         if (view.confirmNewGame()) {
             // move on to next game, reset celbration flag and timer
-            setNextGame();
+            setNextGame(difficulty);
             celebrated = false;
             hints = 0;
             pnlStatusBar.incrementHints(hints);
@@ -156,13 +162,21 @@ public class DesktopController implements SuDoKuController {
         timer.startTimer();
     }
 
-    private void setNextGame() {
-        // get the next game from our local store
+    /**
+     * Load the next game of the specified difficulty into the model and
+     * the view.
+     *
+     * @param difficulty Name of the difficulty level, or null for any.
+     */
+    private void setNextGame(String difficulty) {
+        // get the next game from our local store; it is normally already
+        // waiting in memory, so this doesn't touch the database
         Persistence db = Persistence.getInstance();
-        game = db.getNextGame();
+        game = db.getNextGame(difficulty);
 
-        // set the initial grid in the model
+        // set the initial grid in the model, recording moves for undo
         grid = game.getInitial();
+        grid.setJournal(new MoveJournal());
 
         // get rid of everything on the view grid
         view.clearGrid(true);
@@ -176,24 +190,33 @@ public class DesktopController implements SuDoKuController {
             } // for j
         } // for i
 
+        // keep showing automatic candidates, if they're on
+        if (autoCandidates) {
+            grid.setAutoCandidates(new AutoCandidates(view::showNotes));
+        }
     }
 
     /**
      * Get hint if their is more than once space left on the board.
-     * Position on board is chosen at random.
+     * Position on board is chosen at random, from the cells whose number is
+     * forced if there are any.
      */
     public void getHint() {
         if (!grid.isOneLeft()) { // check if there is one space left on the board
 
             GameGrid grid2 = game.getSolved(); // get the solved game grid.
 
-            int i;
-            int j;
-
-            do {
-                i = (int) (Math.floor((Math.random() * 9)));
-                j = (int) (Math.floor((Math.random() * 9)));
-            } while (grid.isGiven(i, j) == true); // check if coordinates are of a given number.
+            // prefer a cell whose number is forced next, then any non-given cell
+            Random random = ThreadLocalRandom.current();
+            int cell = grid.pickForcedCell(random);
+            if (cell < 0) {
+                cell = grid.pickOpenCell(random);
+            }
+            if (cell < 0) {
+                return; // every cell is a given
+            }
+            int i = cell / 9;
+            int j = cell % 9;
 
             grid.setGivenData(i, j, grid2.getNumber(i, j)); // set given data at position
             view.setGiven(i, j, grid2.getNumber(i, j));  // set number in view
@@ -260,19 +283,75 @@ public class DesktopController implements SuDoKuController {
 
     @Override
     public void setNote(int row, int col, int number) {
-        // fetch the notes from the current model cell
-        boolean[] notes = grid.getNotes(row, col);
-
         // toggle the note in the model
-        if (notes[number]) {
+        if (grid.hasNote(row, col, number)) {
             grid.removeNote(row, col, number);
 
         } else {
             grid.setNote(row, col, number);
         }
 
-        // toggle the note in the view
-        view.toggleNote(row, col, number);
+        // toggle the note in the view, unless it's showing automatic
+        // candidates instead
+        if (!autoCandidates) {
+            view.toggleNote(row, col, number);
+        }
+    }
+
+    @Override
+    public void toggleAutoCandidates() {
+        autoCandidates = !autoCandidates;
+        if (autoCandidates) {
+            // the candidates push every cell to the view when attached, and
+            // just the changed cells after each move
+            grid.setAutoCandidates(new AutoCandidates(view::showNotes));
+        } else {
+            // put the player's own notes back
+            grid.setAutoCandidates(null);
+            int[] cells = new int[81];
+            int[] masks = new int[81];
+            for (int cell = 0; cell < 81; cell++) {
+                cells[cell] = cell;
+                masks[cell] = grid.getNotesMask(cell / 9, cell % 9);
+            }
+            view.showNotes(cells, masks, 81);
+        }
+    }
+
+    @Override
+    public void undo() {
+        if (!celebrated && !isPaused) {
+            showMove(grid.undo());
+        }
+    }
+
+    @Override
+    public void redo() {
+        if (!celebrated && !isPaused) {
+            showMove(grid.redo());
+            didWin();
+        }
+    }
+
+    /**
+     * Bring the view up to date after a move was undone or redone.
+     *
+     * @param move Move from the grid's journal, or MoveJournal.NONE.
+     */
+    private void showMove(int move) {
+        if (move != MoveJournal.NONE) {
+            int cell = MoveJournal.cell(move);
+            int row = cell / 9;
+            int col = cell % 9;
+            if (MoveJournal.oldNumber(move) != MoveJournal.newNumber(move)) {
+                view.setNumber(row, col, grid.getNumber(row, col));
+            }
+            for (int number = 1; number <= 9 && !autoCandidates; number++) {
+                if (DigitMask.contains(MoveJournal.notes(move), number)) {
+                    view.toggleNote(row, col, number);
+                }
+            }
+        }
     }
 
     @Override
@@ -342,6 +421,12 @@ public class DesktopController implements SuDoKuController {
                     }
                 }
             }
+
+            // the view's notes were zapped too, so show every cell's
+            // candidates again
+            if (autoCandidates) {
+                grid.setAutoCandidates(new AutoCandidates(view::showNotes));
+            }
         }
     }
 
@@ -35,6 +35,23 @@ public interface SuDoKuController {
      */
     void setNote(int row, int col, int number);
 
+    /**
+     * Turn automatic candidates on or off. While they are on, every empty
+     * cell shows the numbers that can still go in it, kept up to date as
+     * numbers are played; turning them off shows the player's notes again.
+     */
+    void toggleAutoCandidates();
+
+    /**
+     * Undo the most recent number or note played.
+     */
+    void undo();
+
+    /**
+     * Redo the most recently undone number or note.
+     */
+    void redo();
+
     /**
      * Request a game of a specified difficulty.
      *
@@ -0,0 +1,158 @@
+package edu.doane.sudoku.model;
+
+/**
+ * Automatic pencil marks for a GameGrid: the candidates of every empty
+ * cell, meaning the numbers not already in its row, column, or block, kept
+ * up to date as numbers are played and erased. When a number changes, only
+ * the cell and its 20 peers can gain or lose a candidate, so only those are
+ * recomputed, each with one mask operation. Cells whose candidates actually
+ * changed are collected, and handed to the listener as one batch when the
+ * grid finishes the operation that changed them.
+ * <p>
+ * The candidates are kept apart from the player's own notes, which are
+ * never changed. Attach an instance with GameGrid.setAutoCandidates(); it
+ * can be attached to only one grid at a time.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/16/2026
+ */
+public final class AutoCandidates {
+
+    /**
+     * Candidates of each cell, as DigitMask masks; 0 for a filled cell.
+     */
+    private final int[] candidates = new int[Units.CELLS];
+
+    /**
+     * Bit set of the cells changed since the last flush.
+     */
+    private final long[] changed = new long[2];
+
+    /**
+     * Changed cells and their candidates, handed to the listener.
+     */
+    private final int[] batchCells = new int[Units.CELLS];
+    private final int[] batchMasks = new int[Units.CELLS];
+
+    /**
+     * Receiver of the changed cells, or null if nobody is listening.
+     */
+    private CandidateListener listener;
+
+    /**
+     * Create automatic candidates, with no listener.
+     */
+    public AutoCandidates() {
+    }
+
+    /**
+     * Create automatic candidates that report their changes to a listener.
+     *
+     * @param listener Receiver of the changed cells.
+     */
+    public AutoCandidates(CandidateListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Set the receiver of the changed cells.
+     *
+     * @param listener Receiver of the changed cells, or null for none.
+     */
+    public void setListener(CandidateListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Get the candidates of a cell.
+     *
+     * @param row Row of the cell, in [0, 8].
+     * @param col Column of the cell, in [0, 8].
+     * @return DigitMask mask of the candidates; 0 if the cell is filled.
+     * @throws IllegalArgumentException if row or col is not in [0, 8].
+     */
+    public int getCandidates(int row, int col) throws IllegalArgumentException {
+        if (row < 0 || row > 8 || col < 0 || col > 8) {
+            throw new IllegalArgumentException("Bad coordinates to "
+                    + "AutoCandidates.getCandidates(): (" + row + ", " + col + ")");
+        }
+        return candidates[row * 9 + col];
+    }
+
+    /**
+     * Compute every cell's candidates for a newly attached grid, and note
+     * every cell as changed, so the listener gets the full picture.
+     *
+     * @param grid Grid the candidates are for.
+     */
+    void attach(GameGrid grid) {
+        rebuild(grid);
+        changed[0] = -1L;
+        changed[1] = (1L << (Units.CELLS - 64)) - 1;
+    }
+
+    /**
+     * Recompute every cell's candidates, after the whole grid changes.
+     *
+     * @param grid Grid the candidates are for.
+     */
+    void rebuild(GameGrid grid) {
+        for (int cell = 0; cell < Units.CELLS; cell++) {
+            update(grid, cell);
+        }
+    }
+
+    /**
+     * Recompute the candidates that can change when a cell's number does:
+     * those of the cell and its peers.
+     *
+     * @param grid Grid the candidates are for.
+     * @param cell Index of the cell whose number changed, row * 9 + col.
+     */
+    void numberChanged(GameGrid grid, int cell) {
+        update(grid, cell);
+        for (int peer : Units.PEERS[cell]) {
+            update(grid, peer);
+        }
+    }
+
+    /**
+     * Hand the cells changed since the last flush to the listener, in one
+     * batch, and forget them.
+     */
+    void flush() {
+        if ((changed[0] | changed[1]) == 0) {
+            return;
+        }
+
+        int count = 0;
+        for (int word = 0; word < changed.length; word++) {
+            long bits = changed[word];
+            while (bits != 0) {
+                int cell = (word << 6) + Long.numberOfTrailingZeros(bits);
+                batchCells[count] = cell;
+                batchMasks[count++] = candidates[cell];
+                bits &= bits - 1;
+            }
+            changed[word] = 0;
+        }
+
+        if (listener != null) {
+            listener.candidatesChanged(batchCells, batchMasks, count);
+        }
+    }
+
+    /**
+     * Recompute one cell's candidates, noting the cell if they changed.
+     *
+     * @param grid Grid the candidates are for.
+     * @param cell Index of the cell, row * 9 + col.
+     */
+    private void update(GameGrid grid, int cell) {
+        int mask = (grid.numbers[cell] == 0) ? DigitMask.ALL & ~grid.usedMask(cell) : 0;
+        if (mask != candidates[cell]) {
+            candidates[cell] = mask;
+            changed[cell >> 6] |= 1L << cell;
+        }
+    }
+}
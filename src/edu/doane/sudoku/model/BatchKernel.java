@@ -0,0 +1,59 @@
+package edu.doane.sudoku.model;
+
+/**
+ * Computes candidates, naked singles, and validity for every grid in a
+ * CandidateBatch at once. This is the throughput path for corpus-wide jobs
+ * such as validating imports, where thousands of independent grids go
+ * through the same mask arithmetic.
+ * <p>
+ * The fastest implementation is the one using the jdk.incubator.vector
+ * module, which works on many grids per instruction. It is built
+ * separately, from the src-vector source root, and the module is only
+ * present when the JVM is started with --add-modules
+ * jdk.incubator.vector, so create() falls back to a plain scalar kernel
+ * when either is missing; both give identical results.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/16/2026
+ */
+public interface BatchKernel {
+
+    /**
+     * Compute the candidates of every empty cell, and the repeated numbers,
+     * locked cells, and naked singles of every grid in a batch.
+     *
+     * @param batch Batch to compute; its grids must already be loaded.
+     */
+    void compute(CandidateBatch batch);
+
+    /**
+     * Get a name for the kernel, for reports.
+     *
+     * @return Kernel name.
+     */
+    String getName();
+
+    /**
+     * Create the fastest kernel available in this JVM.
+     *
+     * @return The vector kernel if it was built and the incubator module is
+     * present, the scalar kernel otherwise.
+     */
+    static BatchKernel create() {
+        try {
+            return (BatchKernel) Class.forName("edu.doane.sudoku.model.VectorBatchKernel")
+                    .getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError ex) {
+            return new ScalarBatchKernel();
+        }
+    }
+
+    /**
+     * Create the scalar kernel, which works in any JVM.
+     *
+     * @return New scalar kernel.
+     */
+    static BatchKernel createScalar() {
+        return new ScalarBatchKernel();
+    }
+}
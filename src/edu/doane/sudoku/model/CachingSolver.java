@@ -0,0 +1,71 @@
+package edu.doane.sudoku.model;
+
+/**
+ * Solver that consults a SolutionCache before searching, and stores what
+ * its search finds. The search itself is made by another solver. Like any
+ * solver, an instance must only be used by one thread at a time, but any
+ * number of caching solvers may share one cache.
+ * <p>
+ * For a puzzle with more than one solution, the solution returned from
+ * the cache is the first one found by whichever solver cached it.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/16/2026
+ */
+public final class CachingSolver implements Solver {
+
+    /**
+     * Solver used on a cache miss.
+     */
+    private final Solver solver;
+
+    /**
+     * Cache consulted before searching.
+     */
+    private final SolutionCache cache;
+
+    /**
+     * The puzzle being solved, packed for the cache.
+     */
+    private final long[] packed = new long[SolutionCache.GRID_WORDS];
+
+    /**
+     * Create a caching solver.
+     *
+     * @param solver Solver to search with on a cache miss.
+     * @param cache  Cache to consult and fill.
+     */
+    public CachingSolver(Solver solver, SolutionCache cache) {
+        this.solver = solver;
+        this.cache = cache;
+    }
+
+    @Override
+    public int solve(byte[] puzzle, byte[] solution, int limit) throws IllegalArgumentException {
+        if (puzzle.length != 81 || solution.length != 81 || limit < 1) {
+            // let the solver report the problem
+            return solver.solve(puzzle, solution, limit);
+        }
+        long hash = SolutionCache.hash(puzzle);
+        if (hash == 0) {
+            return solver.solve(puzzle, solution, limit);
+        }
+
+        SolutionCache.pack(puzzle, packed, 0);
+        int found = cache.get(hash, packed, solution, limit);
+        if (found < 0) {
+            found = solver.solve(puzzle, solution, limit);
+            cache.put(hash, packed, solution, found, limit);
+        }
+        return found;
+    }
+
+    /**
+     * Get the cache this solver consults.
+     *
+     * @return The cache.
+     */
+    public SolutionCache getCache() {
+        return cache;
+    }
+}
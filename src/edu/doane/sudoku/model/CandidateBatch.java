@@ -0,0 +1,231 @@
+package edu.doane.sudoku.model;
+
+/**
+ * A batch of 9x9 grids laid out for a BatchKernel, in structure-of-arrays
+ * form: every array is indexed item * stride + grid, so the same cell (or
+ * unit) of consecutive grids sits in consecutive elements, and one vector
+ * operation works on that cell of many grids at once. Numbers are held as
+ * DigitMask bits, with 0 for an empty cell.
+ * <p>
+ * After BatchKernel.compute(), the batch holds the candidates of every
+ * empty cell, and for each grid the numbers repeated in some unit, the
+ * number of empty cells with no candidate, and the number of naked
+ * singles. A batch is meant to be filled, computed, read, and then reused
+ * for the next set of grids.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/16/2026
+ */
+public final class CandidateBatch {
+
+    /**
+     * Lane count every stride is a multiple of, so vector loops never need a
+     * scalar tail; enough for 32-bit lanes in the widest vectors the JDK
+     * supports.
+     */
+    static final int LANES = 64;
+
+    /**
+     * Number of grids the batch holds.
+     */
+    final int size;
+
+    /**
+     * Distance between the same grid's entries for consecutive cells or
+     * units; size rounded up to a multiple of LANES.
+     */
+    final int stride;
+
+    /**
+     * Number in each cell, as a mask.
+     */
+    final int[] cells;
+
+    /**
+     * Numbers present in each unit, filled in by the kernel.
+     */
+    final int[] unitMasks;
+
+    /**
+     * Candidates of each cell, filled in by the kernel; 0 for a filled cell.
+     */
+    final int[] candidates;
+
+    /**
+     * Numbers repeated in some unit of each grid.
+     */
+    final int[] repeats;
+
+    /**
+     * Empty cells with no candidate in each grid.
+     */
+    final int[] deadCells;
+
+    /**
+     * Naked singles in each grid.
+     */
+    final int[] singles;
+
+    /**
+     * Create an empty batch.
+     *
+     * @param size Number of grids the batch holds; at least 1.
+     * @throws IllegalArgumentException if size is less than 1.
+     */
+    public CandidateBatch(int size) throws IllegalArgumentException {
+        if (size < 1) {
+            throw new IllegalArgumentException("Illegal parameter to "
+                    + "CandidateBatch constructor: " + size);
+        }
+        this.size = size;
+        stride = (size + LANES - 1) / LANES * LANES;
+        cells = new int[Units.CELLS * stride];
+        unitMasks = new int[Units.COUNT * stride];
+        candidates = new int[Units.CELLS * stride];
+        repeats = new int[stride];
+        deadCells = new int[stride];
+        singles = new int[stride];
+    }
+
+    /**
+     * Get the number of grids the batch holds.
+     *
+     * @return Batch size.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Load one grid into the batch.
+     *
+     * @param grid    Grid index, in [0, size - 1].
+     * @param numbers 81 numbers in [0, 9]; 0 means an empty cell.
+     * @throws IllegalArgumentException if grid is out of range, or numbers
+     *                                  is not 81 numbers in [0, 9].
+     */
+    public void set(int grid, byte[] numbers) throws IllegalArgumentException {
+        if (grid < 0 || grid >= size || numbers.length != Units.CELLS) {
+            throw new IllegalArgumentException("Illegal parameters to "
+                    + "CandidateBatch.set(): (" + grid + ", "
+                    + numbers.length + ")");
+        }
+        for (byte number : numbers) {
+            if (number < 0 || number > 9) {
+                throw new IllegalArgumentException("Illegal number in "
+                        + "CandidateBatch.set(): " + number);
+            }
+        }
+        for (int cell = 0; cell < Units.CELLS; cell++) {
+            int number = numbers[cell];
+            cells[cell * stride + grid] = (number == 0) ? 0 : 1 << number;
+        }
+    }
+
+    /**
+     * Load one grid into the batch from game data.
+     *
+     * @param grid     Grid index, in [0, size - 1].
+     * @param gameData 81-character game data.
+     * @throws IllegalArgumentException if grid is out of range, or the game
+     *                                  data is malformed.
+     */
+    public void set(int grid, String gameData) throws IllegalArgumentException {
+        set(grid, Solver.toNumbers(gameData));
+    }
+
+    /**
+     * Empty one grid of the batch, as for a slot with no puzzle in it.
+     *
+     * @param grid Grid index, in [0, size - 1].
+     * @throws IllegalArgumentException if grid is out of range.
+     */
+    public void clear(int grid) throws IllegalArgumentException {
+        checkGrid(grid, "clear");
+        for (int cell = 0; cell < Units.CELLS; cell++) {
+            cells[cell * stride + grid] = 0;
+        }
+    }
+
+    /**
+     * Get the candidates of a cell, as computed by the last compute().
+     *
+     * @param grid Grid index, in [0, size - 1].
+     * @param cell Cell index, row * 9 + col.
+     * @return DigitMask of the candidates; 0 if the cell is filled.
+     * @throws IllegalArgumentException if grid or cell is out of range.
+     */
+    public int getCandidates(int grid, int cell) throws IllegalArgumentException {
+        checkGrid(grid, "getCandidates");
+        if (cell < 0 || cell >= Units.CELLS) {
+            throw new IllegalArgumentException("Illegal cell in "
+                    + "CandidateBatch.getCandidates(): " + cell);
+        }
+        return candidates[cell * stride + grid];
+    }
+
+    /**
+     * Does a grid have no number repeated in any row, column, or block?
+     *
+     * @param grid Grid index, in [0, size - 1].
+     * @return true if no unit repeats a number.
+     * @throws IllegalArgumentException if grid is out of range.
+     */
+    public boolean isValid(int grid) throws IllegalArgumentException {
+        checkGrid(grid, "isValid");
+        return repeats[grid] == 0;
+    }
+
+    /**
+     * Is a grid locked (i.e., has an empty cell with no number that can go
+     * in it)?
+     *
+     * @param grid Grid index, in [0, size - 1].
+     * @return true if the grid is locked.
+     * @throws IllegalArgumentException if grid is out of range.
+     */
+    public boolean isLocked(int grid) throws IllegalArgumentException {
+        checkGrid(grid, "isLocked");
+        return deadCells[grid] != 0;
+    }
+
+    /**
+     * Is a grid plainly unsolvable, because it repeats a number in a unit or
+     * is locked?
+     *
+     * @param grid Grid index, in [0, size - 1].
+     * @return true if the grid can have no solution.
+     * @throws IllegalArgumentException if grid is out of range.
+     */
+    public boolean isDeadEnd(int grid) throws IllegalArgumentException {
+        checkGrid(grid, "isDeadEnd");
+        return repeats[grid] != 0 || deadCells[grid] != 0;
+    }
+
+    /**
+     * Get the number of naked singles in a grid: empty cells with exactly
+     * one candidate.
+     *
+     * @param grid Grid index, in [0, size - 1].
+     * @return Number of naked singles.
+     * @throws IllegalArgumentException if grid is out of range.
+     */
+    public int getSingleCount(int grid) throws IllegalArgumentException {
+        checkGrid(grid, "getSingleCount");
+        return singles[grid];
+    }
+
+    /**
+     * Check a grid index.
+     *
+     * @param grid   Grid index.
+     * @param method Name of the calling method, for the exception message.
+     * @throws IllegalArgumentException if grid is out of range.
+     */
+    private void checkGrid(int grid, String method) throws IllegalArgumentException {
+        if (grid < 0 || grid >= size) {
+            throw new IllegalArgumentException("Illegal grid in "
+                    + "CandidateBatch." + method + "(): " + grid);
+        }
+    }
+}
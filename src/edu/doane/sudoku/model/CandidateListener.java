@@ -0,0 +1,24 @@
+package edu.doane.sudoku.model;
+
+/**
+ * Receives the cells whose candidates changed, from an AutoCandidates
+ * attached to a GameGrid. Each call carries every change made by one
+ * operation on the grid, so a view can redraw just those cells at once.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/16/2026
+ */
+public interface CandidateListener {
+
+    /**
+     * Called with a batch of changed cells. The arrays are reused for the
+     * next batch, so they must not be kept.
+     *
+     * @param cells Indices of the changed cells, row * 9 + col, in
+     *              increasing order; only the first count are used.
+     * @param masks New candidates of each changed cell, as DigitMask masks,
+     *              parallel to cells; 0 for a filled cell.
+     * @param count Number of changed cells, in [1, 81].
+     */
+    void candidatesChanged(int[] cells, int[] masks, int count);
+}
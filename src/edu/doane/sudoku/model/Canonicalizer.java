@@ -0,0 +1,427 @@
+package edu.doane.sudoku.model;
+
+import java.util.stream.IntStream;
+
+/**
+ * Maps a puzzle to a canonical representative of all the puzzles that are
+ * the same game in disguise. Two puzzles are equivalent if one can be made
+ * from the other by any combination of: relabeling the numbers; swapping
+ * bands (groups of three rows) or rows within a band; swapping stacks
+ * (groups of three columns) or columns within a stack; and transposing the
+ * grid. Equivalent puzzles, and only equivalent puzzles, have the same
+ * canonical form, so it can be used to find duplicate games.
+ * <p>
+ * The canonical form is the least of all the equivalent puzzles, comparing
+ * cell by cell in row-major order, with numbers ordered before empty cells
+ * and numbered in order of first appearance. Rather than try the more than
+ * three million row and column arrangements, the search builds the result
+ * a row at a time, keeping only the partial arrangements whose rows so far
+ * are the least possible. The first row is settled by counting numbers per
+ * stack, since with numbers first its shape alone decides it.
+ * <p>
+ * A canonicalizer keeps its working storage between calls, so it should be
+ * used by one thread at a time; canonicalizeAll() handles batches in
+ * parallel with one canonicalizer per thread.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/16/2026
+ */
+public final class Canonicalizer {
+
+    /**
+     * Number of ints describing one partial arrangement: the transpose flag,
+     * the column order, the relabeling of each number, the next unused
+     * label, the source rows used, and the source band being placed.
+     */
+    private static final int STRIDE = 23;
+
+    /**
+     * Offset of the column order, 9 source columns, in an arrangement.
+     */
+    private static final int COLS = 1;
+
+    /**
+     * Offset of the relabeling, indexed by source number, in an
+     * arrangement; 0 means the number hasn't been seen yet.
+     */
+    private static final int MAP = 10;
+
+    /**
+     * Offset of the next unused label in an arrangement.
+     */
+    private static final int NEXT = 20;
+
+    /**
+     * Offset of the bit set of source rows already placed.
+     */
+    private static final int USED = 21;
+
+    /**
+     * Offset of the source band the current output band comes from.
+     */
+    private static final int BAND = 22;
+
+    /**
+     * Sort key of an empty cell; after every label.
+     */
+    private static final int EMPTY = 10;
+
+    /**
+     * Orders of three things, used for bands, stacks, and the columns of a
+     * stack.
+     */
+    private static final int[][] ORDERS = {
+            {0, 1, 2}, {0, 2, 1}, {1, 0, 2}, {1, 2, 0}, {2, 0, 1}, {2, 1, 0}
+    };
+
+    /**
+     * The puzzle, and its transpose.
+     */
+    private final byte[][] grids = new byte[2][81];
+
+    /**
+     * Arrangements still in the running.
+     */
+    private int[] current = new int[64 * STRIDE];
+
+    /**
+     * Arrangements extended by one more row.
+     */
+    private int[] extended = new int[64 * STRIDE];
+
+    /**
+     * Number of arrangements in current, and in extended.
+     */
+    private int currentCount, extendedCount;
+
+    /**
+     * Sort keys of the least row found so far at the current level.
+     */
+    private final int[] best = new int[9];
+
+    /**
+     * Sort keys of the row being tried.
+     */
+    private final int[] keys = new int[9];
+
+    /**
+     * Relabeling of the row being tried.
+     */
+    private final int[] map = new int[10];
+
+    /**
+     * Canonical form under construction.
+     */
+    private final char[] result = new char[81];
+
+    /**
+     * Numbers seen in each unit, while checking a puzzle.
+     */
+    private final int[] units = new int[Units.COUNT];
+
+    /**
+     * Find the canonical form of a puzzle.
+     *
+     * @param gameData 81-character game data, as for GameGrid.setGameData().
+     * @return Canonical game data of the puzzle.
+     * @throws IllegalArgumentException if the game data is malformed, or a
+     *                                  number is repeated in a row, column, or
+     *                                  block.
+     */
+    public String canonicalize(String gameData) throws IllegalArgumentException {
+        if (load(gameData) == 0) {
+            // every arrangement of an empty grid ties; it is its own form
+            return gameData;
+        }
+
+        placeFirstRow();
+        for (int level = 1; level < 9; level++) {
+            extendedCount = 0;
+            boolean found = false;
+            for (int c = 0; c < currentCount; c++) {
+                int base = c * STRIDE;
+                int used = current[base + USED];
+                if (level % 3 != 0) {
+                    // the rest of the band being placed
+                    int band = current[base + BAND];
+                    for (int row = band * 3; row < band * 3 + 3; row++) {
+                        if ((used & (1 << row)) == 0) {
+                            found = offer(base, row, found);
+                        }
+                    }
+                } else {
+                    // any row of a band not placed yet
+                    for (int row = 0; row < 9; row++) {
+                        if ((used & (7 << (row / 3 * 3))) == 0) {
+                            found = offer(base, row, found);
+                        }
+                    }
+                }
+            }
+            for (int j = 0; j < 9; j++) {
+                result[level * 9 + j] = best[j] == EMPTY ? '0' : (char) ('0' + best[j]);
+            }
+
+            int[] t = current;
+            current = extended;
+            extended = t;
+            currentCount = extendedCount;
+        }
+
+        return new String(result);
+    }
+
+    /**
+     * Find the canonical forms of many puzzles in parallel.
+     *
+     * @param gameData Puzzles, as 81-character game data.
+     * @return Canonical form of each puzzle, or null for a puzzle that is
+     * malformed or repeats a number in a unit.
+     */
+    public static String[] canonicalizeAll(final String[] gameData) {
+        final ThreadLocal<Canonicalizer> canonicalizers =
+                ThreadLocal.withInitial(Canonicalizer::new);
+        final String[] forms = new String[gameData.length];
+        IntStream.range(0, gameData.length).parallel().forEach(i -> {
+            try {
+                forms[i] = canonicalizers.get().canonicalize(gameData[i]);
+            } catch (IllegalArgumentException ex) {
+                forms[i] = null;
+            }
+        });
+        return forms;
+    }
+
+    /**
+     * Read a puzzle into the grid and its transpose, checking it as we go.
+     *
+     * @param gameData 81-character game data.
+     * @return Number of non-empty cells.
+     * @throws IllegalArgumentException if the data is malformed, or a
+     *                                  number is repeated in a unit.
+     */
+    private int load(String gameData) throws IllegalArgumentException {
+        if (gameData.length() != 81) {
+            throw new IllegalArgumentException("Illegal parameter to "
+                    + "Canonicalizer.canonicalize(); data is not 81 characters: "
+                    + gameData.length());
+        }
+        java.util.Arrays.fill(units, 0);
+        int clues = 0;
+        for (int cell = 0; cell < 81; cell++) {
+            char c = gameData.charAt(cell);
+            if (c < '0' || c > '9') {
+                throw new IllegalArgumentException("Illegal character in "
+                        + "Canonicalizer.canonicalize(): " + c);
+            }
+            int number = c - '0';
+            grids[0][cell] = (byte) number;
+            grids[1][Units.COL[cell] * 9 + Units.ROW[cell]] = (byte) number;
+            if (number != 0) {
+                clues++;
+                int bit = DigitMask.bit(number);
+                for (int u : Units.UNITS_OF[cell]) {
+                    if ((units[u] & bit) != 0) {
+                        throw new IllegalArgumentException("Illegal parameter to "
+                                + "Canonicalizer.canonicalize(); " + number
+                                + " repeated in a unit");
+                    }
+                    units[u] |= bit;
+                }
+            }
+        }
+        return clues;
+    }
+
+    /**
+     * Start every arrangement that puts the least possible first row on
+     * top. With numbers ordered before empty cells, and labeled in order,
+     * the least first row is the one whose numbers come earliest: take the
+     * rows whose stacks, sorted by how many numbers they hold, hold the
+     * most, then order the stacks by count and put numbers first within
+     * each. Every such arrangement gives the same first row.
+     */
+    private void placeFirstRow() {
+        // find the best stack counts over every row of the grid and its
+        // transpose, packed as a three-digit base-4 number
+        int bestShape = -1;
+        int[] shapes = new int[18];
+        for (int t = 0; t < 2; t++) {
+            for (int row = 0; row < 9; row++) {
+                int a = stackCount(t, row, 0);
+                int b = stackCount(t, row, 1);
+                int c = stackCount(t, row, 2);
+                int hi = Math.max(a, Math.max(b, c));
+                int lo = Math.min(a, Math.min(b, c));
+                int shape = hi * 16 + (a + b + c - hi - lo) * 4 + lo;
+                shapes[t * 9 + row] = shape;
+                bestShape = Math.max(bestShape, shape);
+            }
+        }
+
+        currentCount = 0;
+        int[] cols = new int[9];
+        for (int t = 0; t < 2; t++) {
+            for (int row = 0; row < 9; row++) {
+                if (shapes[t * 9 + row] == bestShape) {
+                    for (int[] stacks : ORDERS) {
+                        if (stackCount(t, row, stacks[0]) >= stackCount(t, row, stacks[1])
+                                && stackCount(t, row, stacks[1]) >= stackCount(t, row, stacks[2])) {
+                            placeColumns(t, row, stacks, 0, cols);
+                        }
+                    }
+                }
+            }
+        }
+
+        int base = 0;
+        for (int j = 0; j < 9; j++) {
+            int number = grids[current[base]][firstRow(base) * 9 + current[base + COLS + j]];
+            result[j] = number == 0 ? '0' : (char) ('0' + current[base + MAP + number]);
+        }
+    }
+
+    /**
+     * Find the source row an arrangement of one row puts on top.
+     *
+     * @param base Offset of the arrangement in current.
+     * @return Source row.
+     */
+    private int firstRow(int base) {
+        return Integer.numberOfTrailingZeros(current[base + USED]);
+    }
+
+    /**
+     * Count the numbers in one stack of a row.
+     *
+     * @param t     0 for the puzzle, 1 for its transpose.
+     * @param row   Source row.
+     * @param stack Source stack.
+     * @return Number of non-empty cells, in [0, 3].
+     */
+    private int stackCount(int t, int row, int stack) {
+        byte[] g = grids[t];
+        int cell = row * 9 + stack * 3;
+        return (g[cell] != 0 ? 1 : 0) + (g[cell + 1] != 0 ? 1 : 0) + (g[cell + 2] != 0 ? 1 : 0);
+    }
+
+    /**
+     * Add an arrangement for each way of ordering the columns of the
+     * remaining output stacks with their numbers first.
+     *
+     * @param t      0 for the puzzle, 1 for its transpose.
+     * @param row    Source row to put on top.
+     * @param stacks Source stack for each output stack.
+     * @param stack  Output stack to order next.
+     * @param cols   Column order so far.
+     */
+    private void placeColumns(int t, int row, int[] stacks, int stack, int[] cols) {
+        if (stack == 3) {
+            int base = reserve(true);
+            current[base] = t;
+            for (int label = 0; label < 10; label++) {
+                current[base + MAP + label] = 0;
+            }
+            int next = 1;
+            for (int j = 0; j < 9; j++) {
+                current[base + COLS + j] = cols[j];
+                int number = grids[t][row * 9 + cols[j]];
+                if (number != 0) {
+                    current[base + MAP + number] = next++;
+                }
+            }
+            current[base + NEXT] = next;
+            current[base + USED] = 1 << row;
+            current[base + BAND] = row / 3;
+            return;
+        }
+
+        byte[] g = grids[t];
+        int first = stacks[stack] * 3;
+        for (int[] order : ORDERS) {
+            boolean filled0 = g[row * 9 + first + order[0]] != 0;
+            boolean filled1 = g[row * 9 + first + order[1]] != 0;
+            boolean filled2 = g[row * 9 + first + order[2]] != 0;
+            // numbers first: no empty cell before a number
+            if ((filled0 || !filled1) && (filled1 || !filled2)) {
+                cols[stack * 3] = first + order[0];
+                cols[stack * 3 + 1] = first + order[1];
+                cols[stack * 3 + 2] = first + order[2];
+                placeColumns(t, row, stacks, stack + 1, cols);
+            }
+        }
+    }
+
+    /**
+     * Try extending an arrangement with a source row. If the row, relabeled,
+     * is less than the best so far, it becomes the best and the extended
+     * arrangements kept so far are dropped; if it ties, the extension is
+     * kept too.
+     *
+     * @param base  Offset of the arrangement in current.
+     * @param row   Source row to put next.
+     * @param found Has a best row been found yet at this level?
+     * @return true, since a best row has now been found.
+     */
+    private boolean offer(int base, int row, boolean found) {
+        byte[] g = grids[current[base]];
+        System.arraycopy(current, base + MAP, map, 0, 10);
+        int next = current[base + NEXT];
+
+        // 0 while equal to the best so far, -1 once less
+        int state = found ? 0 : -1;
+        for (int j = 0; j < 9; j++) {
+            int number = g[row * 9 + current[base + COLS + j]];
+            int key;
+            if (number == 0) {
+                key = EMPTY;
+            } else {
+                key = map[number];
+                if (key == 0) {
+                    key = next++;
+                    map[number] = key;
+                }
+            }
+            if (state == 0) {
+                if (key > best[j]) {
+                    return true;
+                } else if (key < best[j]) {
+                    state = -1;
+                }
+            }
+            keys[j] = key;
+        }
+
+        if (state == -1) {
+            System.arraycopy(keys, 0, best, 0, 9);
+            extendedCount = 0;
+        }
+        int to = reserve(false);
+        extended[to] = current[base];
+        System.arraycopy(current, base + COLS, extended, to + COLS, 9);
+        System.arraycopy(map, 0, extended, to + MAP, 10);
+        extended[to + NEXT] = next;
+        extended[to + USED] = current[base + USED] | (1 << row);
+        extended[to + BAND] = row / 3;
+        return true;
+    }
+
+    /**
+     * Make room for one more arrangement.
+     *
+     * @param inCurrent true to add to current, false to add to extended.
+     * @return Offset of the new arrangement.
+     */
+    private int reserve(boolean inCurrent) {
+        if (inCurrent) {
+            if ((currentCount + 1) * STRIDE > current.length) {
+                current = java.util.Arrays.copyOf(current, current.length * 2);
+            }
+            return STRIDE * currentCount++;
+        }
+        if ((extendedCount + 1) * STRIDE > extended.length) {
+            extended = java.util.Arrays.copyOf(extended, extended.length * 2);
+        }
+        return STRIDE * extendedCount++;
+    }
+}
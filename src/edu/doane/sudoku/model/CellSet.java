@@ -0,0 +1,140 @@
+package edu.doane.sudoku.model;
+
+import java.util.Random;
+
+/**
+ * A set of 9x9 grid cells that can add, remove, test, and pick a random
+ * member in constant time. The members are kept densely packed in an array,
+ * with each cell's position in it; removing a cell moves the last member
+ * into its place.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/16/2026
+ */
+final class CellSet {
+
+    /**
+     * The members, in positions [0, size - 1].
+     */
+    private final byte[] members = new byte[Units.CELLS];
+
+    /**
+     * Position of each cell in members, or -1 if the cell isn't a member.
+     */
+    private final byte[] slots = new byte[Units.CELLS];
+
+    /**
+     * Number of members.
+     */
+    private int size;
+
+    /**
+     * Create an empty set.
+     */
+    CellSet() {
+        clear();
+    }
+
+    /**
+     * Remove every cell.
+     */
+    void clear() {
+        java.util.Arrays.fill(slots, (byte) -1);
+        size = 0;
+    }
+
+    /**
+     * Make the set hold every cell.
+     */
+    void fill() {
+        for (int cell = 0; cell < Units.CELLS; cell++) {
+            members[cell] = (byte) cell;
+            slots[cell] = (byte) cell;
+        }
+        size = Units.CELLS;
+    }
+
+    /**
+     * Make the set hold exactly the cells whose bits are set in a two-word
+     * bit set, cell i being bit i.
+     *
+     * @param low  Bits of cells [0, 63].
+     * @param high Bits of cells [64, 80].
+     */
+    void setBits(long low, long high) {
+        clear();
+        for (long bits = low; bits != 0; bits &= bits - 1) {
+            add(Long.numberOfTrailingZeros(bits));
+        }
+        for (long bits = high; bits != 0; bits &= bits - 1) {
+            add(64 + Long.numberOfTrailingZeros(bits));
+        }
+    }
+
+    /**
+     * Make this set a copy of another.
+     *
+     * @param other Set to copy.
+     */
+    void copyFrom(CellSet other) {
+        System.arraycopy(other.members, 0, members, 0, other.size);
+        System.arraycopy(other.slots, 0, slots, 0, slots.length);
+        size = other.size;
+    }
+
+    /**
+     * Get the number of cells in the set.
+     *
+     * @return Number of members.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Is a cell in the set?
+     *
+     * @param cell Index of the cell, row * 9 + col.
+     * @return true if the cell is a member.
+     */
+    boolean contains(int cell) {
+        return slots[cell] >= 0;
+    }
+
+    /**
+     * Add a cell, if it isn't already in the set.
+     *
+     * @param cell Index of the cell, row * 9 + col.
+     */
+    void add(int cell) {
+        if (slots[cell] < 0) {
+            slots[cell] = (byte) size;
+            members[size++] = (byte) cell;
+        }
+    }
+
+    /**
+     * Remove a cell, if it is in the set.
+     *
+     * @param cell Index of the cell, row * 9 + col.
+     */
+    void remove(int cell) {
+        int slot = slots[cell];
+        if (slot >= 0) {
+            int last = members[--size];
+            members[slot] = (byte) last;
+            slots[last] = (byte) slot;
+            slots[cell] = -1;
+        }
+    }
+
+    /**
+     * Pick a member at random.
+     *
+     * @param random Random number generator to use.
+     * @return Index of a cell in the set, or -1 if the set is empty.
+     */
+    int pick(Random random) {
+        return (size == 0) ? -1 : members[random.nextInt(size)];
+    }
+}
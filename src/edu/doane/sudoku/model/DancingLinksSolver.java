@@ -0,0 +1,321 @@
+package edu.doane.sudoku.model;
+
+/**
+ * Solver engine using Knuth's Algorithm X on a Dancing Links exact cover
+ * matrix. SuDoKu is expressed as exact cover with 324 constraint columns
+ * (each cell holds one number; each row, column, and block holds each
+ * number once) and 729 candidate rows (number n in cell c), each covering
+ * four columns.
+ * <p>
+ * The whole matrix lives in a few int arrays built once, in the
+ * constructor. A solve covers the rows for the puzzle's numbers, searches,
+ * and uncovers everything again on the way out, so the arrays are back in
+ * their original state for the next puzzle and nothing is allocated per
+ * solve. Instances are not thread-safe.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/16/2026
+ */
+public final class DancingLinksSolver implements Solver {
+
+    /**
+     * Number of constraint columns.
+     */
+    private static final int COLUMNS = 324;
+
+    /**
+     * Number of candidate rows.
+     */
+    private static final int ROWS = 729;
+
+    /**
+     * Total nodes: the root, the column headers, and four nodes per row.
+     */
+    private static final int NODES = 1 + COLUMNS + ROWS * 4;
+
+    /**
+     * Left, right, up, and down links for every node. Node 0 is the root,
+     * nodes [1, 324] are the column headers.
+     */
+    private final int[] left = new int[NODES];
+    private final int[] right = new int[NODES];
+    private final int[] up = new int[NODES];
+    private final int[] down = new int[NODES];
+
+    /**
+     * Column header of every node.
+     */
+    private final int[] column = new int[NODES];
+
+    /**
+     * Candidate (cell * 9 + number - 1) of every non-header node.
+     */
+    private final int[] candidate = new int[NODES];
+
+    /**
+     * Number of nodes currently in each column, indexed by header node.
+     */
+    private final int[] size = new int[COLUMNS + 1];
+
+    /**
+     * First node of each candidate row.
+     */
+    private final int[] rowStart = new int[ROWS];
+
+    /**
+     * Rows chosen by the search, one per level.
+     */
+    private final int[] chosen = new int[81];
+
+    /**
+     * Rows selected for the puzzle's numbers before searching.
+     */
+    private final int[] fixed = new int[81];
+
+    /**
+     * Number of solutions found by the current solve.
+     */
+    private int found;
+
+    /**
+     * Solution limit for the current solve.
+     */
+    private int limit;
+
+    /**
+     * Puzzle and solution arrays for the current solve.
+     */
+    private byte[] puzzle;
+    private byte[] solution;
+
+    /**
+     * Construct a new solver, building its exact cover matrix.
+     */
+    public DancingLinksSolver() {
+        // root and column headers in a circular list
+        for (int h = 0; h <= COLUMNS; h++) {
+            left[h] = (h == 0) ? COLUMNS : h - 1;
+            right[h] = (h == COLUMNS) ? 0 : h + 1;
+            up[h] = h;
+            down[h] = h;
+            column[h] = h;
+        }
+
+        int node = COLUMNS + 1;
+        for (int cell = 0; cell < 81; cell++) {
+            int row = Units.ROW[cell];
+            int col = Units.COL[cell];
+            int box = Units.BOX[cell];
+            for (int n = 0; n < 9; n++) {
+                int r = cell * 9 + n;
+                int[] headers = {
+                        1 + cell,
+                        1 + 81 + row * 9 + n,
+                        1 + 162 + col * 9 + n,
+                        1 + 243 + box * 9 + n
+                };
+                rowStart[r] = node;
+                for (int k = 0; k < 4; k++) {
+                    int h = headers[k];
+                    int x = node + k;
+                    column[x] = h;
+                    candidate[x] = r;
+
+                    // append to the bottom of the column
+                    up[x] = up[h];
+                    down[x] = h;
+                    down[up[h]] = x;
+                    up[h] = x;
+                    size[h]++;
+
+                    // link into the row's circular list
+                    left[x] = node + (k + 3) % 4;
+                    right[x] = node + (k + 1) % 4;
+                }
+                node += 4;
+            }
+        }
+    }
+
+    @Override
+    public int solve(byte[] puzzle, byte[] solution, int limit) throws IllegalArgumentException {
+        if (puzzle.length != 81 || solution.length != 81 || limit < 1) {
+            throw new IllegalArgumentException("Illegal parameters to "
+                    + "DancingLinksSolver.solve(): (" + puzzle.length + ", "
+                    + solution.length + ", " + limit + ")");
+        }
+
+        this.puzzle = puzzle;
+        this.solution = solution;
+        this.limit = limit;
+        found = 0;
+
+        // select the rows for the numbers already in the puzzle; a number
+        // whose columns are already covered conflicts with another one
+        int nFixed = 0;
+        boolean consistent = true;
+        for (int cell = 0; cell < 81 && consistent; cell++) {
+            int number = puzzle[cell];
+            if (number < 0 || number > 9) {
+                unselectAll(nFixed);
+                throw new IllegalArgumentException("Illegal number in "
+                        + "DancingLinksSolver.solve(): " + number);
+            }
+            if (number != 0) {
+                int r = rowStart[cell * 9 + number - 1];
+                if (isRowAvailable(r)) {
+                    selectRow(r);
+                    fixed[nFixed++] = r;
+                } else {
+                    consistent = false;
+                }
+            }
+        }
+
+        if (consistent) {
+            search(0);
+        }
+
+        unselectAll(nFixed);
+        this.puzzle = null;
+        this.solution = null;
+        return found;
+    }
+
+    /**
+     * Recursive Algorithm X search.
+     *
+     * @param depth Number of rows chosen so far by the search.
+     */
+    private void search(int depth) {
+        if (right[0] == 0) {
+            if (found == 0) {
+                recordSolution(depth);
+            }
+            found++;
+            return;
+        }
+
+        // choose the column with the fewest rows
+        int c = right[0];
+        int best = size[c];
+        for (int h = right[c]; h != 0 && best > 1; h = right[h]) {
+            if (size[h] < best) {
+                best = size[h];
+                c = h;
+            }
+        }
+        if (best == 0) {
+            return;
+        }
+
+        cover(c);
+        for (int r = down[c]; r != c && found < limit; r = down[r]) {
+            chosen[depth] = r;
+            for (int j = right[r]; j != r; j = right[j]) {
+                cover(column[j]);
+            }
+            search(depth + 1);
+            for (int j = left[r]; j != r; j = left[j]) {
+                uncover(column[j]);
+            }
+        }
+        uncover(c);
+    }
+
+    /**
+     * Copy the puzzle plus the rows chosen by the search into the solution
+     * array.
+     *
+     * @param depth Number of rows chosen by the search.
+     */
+    private void recordSolution(int depth) {
+        System.arraycopy(puzzle, 0, solution, 0, 81);
+        for (int i = 0; i < depth; i++) {
+            int r = candidate[chosen[i]];
+            solution[r / 9] = (byte) (r % 9 + 1);
+        }
+    }
+
+    /**
+     * Can a row still be selected, i.e., are all of its columns uncovered?
+     *
+     * @param r First node of the row.
+     * @return true if none of the row's columns have been covered.
+     */
+    private boolean isRowAvailable(int r) {
+        int x = r;
+        do {
+            int h = column[x];
+            if (left[right[h]] != h) {
+                return false;
+            }
+            x = right[x];
+        } while (x != r);
+        return true;
+    }
+
+    /**
+     * Select a row outside of the search, covering all of its columns.
+     *
+     * @param r First node of the row.
+     */
+    private void selectRow(int r) {
+        int x = r;
+        do {
+            cover(column[x]);
+            x = right[x];
+        } while (x != r);
+    }
+
+    /**
+     * Undo the selection of the puzzle's rows, in reverse order.
+     *
+     * @param nFixed Number of rows that were selected.
+     */
+    private void unselectAll(int nFixed) {
+        for (int i = nFixed - 1; i >= 0; i--) {
+            int r = fixed[i];
+            int x = left[r];
+            do {
+                uncover(column[x]);
+                x = left[x];
+            } while (x != left[r]);
+        }
+    }
+
+    /**
+     * Remove a column from the header list, and all of its rows from the
+     * other columns they appear in.
+     *
+     * @param c Column header node.
+     */
+    private void cover(int c) {
+        right[left[c]] = right[c];
+        left[right[c]] = left[c];
+        for (int i = down[c]; i != c; i = down[i]) {
+            for (int j = right[i]; j != i; j = right[j]) {
+                up[down[j]] = up[j];
+                down[up[j]] = down[j];
+                size[column[j]]--;
+            }
+        }
+    }
+
+    /**
+     * Exactly reverse a cover() of the same column.
+     *
+     * @param c Column header node.
+     */
+    private void uncover(int c) {
+        for (int i = up[c]; i != c; i = up[i]) {
+            for (int j = left[i]; j != i; j = left[j]) {
+                size[column[j]]++;
+                up[down[j]] = j;
+                down[up[j]] = j;
+            }
+        }
+        right[left[c]] = c;
+        left[right[c]] = c;
+    }
+}
@@ -0,0 +1,83 @@
+package edu.doane.sudoku.model;
+
+/**
+ * Difficulty levels for SuDoKu games, as shown to the player. A game's
+ * level is set by the hardest solving technique it needs; see Technique.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/16/2026
+ */
+public enum Difficulty {
+
+    /**
+     * Solvable with naked and hidden singles.
+     */
+    EASY("Easy"),
+
+    /**
+     * Needs locked candidates or pairs.
+     */
+    MEDIUM("Medium"),
+
+    /**
+     * Needs triples or fish (X-Wing, Swordfish).
+     */
+    HARD("Hard"),
+
+    /**
+     * Can't be solved by the techniques the rater knows; needs guessing.
+     */
+    EXPERT("Expert");
+
+    /**
+     * Name shown to the player.
+     */
+    private final String label;
+
+    /**
+     * Create a difficulty level.
+     *
+     * @param label Name shown to the player.
+     */
+    Difficulty(String label) {
+        this.label = label;
+    }
+
+    /**
+     * Get the name shown to the player for this level.
+     *
+     * @return Display name.
+     */
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * Get the display names of all the levels, easiest first.
+     *
+     * @return Array of display names.
+     */
+    public static String[] labels() {
+        Difficulty[] levels = values();
+        String[] labels = new String[levels.length];
+        for (int i = 0; i < levels.length; i++) {
+            labels[i] = levels[i].label;
+        }
+        return labels;
+    }
+
+    /**
+     * Look up a level by its display name or enum name, ignoring case.
+     *
+     * @param name Display name or enum name.
+     * @return Matching level, or null if there is none.
+     */
+    public static Difficulty fromName(String name) {
+        for (Difficulty d : values()) {
+            if (d.label.equalsIgnoreCase(name) || d.name().equalsIgnoreCase(name)) {
+                return d;
+            }
+        }
+        return null;
+    }
+}
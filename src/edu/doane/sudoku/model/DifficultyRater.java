@@ -0,0 +1,554 @@
+package edu.doane.sudoku.model;
+
+import java.util.stream.IntStream;
+
+/**
+ * Rates the difficulty of SuDoKu puzzles by solving them the way a person
+ * would. At each step the rater tries the techniques in Technique order,
+ * easiest first, and uses the first one that makes progress, then starts
+ * over from the top. The rating is the hardest technique needed plus a
+ * score: the sum of the technique scores over every step. If no technique
+ * applies, the rater "guesses" by placing the correct number in the open
+ * cell with the fewest candidates, and charges for GUESSING.
+ * <p>
+ * A rater instance keeps working storage between puzzles and must only be
+ * used by one thread at a time; rateAll() rates batches in parallel with
+ * one rater per thread.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/16/2026
+ */
+public class DifficultyRater {
+
+    /**
+     * Result of rating one puzzle.
+     */
+    public static final class Rating {
+
+        /**
+         * Hardest technique needed to solve the puzzle.
+         */
+        private final Technique hardest;
+
+        /**
+         * Sum of the technique scores over every solving step.
+         */
+        private final int score;
+
+        /**
+         * Create a rating.
+         *
+         * @param hardest Hardest technique needed.
+         * @param score   Total score.
+         */
+        Rating(Technique hardest, int score) {
+            this.hardest = hardest;
+            this.score = score;
+        }
+
+        /**
+         * Get the hardest technique needed to solve the puzzle.
+         *
+         * @return Hardest technique.
+         */
+        public Technique getHardest() {
+            return hardest;
+        }
+
+        /**
+         * Get the numeric score of the puzzle; higher is harder.
+         *
+         * @return Total score.
+         */
+        public int getScore() {
+            return score;
+        }
+
+        /**
+         * Get the difficulty level of the puzzle.
+         *
+         * @return Difficulty level, from the hardest technique.
+         */
+        public Difficulty getDifficulty() {
+            return hardest.getDifficulty();
+        }
+
+        @Override
+        public String toString() {
+            return hardest.getDifficulty().getLabel() + " (" + hardest + ", " + score + ")";
+        }
+    }
+
+    /**
+     * Candidates for each cell, as DigitMask masks.
+     */
+    private final short[] candidates = new short[81];
+
+    /**
+     * Number placed in each cell, or 0 if the cell is still open.
+     */
+    private final byte[] placed = new byte[81];
+
+    /**
+     * Solution of the puzzle being rated, used when guessing.
+     */
+    private final byte[] solution = new byte[81];
+
+    /**
+     * Solver used to find the solution.
+     */
+    private final Solver solver = SolverEngine.DEFAULT.createCached();
+
+    /**
+     * Number of cells still open.
+     */
+    private int open;
+
+    /**
+     * Rate one puzzle.
+     *
+     * @param gameData 81-character game data.
+     * @return Rating of the puzzle.
+     * @throws IllegalArgumentException if the game data is malformed, or the
+     *                                  puzzle has no solution.
+     */
+    public Rating rate(String gameData) throws IllegalArgumentException {
+        byte[] puzzle = Solver.toNumbers(gameData);
+        if (solver.solve(puzzle, solution, 1) == 0) {
+            throw new IllegalArgumentException("Illegal parameter to "
+                    + "DifficultyRater.rate(); puzzle has no solution: " + gameData);
+        }
+
+        java.util.Arrays.fill(candidates, (short) DigitMask.ALL);
+        java.util.Arrays.fill(placed, (byte) 0);
+        open = 81;
+        for (int cell = 0; cell < 81; cell++) {
+            if (puzzle[cell] != 0) {
+                place(cell, puzzle[cell]);
+            }
+        }
+
+        Technique hardest = Technique.NAKED_SINGLE;
+        int score = 0;
+        while (open > 0) {
+            Technique used = step();
+            score += used.getScore();
+            if (used.compareTo(hardest) > 0) {
+                hardest = used;
+            }
+        }
+
+        return new Rating(hardest, score);
+    }
+
+    /**
+     * Rate a batch of puzzles in parallel.
+     *
+     * @param gameData Puzzle game data strings.
+     * @return Ratings, parallel to gameData. A puzzle that can't be rated
+     * (malformed, or with no solution) gets a null rating.
+     */
+    public static Rating[] rateAll(final String[] gameData) {
+        final ThreadLocal<DifficultyRater> raters = ThreadLocal.withInitial(DifficultyRater::new);
+        final Rating[] ratings = new Rating[gameData.length];
+        IntStream.range(0, gameData.length).parallel().forEach(i -> {
+            try {
+                ratings[i] = raters.get().rate(gameData[i]);
+            } catch (IllegalArgumentException ex) {
+                ratings[i] = null;
+            }
+        });
+        return ratings;
+    }
+
+    /**
+     * Make one solving step with the easiest technique that applies.
+     *
+     * @return Technique used.
+     */
+    private Technique step() {
+        if (nakedSingles()) return Technique.NAKED_SINGLE;
+        if (hiddenSingles()) return Technique.HIDDEN_SINGLE;
+        if (lockedCandidates()) return Technique.LOCKED_CANDIDATES;
+        if (nakedSubsets(2)) return Technique.NAKED_PAIR;
+        if (hiddenSubsets(2)) return Technique.HIDDEN_PAIR;
+        if (nakedSubsets(3)) return Technique.NAKED_TRIPLE;
+        if (hiddenSubsets(3)) return Technique.HIDDEN_TRIPLE;
+        if (fish(2)) return Technique.X_WING;
+        if (fish(3)) return Technique.SWORDFISH;
+
+        // guess: the correct number in the open cell with fewest candidates
+        int best = -1;
+        for (int cell = 0; cell < 81; cell++) {
+            if (placed[cell] == 0 && (best < 0
+                    || DigitMask.count(candidates[cell]) < DigitMask.count(candidates[best]))) {
+                best = cell;
+            }
+        }
+        place(best, solution[best]);
+        return Technique.GUESSING;
+    }
+
+    /**
+     * Place a number and remove it from the candidates of the cell's peers.
+     *
+     * @param cell   Cell index.
+     * @param number Number to place, in [1, 9].
+     */
+    private void place(int cell, int number) {
+        int bit = DigitMask.bit(number);
+        placed[cell] = (byte) number;
+        candidates[cell] = (short) bit;
+        open--;
+        for (int peer : Units.PEERS[cell]) {
+            if (placed[peer] == 0) {
+                candidates[peer] &= ~bit;
+            }
+        }
+    }
+
+    /**
+     * Remove candidates from an open cell.
+     *
+     * @param cell Cell index.
+     * @param mask DigitMask of candidates to remove.
+     * @return true if any candidates were removed.
+     */
+    private boolean eliminate(int cell, int mask) {
+        if (placed[cell] != 0 || (candidates[cell] & mask) == 0) {
+            return false;
+        }
+        candidates[cell] &= ~mask;
+        return true;
+    }
+
+    /**
+     * Place the first naked single found.
+     *
+     * @return true if one was placed.
+     */
+    private boolean nakedSingles() {
+        for (int cell = 0; cell < 81; cell++) {
+            if (placed[cell] == 0) {
+                int single = DigitMask.single(candidates[cell]);
+                if (single != 0) {
+                    place(cell, single);
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Place the first hidden single found.
+     *
+     * @return true if one was placed.
+     */
+    private boolean hiddenSingles() {
+        for (int[] unit : Units.UNITS) {
+            int once = 0;
+            int twice = 0;
+            for (int cell : unit) {
+                if (placed[cell] == 0) {
+                    twice |= once & candidates[cell];
+                    once |= candidates[cell];
+                }
+            }
+
+            int hidden = once & ~twice;
+            if (hidden != 0) {
+                int bit = hidden & -hidden;
+                for (int cell : unit) {
+                    if (placed[cell] == 0 && (candidates[cell] & bit) != 0) {
+                        place(cell, Integer.numberOfTrailingZeros(bit));
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Apply the first locked candidates pattern that removes a candidate.
+     * Pointing: a number confined to one row or column within a block is
+     * removed from the rest of that row or column. Claiming: a number
+     * confined to one block within a row or column is removed from the rest
+     * of that block.
+     *
+     * @return true if any candidates were removed.
+     */
+    private boolean lockedCandidates() {
+        for (int u = 0; u < Units.COUNT; u++) {
+            int[] unit = Units.UNITS[u];
+            for (int number = 1; number <= 9; number++) {
+                int bit = DigitMask.bit(number);
+                int rows = 0;
+                int cols = 0;
+                int boxes = 0;
+                for (int cell : unit) {
+                    if (placed[cell] == 0 && (candidates[cell] & bit) != 0) {
+                        rows |= 1 << Units.ROW[cell];
+                        cols |= 1 << Units.COL[cell];
+                        boxes |= 1 << Units.BOX[cell];
+                    }
+                }
+                if (rows == 0) {
+                    continue;
+                }
+
+                boolean changed = false;
+                if (u >= 18) {
+                    // pointing, from a block to a row or column
+                    if (Integer.bitCount(rows) == 1) {
+                        changed = eliminateOutside(Units.UNITS[Integer.numberOfTrailingZeros(rows)], u, bit);
+                    } else if (Integer.bitCount(cols) == 1) {
+                        changed = eliminateOutside(Units.UNITS[9 + Integer.numberOfTrailingZeros(cols)], u, bit);
+                    }
+                } else if (Integer.bitCount(boxes) == 1) {
+                    // claiming, from a row or column to a block
+                    changed = eliminateOutside(Units.UNITS[18 + Integer.numberOfTrailingZeros(boxes)], u, bit);
+                }
+                if (changed) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Remove candidates from the cells of one unit that are not in another.
+     *
+     * @param target Cells to remove candidates from.
+     * @param keep   Unit whose cells are left alone.
+     * @param mask   DigitMask of candidates to remove.
+     * @return true if any candidates were removed.
+     */
+    private boolean eliminateOutside(int[] target, int keep, int mask) {
+        boolean changed = false;
+        for (int cell : target) {
+            int[] units = Units.UNITS_OF[cell];
+            if (units[0] != keep && units[1] != keep && units[2] != keep) {
+                changed |= eliminate(cell, mask);
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Apply the first naked subset of the given size that removes a
+     * candidate: size cells of a unit whose candidates, together, are only
+     * size numbers. Those numbers are removed from the unit's other cells.
+     *
+     * @param size Subset size, 2 or 3.
+     * @return true if any candidates were removed.
+     */
+    private boolean nakedSubsets(int size) {
+        int[] members = new int[9];
+        for (int[] unit : Units.UNITS) {
+            int n = 0;
+            for (int cell : unit) {
+                int count = DigitMask.count(candidates[cell]);
+                if (placed[cell] == 0 && count >= 2 && count <= size) {
+                    members[n++] = cell;
+                }
+            }
+
+            for (int a = 0; a < n; a++) {
+                for (int b = a + 1; b < n; b++) {
+                    int pair = candidates[members[a]] | candidates[members[b]];
+                    if (size == 2) {
+                        if (DigitMask.count(pair) == 2
+                                && eliminateExcept(unit, pair, members[a], members[b], -1)) {
+                            return true;
+                        }
+                        continue;
+                    }
+                    for (int c = b + 1; c < n; c++) {
+                        int triple = pair | candidates[members[c]];
+                        if (DigitMask.count(triple) == 3
+                                && eliminateExcept(unit, triple, members[a], members[b], members[c])) {
+                            return true;
+                        }
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Remove candidates from every open cell of a unit except up to three.
+     *
+     * @param unit Cells of the unit.
+     * @param mask DigitMask of candidates to remove.
+     * @param a    Cell to leave alone.
+     * @param b    Cell to leave alone.
+     * @param c    Cell to leave alone, or -1.
+     * @return true if any candidates were removed.
+     */
+    private boolean eliminateExcept(int[] unit, int mask, int a, int b, int c) {
+        boolean changed = false;
+        for (int cell : unit) {
+            if (cell != a && cell != b && cell != c) {
+                changed |= eliminate(cell, mask);
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Apply the first hidden subset of the given size that removes a
+     * candidate: size numbers confined, together, to size cells of a unit.
+     * All other candidates are removed from those cells.
+     *
+     * @param size Subset size, 2 or 3.
+     * @return true if any candidates were removed.
+     */
+    private boolean hiddenSubsets(int size) {
+        int[] where = new int[10];
+        int[] numbers = new int[9];
+        for (int[] unit : Units.UNITS) {
+            // positions (bit i = unit cell i) of each number among open cells
+            int n = 0;
+            for (int number = 1; number <= 9; number++) {
+                int positions = 0;
+                for (int i = 0; i < 9; i++) {
+                    int cell = unit[i];
+                    if (placed[cell] == 0 && (candidates[cell] & DigitMask.bit(number)) != 0) {
+                        positions |= 1 << i;
+                    }
+                }
+                int count = Integer.bitCount(positions);
+                if (count >= 2 && count <= size) {
+                    where[number] = positions;
+                    numbers[n++] = number;
+                }
+            }
+
+            for (int a = 0; a < n; a++) {
+                for (int b = a + 1; b < n; b++) {
+                    int cells = where[numbers[a]] | where[numbers[b]];
+                    int keep = DigitMask.bit(numbers[a]) | DigitMask.bit(numbers[b]);
+                    if (size == 2) {
+                        if (Integer.bitCount(cells) == 2 && restrict(unit, cells, keep)) {
+                            return true;
+                        }
+                        continue;
+                    }
+                    for (int c = b + 1; c < n; c++) {
+                        int cells3 = cells | where[numbers[c]];
+                        if (Integer.bitCount(cells3) == 3
+                                && restrict(unit, cells3, keep | DigitMask.bit(numbers[c]))) {
+                            return true;
+                        }
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Restrict some cells of a unit to a set of candidates.
+     *
+     * @param unit  Cells of the unit.
+     * @param cells Bit i set for each unit cell i to restrict.
+     * @param keep  DigitMask of the candidates to keep.
+     * @return true if any candidates were removed.
+     */
+    private boolean restrict(int[] unit, int cells, int keep) {
+        boolean changed = false;
+        for (int i = 0; i < 9; i++) {
+            if ((cells & (1 << i)) != 0) {
+                changed |= eliminate(unit[i], DigitMask.ALL & ~keep);
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Apply the first fish of the given size that removes a candidate. For
+     * some number, size rows have all of their candidate positions within
+     * the same size columns; the number can be removed from those columns'
+     * other cells. The same holds with rows and columns swapped.
+     *
+     * @param size Fish size: 2 for X-Wing, 3 for Swordfish.
+     * @return true if any candidates were removed.
+     */
+    private boolean fish(int size) {
+        int[] lines = new int[9];
+        int[] positions = new int[9];
+        for (int number = 1; number <= 9; number++) {
+            int bit = DigitMask.bit(number);
+            for (int base = 0; base <= 9; base += 9) {
+                // base 0: rows are the base lines; base 9: columns are
+                int n = 0;
+                for (int line = 0; line < 9; line++) {
+                    int[] unit = Units.UNITS[base + line];
+                    int p = 0;
+                    for (int i = 0; i < 9; i++) {
+                        if (placed[unit[i]] == 0 && (candidates[unit[i]] & bit) != 0) {
+                            p |= 1 << i;
+                        }
+                    }
+                    int count = Integer.bitCount(p);
+                    if (count >= 2 && count <= size) {
+                        lines[n] = line;
+                        positions[n++] = p;
+                    }
+                }
+
+                for (int a = 0; a < n; a++) {
+                    for (int b = a + 1; b < n; b++) {
+                        int cover = positions[a] | positions[b];
+                        int baseLines = (1 << lines[a]) | (1 << lines[b]);
+                        if (size == 2) {
+                            if (Integer.bitCount(cover) == 2
+                                    && eliminateFish(base, baseLines, cover, bit)) {
+                                return true;
+                            }
+                            continue;
+                        }
+                        for (int c = b + 1; c < n; c++) {
+                            int cover3 = cover | positions[c];
+                            if (Integer.bitCount(cover3) == 3
+                                    && eliminateFish(base, baseLines | (1 << lines[c]), cover3, bit)) {
+                                return true;
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Remove a candidate from the cover lines of a fish, except where they
+     * cross the base lines.
+     *
+     * @param base      0 if the base lines are rows, 9 if they are columns.
+     * @param baseLines Bit i set for each base line i.
+     * @param cover     Bit j set for each cover line j.
+     * @param mask      DigitMask of the candidate to remove.
+     * @return true if any candidates were removed.
+     */
+    private boolean eliminateFish(int base, int baseLines, int cover, int mask) {
+        boolean changed = false;
+        int coverBase = 9 - base;
+        for (int j = 0; j < 9; j++) {
+            if ((cover & (1 << j)) != 0) {
+                int[] unit = Units.UNITS[coverBase + j];
+                for (int i = 0; i < 9; i++) {
+                    if ((baseLines & (1 << i)) == 0) {
+                        changed |= eliminate(unit[i], mask);
+                    }
+                }
+            }
+        }
+        return changed;
+    }
+}
@@ -0,0 +1,81 @@
+package edu.doane.sudoku.model;
+
+/**
+ * Static helpers for working with sets of SuDoKu numbers stored as bit
+ * masks. Number n in [1, 9] is represented by bit n, so bit 0 is always
+ * unused and a full set of numbers is 0x3FE.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/16/2026
+ */
+public final class DigitMask {
+
+    /**
+     * Mask holding all of the numbers [1, 9].
+     */
+    public static final int ALL = 0x3FE;
+
+    /**
+     * Private constructor; this class only holds static methods.
+     */
+    private DigitMask() {
+    }
+
+    /**
+     * Get the mask bit for a single number.
+     *
+     * @param number Number in [1, 9].
+     * @return Mask with only the bit for number set.
+     */
+    public static int bit(int number) {
+        return 1 << number;
+    }
+
+    /**
+     * Does the mask contain the specified number?
+     *
+     * @param mask   Mask to test.
+     * @param number Number in [1, 9].
+     * @return true if the number is in the mask, false otherwise.
+     */
+    public static boolean contains(int mask, int number) {
+        return (mask & (1 << number)) != 0;
+    }
+
+    /**
+     * Count the numbers held in a mask.
+     *
+     * @param mask Mask to count.
+     * @return Number of numbers in the mask.
+     */
+    public static int count(int mask) {
+        return Integer.bitCount(mask);
+    }
+
+    /**
+     * If the mask holds exactly one number, return it.
+     *
+     * @param mask Mask to examine.
+     * @return The single number in the mask, or 0 if the mask is empty or
+     * holds more than one number.
+     */
+    public static int single(int mask) {
+        return (mask != 0 && (mask & (mask - 1)) == 0)
+                ? Integer.numberOfTrailingZeros(mask) : 0;
+    }
+
+    /**
+     * Convert a mask to the boolean array form used by GameGrid.getNotes().
+     * Element 0 of the array is unused.
+     *
+     * @param mask Mask to convert.
+     * @return Array of ten booleans; element i is true if i is in the mask.
+     */
+    public static boolean[] toArray(int mask) {
+        boolean[] numbers = new boolean[10];
+        for (int i = 1; i <= 9; i++) {
+            numbers[i] = (mask & (1 << i)) != 0;
+        }
+        return numbers;
+    }
+}
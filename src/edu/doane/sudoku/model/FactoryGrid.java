@@ -4,12 +4,20 @@ import java.util.LinkedList;
 
 /**
  * Class representing a 9x9 grid of cells, during the creation of a SuDoKu game.
+ * A number is a constraint on a cell if it appears in the cell's row, column,
+ * or block, or if it was added to the cell with addConstraint().
  *
  * @author Mark M. Meysenburg
- * @version 05/26/2014
+ * @version 10/16/2026
  */
 public final class FactoryGrid extends GameGrid {
 
+    /**
+     * Constraints explicitly added to each cell with addConstraint(), as
+     * DigitMask masks.
+     */
+    private final short[] constraints = new short[81];
+
     /**
      * Construct a new grid, with all cells set to 0 (blank).
      */
@@ -27,7 +35,35 @@ public final class FactoryGrid extends GameGrid {
      *                                  length, or if it contains illegal characters (not in [0, 9])
      */
     public FactoryGrid(String gameData) throws IllegalArgumentException {
-        super(gameData);
+        super();
+        setGameData(gameData);
+    }
+
+    /**
+     * Construct a new grid holding a copy of another grid's numbers, givens,
+     * notes, and (if the other grid is a FactoryGrid) added constraints.
+     *
+     * @param other Grid to copy.
+     */
+    public FactoryGrid(GameGrid other) {
+        super();
+        copyFrom(other);
+    }
+
+    @Override
+    public void copyFrom(GameGrid other) {
+        super.copyFrom(other);
+        if (other instanceof FactoryGrid) {
+            System.arraycopy(((FactoryGrid) other).constraints, 0,
+                    constraints, 0, constraints.length);
+        } else {
+            java.util.Arrays.fill(constraints, (short) 0);
+        }
+    }
+
+    @Override
+    public FactoryGrid copy() {
+        return new FactoryGrid(this);
     }
 
     /**
@@ -48,47 +84,8 @@ public final class FactoryGrid extends GameGrid {
                     + "Grid.canSetNumber(): (" + row + ", " + col
                     + ", " + number + ")");
         }
-        return grid[row][col].canSetNumber(number);
-    }
-
-    /**
-     * Place a number into the cell at the specified location. If the number in
-     * the cell is a given, do nothing. If the cell has an existing (non- given)
-     * number, unset it and then set the new one.
-     *
-     * @param row    Row of the cell to set, in [0, 8].
-     * @param col    Column of the cell to set, in [0, 8].
-     * @param number Number to set, in [1, 9].
-     * @return true if the number in the specified cell was changed, false
-     * otherwise.
-     * @throws IllegalArgumentException if row or col is not in [0, 8], or if
-     *                                  number is not in [1, 9].
-     */
-    public boolean setNumber(int row, int col, int number) throws IllegalArgumentException {
-        if (super.setNumber(row, col, number)) {
-            rippleConstraints(row, col, number);
-            return true;
-        }
-
-        return false;
-    }
-
-    /**
-     * Unset the number at the specified location. If the number in that cell is
-     * a given, do nothing.
-     *
-     * @param row Row of the cell to unset, in [0, 8].
-     * @param col Column of the cell to unset, in [0, 8].
-     * @return true if the number was unset, false otherwise.
-     * @throws IllegalArgumentException if row or col is not in [0, 8].
-     */
-    public boolean unsetNumber(int row, int col) throws IllegalArgumentException {
-        int currentNum = getNumber(row, col);
-        if (super.unsetNumber(row, col)) {
-            unRippleConstraints(row, col, currentNum);
-            return true;
-        }
-        return false;
+        return !isGiven(row, col) && (numbers[row * 9 + col] == 0)
+                && !DigitMask.contains(constraintMask(row, col), number);
     }
 
     /**
@@ -106,7 +103,7 @@ public final class FactoryGrid extends GameGrid {
                     + "Grid.isConstraint(): (" + row + ", " + col
                     + ", " + number + ")");
         }
-        return grid[row][col].isConstraint(number);
+        return DigitMask.contains(constraintMask(row, col), number);
     }
 
     /**
@@ -117,7 +114,8 @@ public final class FactoryGrid extends GameGrid {
     public boolean isLocked() {
         for (int row = 0; row < 9; row++) {
             for (int col = 0; col < 9; col++) {
-                if (grid[row][col].isLocked()) {
+                if (numbers[row * 9 + col] == 0
+                        && constraintMask(row, col) == DigitMask.ALL) {
                     return true;
                 }
             } // col
@@ -125,136 +123,6 @@ public final class FactoryGrid extends GameGrid {
         return false;
     }
 
-    /**
-     * Remove all non-given numbers from this grid. Also removes constraints
-     * that come from givens, and notes from all the cells.
-     */
-    public void clearGrid() {
-        for (int row = 0; row < 9; row++) {
-            for (int col = 0; col < 9; col++) {
-                if (!isGiven(row, col)) {
-                    unsetNumber(row, col);
-                } // if
-
-                for (int number = 1; number <= 9; number++) {
-                    grid[row][col].removeNote(number);
-                }
-            } // col
-        } // row
-    }
-
-    /**
-     * Set the game data for this grid. Any existing numbers are unset, and all
-     * existing constraints and notes are also erased. New constraints are set
-     * based on the new numbers.
-     *
-     * @param data 81-character string with the game data for the grid. 0 means
-     *             an empty cell, or [1, 9] for numbers in the grid.
-     * @throws IllegalArgumentException If the string is not of the correct
-     *                                  length, or if it contains illegal characters (not in [0, 9])
-     */
-    public void setGameData(String data) throws IllegalArgumentException {
-        super.setGameData(data);
-
-        // add constraints
-        for (int row = 0; row < 9; row++) {
-            for (int col = 0; col < 9; col++) {
-                int number = grid[row][col].getNumber();
-                if (number != 0) {
-                    rippleConstraints(row, col, number);
-                }
-            }
-        }
-    }
-
-    /**
-     * Ripple a constraint to a cell's row, column, and block. We do this when
-     * the number in a cell changes.
-     *
-     * @param row    Row of the cell to ripple from, in [0, 8].
-     * @param col    Column of the cell to ripple from, in [0, 8].
-     * @param number Number to ripple, in [1, 9].
-     * @throws IllegalArgumentException if row or col is not in [0, 8], or if
-     *                                  number is not in [1, 9].
-     */
-    private void rippleConstraints(int row, int col, int number) throws IllegalArgumentException {
-        if (row < 0 || row > 8 || col < 0 || col > 8 || number < 1 || number > 9) {
-            throw new IllegalArgumentException("Illegal parameters to "
-                    + "Grid.rippleConstraints(): (" + row + ", " + col
-                    + ", " + number + ")");
-        }
-
-        int rStart = (row / 3) * 3;
-        int cStart = (col / 3) * 3;
-
-        // row
-        for (int c = 0; c < 9; c++) {
-            // don't add to cells in this block, so we don't overadd
-            if (!(c >= cStart && c < (cStart + 3))) {
-                grid[row][c].addConstraint(number);
-            }
-        }
-
-        // column
-        for (int r = 0; r < 9; r++) {
-            // don't add to cells in this block, so we don't overadd
-            if (!(r >= rStart && r < (rStart + 3))) {
-                grid[r][col].addConstraint(number);
-            }
-        }
-
-        // block
-        for (int r = rStart; r < rStart + 3; r++) {
-            for (int c = cStart; c < cStart + 3; c++) {
-                grid[r][c].addConstraint(number);
-            } // for c
-        } // for r
-    }
-
-    /**
-     * Unripple a constraint to a cell's row, column, and block. We do this when
-     * the number in a cell changes, if there was a number already in the cell.
-     *
-     * @param row    Row of the cell to unripple from, in [0, 8].
-     * @param col    Column of the cell to unripple from, in [0, 8].
-     * @param number Number to unripple, in [1, 9].
-     * @throws IllegalArgumentException if row or col is not in [0, 8], or if
-     *                                  number is not in [1, 9].
-     */
-    private void unRippleConstraints(int row, int col, int number) throws IllegalArgumentException {
-        if (row < 0 || row > 8 || col < 0 || col > 8 || number < 1 || number > 9) {
-            throw new IllegalArgumentException("Illegal parameters to "
-                    + "Grid.unRippleConstraints(): (" + row + ", " + col
-                    + ", " + number + ")");
-        }
-
-        int rStart = (row / 3) * 3;
-        int cStart = (col / 3) * 3;
-
-        // row
-        for (int c = 0; c < 9; c++) {
-            // don't remove from cells in this block, so we don't overremove
-            if (!(c >= cStart && c < (cStart + 3))) {
-                grid[row][c].removeConstraint(number);
-            }
-        }
-
-        // column
-        for (int r = 0; r < 9; r++) {
-            // don't remove from cells in this block, so we don't overremove
-            if (!(r >= rStart && r < (rStart + 3))) {
-                grid[r][col].removeConstraint(number);
-            }
-        }
-
-        // block
-        for (int r = rStart; r < rStart + 3; r++) {
-            for (int c = cStart; c < cStart + 3; c++) {
-                grid[r][c].removeConstraint(number);
-            } // for c
-        } // for r
-    }
-
     /**
      * If the cell knows what number it should contain, based on constraints,
      * return that number.
@@ -272,7 +140,10 @@ public final class FactoryGrid extends GameGrid {
                     + "Grid.deduceNumber(): (" + row + ", " + col + ")");
         }
 
-        return grid[row][col].deduceNumber();
+        // don't deduce things that are already set
+        if (numbers[row * 9 + col] != 0) return 0;
+
+        return DigitMask.single(DigitMask.ALL & ~constraintMask(row, col));
     }
 
     /**
@@ -291,7 +162,7 @@ public final class FactoryGrid extends GameGrid {
                     + number + ")");
         }
 
-        grid[row][col].addConstraint(number);
+        constraints[row * 9 + col] |= DigitMask.bit(number);
     }
 
     /**
@@ -309,11 +180,37 @@ public final class FactoryGrid extends GameGrid {
         }
         LinkedList<Integer> constraints = new LinkedList<>();
 
+        int mask = constraintMask(row, col);
         for (int number = 1; number <= 9; number++) {
-            if (grid[row][col].isConstraint(number)) {
+            if (DigitMask.contains(mask, number)) {
                 constraints.add(number);
             }
         }
         return constraints;
     }
+
+    /**
+     * Get all of the constraints on a cell, as a mask: the numbers in the
+     * cell's row, column, and block, plus any added with addConstraint().
+     *
+     * @param row Row of the cell, in [0, 8].
+     * @param col Column of the cell, in [0, 8].
+     * @return DigitMask mask of the constraints on the cell.
+     */
+    private int constraintMask(int row, int col) {
+        int cell = row * 9 + col;
+        return usedMask(cell) | constraints[cell];
+    }
+
+    @Override
+    protected void resetAll() {
+        super.resetAll();
+        java.util.Arrays.fill(constraints, (short) 0);
+    }
+
+    @Override
+    protected void clearMarks() {
+        super.clearMarks();
+        java.util.Arrays.fill(constraints, (short) 0);
+    }
 }
@@ -1,25 +1,143 @@
 package edu.doane.sudoku.model;
 
-import java.util.TreeSet;
-
 /**
  * Class representing a 9x9 grid of cells, during the playing of a SuDoKu game.
+ * The cells are stored in flat primitive arrays indexed by row * 9 + col: one
+ * byte per number, a bit set of givens, and a mask of notes per cell. The grid
+ * also keeps a mask of the numbers present in each row, column, and block, so
+ * constraint queries are simple mask operations. Counts of filled cells, of
+ * repeated numbers in each unit, and of conflicts are kept up to date as
+ * numbers are set and unset, so completion and validity checks take constant
+ * time.
+ * Copying a grid is a handful of array copies.
+ * <p>
+ * A MoveJournal may be attached to record every change to numbers and notes,
+ * so moves can be undone and redone, or a search rewound to a mark.
+ * <p>
+ * The numbers and notes are also kept packed into long words, so snapshot()
+ * can make an immutable GridSnapshot in constant time, and a 64-bit Zobrist
+ * hash of the numbers, givens, and notes is updated with each change, for
+ * use as a key in tables of grid states and to detect changes cheaply.
+ * <p>
+ * Two indexed sets of cells are kept as well: the open cells, which aren't
+ * givens and so can still be edited, and the forced cells, which are empty
+ * and have only one number left that can go in them. Each can give up a
+ * random member in constant time, for hints and other random selection.
+ * The open set changes only with the givens, and is kept up to date; the
+ * forced set is rebuilt when asked for after a move, so moves stay cheap.
+ * <p>
+ * AutoCandidates may be attached to keep every cell's candidates up to date
+ * as numbers change, and report the changed cells in one batch per
+ * operation.
  *
  * @author Mark M. Meysenburg
- * @version 05/26/2014
+ * @version 10/16/2026
  */
 public class GameGrid {
 
     /**
-     * 2d, 9x9 array of cells for the grid.
+     * Number in each cell, in [0, 9]. 0 means empty.
+     */
+    protected final byte[] numbers = new byte[81];
+
+    /**
+     * Bit set of the cells holding givens; bit i of word i / 64 is set if
+     * cell i is a given.
+     */
+    protected final long[] givens = new long[2];
+
+    /**
+     * Notes for each cell, as DigitMask masks.
+     */
+    protected final short[] notes = new short[81];
+
+    /**
+     * Numbers present in each row, column, and block, as DigitMask masks.
+     * Indexed by unit number, as described in Units.
+     */
+    protected final int[] unitMasks = new int[Units.COUNT];
+
+    /**
+     * How many extra times each number appears in each unit, beyond the first
+     * (which is recorded in unitMasks); the count for number n in unit u is at
+     * index u * 10 + n. The counts add up to the conflict count, so when there
+     * are no conflicts the array is all zeros and needn't be cleared or
+     * copied.
+     */
+    protected final byte[] unitRepeats = new byte[Units.COUNT * 10];
+
+    /**
+     * Number of cells holding a number.
+     */
+    protected int filled;
+
+    /**
+     * Number of conflicts: for each unit, and each number appearing in the
+     * unit, one less than the number of times it appears.
+     */
+    protected int conflicts;
+
+    /**
+     * Zobrist hash of the numbers, givens, and notes; see Zobrist.
+     */
+    private long hash;
+
+    /**
+     * Journal of the moves made on this grid, or null if moves aren't
+     * recorded.
      */
-    protected Cell[][] grid;
+    private MoveJournal journal;
+
+    /**
+     * Numbers packed for snapshots, in the GridSnapshot layout.
+     */
+    private long[] packedNumbers = new long[GridSnapshot.NUMBER_WORDS];
+
+    /**
+     * Notes packed for snapshots, in the GridSnapshot layout.
+     */
+    private long[] packedNotes = new long[GridSnapshot.NOTE_WORDS];
+
+    /**
+     * Is packedNumbers shared with a snapshot? If so, it is copied before
+     * it is next changed.
+     */
+    private boolean numbersShared;
+
+    /**
+     * Is packedNotes shared with a snapshot? If so, it is copied before it
+     * is next changed.
+     */
+    private boolean notesShared;
+
+    /**
+     * Cells that are not givens.
+     */
+    private final CellSet openCells = new CellSet();
+
+    /**
+     * Empty cells with exactly one candidate.
+     */
+    private final CellSet forcedCells = new CellSet();
+
+    /**
+     * Has a number changed since forcedCells was built? The set is rebuilt
+     * when next asked for, rather than on every move, which would make each
+     * move several times as expensive.
+     */
+    private boolean forcedStale;
+
+    /**
+     * Automatic candidates kept up to date with this grid, or null if there
+     * are none.
+     */
+    private AutoCandidates autoCandidates;
 
     /**
      * Construct a new grid, with all cells set to 0 (blank).
      */
     public GameGrid() {
-        createBlankArray();
+        openCells.fill();
     } // default constructor
 
     /**
@@ -32,15 +150,65 @@ public class GameGrid {
      *                                  length, or if it contains illegal characters (not in [0, 9])
      */
     public GameGrid(String gameData) throws IllegalArgumentException {
-        createBlankArray();
         setGameData(gameData);
     }
 
+    /**
+     * Construct a new grid holding a copy of another grid's numbers, givens,
+     * and notes.
+     *
+     * @param other Grid to copy.
+     */
+    public GameGrid(GameGrid other) {
+        copyFrom(other);
+    }
+
+    /**
+     * Make this grid an exact copy of another grid: numbers, givens, and
+     * notes. No objects are allocated. The other grid's journal is not
+     * copied, and this grid's journal is cleared.
+     *
+     * @param other Grid to copy from.
+     */
+    public void copyFrom(GameGrid other) {
+        System.arraycopy(other.numbers, 0, numbers, 0, numbers.length);
+        System.arraycopy(other.givens, 0, givens, 0, givens.length);
+        System.arraycopy(other.notes, 0, notes, 0, notes.length);
+        System.arraycopy(other.unitMasks, 0, unitMasks, 0, unitMasks.length);
+        if (conflicts != 0 || other.conflicts != 0) {
+            System.arraycopy(other.unitRepeats, 0, unitRepeats, 0, unitRepeats.length);
+        }
+        filled = other.filled;
+        conflicts = other.conflicts;
+        hash = other.hash;
+        openCells.copyFrom(other.openCells);
+        forcedStale = true;
+        if (autoCandidates != null) {
+            autoCandidates.rebuild(this);
+            autoCandidates.flush();
+        }
+        ownPacked();
+        System.arraycopy(other.packedNumbers, 0, packedNumbers, 0, packedNumbers.length);
+        System.arraycopy(other.packedNotes, 0, packedNotes, 0, packedNotes.length);
+        clearJournal();
+    }
+
+    /**
+     * Create a copy of this grid.
+     *
+     * @return New grid, of the same class as this one, holding a copy of this
+     * grid's state.
+     */
+    public GameGrid copy() {
+        return new GameGrid(this);
+    }
+
 
     /**
      * Place a number into the cell at the specified location. If the number in
-     * the cell is a given, do nothing. If the cell has an existing (non-given)
-     * number, unset it and then set the new one.
+     * the cell is a given, or is already the number to set, do nothing. If
+     * the cell has another existing (non-given) number, unset it and then set
+     * the new one.
      *
      * @param row    Row of the cell to set, in [0, 8].
      * @param col    Column of the cell to set, in [0, 8].
@@ -57,20 +225,21 @@ public class GameGrid {
                     + ", " + number + ")");
         }
 
-        int currentNumber = getNumber(row, col);
-        if (currentNumber == 0) {
-            // if the cell is empty, just set the number
-            grid[row][col].setNumber(number);
+        int cell = row * 9 + col;
+        int currentNumber = numbers[cell];
+        if (number == currentNumber) {
+            // nothing changes, so there is nothing to record or recompute
+            return false;
+        }
+        if (currentNumber == 0 || !isGivenCell(cell)) {
+            // if the cell is empty, or not a given, replace the number
+            if (journal != null) {
+                journal.record(MoveJournal.encode(cell, currentNumber, number, 0));
+            }
+            write(cell, currentNumber, number);
+            flushCandidates();
 
             return true;
-        } else {
-            // if not empty, and not a given, unset then set
-            if (!isGiven(row, col)) {
-                unsetNumber(row, col);
-                grid[row][col].setNumber(number);
-
-                return true;
-            }
         }
 
         return false;
@@ -91,7 +260,7 @@ public class GameGrid {
                     + "Grid.getNumber(): (" + row + ", " + col + ")");
         }
 
-        return grid[row][col].getNumber();
+        return numbers[row * 9 + col];
     }
 
     /**
@@ -109,9 +278,14 @@ public class GameGrid {
                     + "Grid.unsetNumber(): (" + row + ", " + col + ")");
         }
 
-        int currentNum = getNumber(row, col);
-        if (!isGiven(row, col) && (currentNum != 0)) {
-            grid[row][col].unsetNumber();
+        int cell = row * 9 + col;
+        int currentNum = numbers[cell];
+        if (!isGivenCell(cell) && (currentNum != 0)) {
+            if (journal != null) {
+                journal.record(MoveJournal.encode(cell, currentNum, 0, 0));
+            }
+            write(cell, currentNum, 0);
+            flushCandidates();
             return true;
         }
 
@@ -132,7 +306,7 @@ public class GameGrid {
                     + "Grid.isGiven(): (" + row + ", " + col + ")");
         }
 
-        return grid[row][col].isGiven();
+        return isGivenCell(row * 9 + col);
     }
 
     /**
@@ -141,57 +315,127 @@ public class GameGrid {
      * @return true if the grid is complete, false otherwise.
      */
     public boolean isComplete() {
-        for (int row = 0; row < 9; row++) {
-            for (int col = 0; col < 9; col++) {
-                if (grid[row][col].getNumber() == 0) {
-                    return false;
-                }
-            } // col
-        } // row
-
-        return true;
+        return filled == 81;
     }
 
     /**
-     * Is this grid complete (i.e., all filled in)?
+     * Is there exactly one empty cell left in this grid?
      *
-     * @return true if the grid is complete, false otherwise.
+     * @return true if only one cell is empty, false otherwise.
      */
     public boolean isOneLeft() {
+        return filled == 80;
+    }
 
-        int count = 0;
+    /**
+     * Get the number of cells holding a number, givens included.
+     *
+     * @return Number of filled cells, in [0, 81].
+     */
+    public int getFilledCount() {
+        return filled;
+    }
 
-        for (int row = 0; row < 9; row++) {
-            for (int col = 0; col < 9; col++) {
-                if (grid[row][col].getNumber() == 0) {
-                    count++;
-                }
-            } // col
-        } // row
+    /**
+     * Get the number of cells that aren't givens.
+     *
+     * @return Number of open cells, in [0, 81].
+     */
+    public int getOpenCellCount() {
+        return openCells.size();
+    }
 
-        if (count == 1) {
-            return true;
-        }
+    /**
+     * Pick a random cell that isn't a given, in constant time.
+     *
+     * @param random Random number generator to use.
+     * @return Index of the cell, row * 9 + col, or -1 if every cell is a
+     * given.
+     */
+    public int pickOpenCell(java.util.Random random) {
+        return openCells.pick(random);
+    }
 
-        return false;
+    /**
+     * Get the number of forced cells: empty cells with only one number not
+     * already in their row, column, or block.
+     *
+     * @return Number of forced cells, in [0, 81].
+     */
+    public int getForcedCellCount() {
+        indexForced();
+        return forcedCells.size();
+    }
+
+    /**
+     * Pick a random forced cell, whose number follows from its row, column,
+     * and block alone. The pick takes constant time; if numbers have changed
+     * since the last call, the forced cells are first found again in one
+     * pass over the grid.
+     *
+     * @param random Random number generator to use.
+     * @return Index of the cell, row * 9 + col, or -1 if no cell is forced.
+     */
+    public int pickForcedCell(java.util.Random random) {
+        indexForced();
+        return forcedCells.pick(random);
+    }
+
+    /**
+     * Get the 64-bit Zobrist hash of this grid's numbers, givens, and notes.
+     * Grids in the same state have the same hash, and the hash is kept up
+     * to date as the grid changes, so getting it takes constant time.
+     * Different states have different hashes with overwhelming probability.
+     *
+     * @return Hash of the grid's state.
+     */
+    public long getHash() {
+        return hash;
+    }
+
+    /**
+     * Does another grid hold the same numbers, givens, and notes as this
+     * one? The hashes are compared first, so grids that differ are almost
+     * always told apart without looking at their cells.
+     *
+     * @param other Grid to compare with.
+     * @return true if the grids are in the same state.
+     */
+    public boolean sameState(GameGrid other) {
+        return hash == other.hash
+                && java.util.Arrays.equals(numbers, other.numbers)
+                && java.util.Arrays.equals(givens, other.givens)
+                && java.util.Arrays.equals(notes, other.notes);
+    }
+
+    /**
+     * Get the number of conflicts in this grid. Each repeat of a number in a
+     * row, column, or block counts as one conflict, so a number appearing
+     * twice in a row adds one, and three times adds two.
+     *
+     * @return Number of conflicts; 0 if no unit holds a number twice.
+     */
+    public int getConflictCount() {
+        return conflicts;
     }
 
     /**
      * Remove all non-given numbers from this grid. Also removes notes from all
-     * the cells.
+     * the cells. The unit masks and repeat counts are rebuilt in one pass
+     * afterwards, rather than updated cell by cell.
      */
     public void clearGrid() {
-        for (int row = 0; row < 9; row++) {
-            for (int col = 0; col < 9; col++) {
-                if (!isGiven(row, col)) {
-                    unsetNumber(row, col);
-                } // if
-
-                for (int number = 1; number <= 9; number++) {
-                    grid[row][col].removeNote(number);
-                }
-            } // col
-        } // row
+        for (int cell = 0; cell < 81; cell++) {
+            // keep the number only if the cell's given bit is set
+            int given = (int) (givens[cell >> 6] >>> cell) & 1;
+            numbers[cell] = (byte) (numbers[cell] & -given);
+        } // cell
+        java.util.Arrays.fill(notes, (short) 0);
+
+        countGivens();
+        packNumbers();
+        clearPackedNotes();
+        clearJournal();
     }
 
     /**
@@ -204,23 +448,24 @@ public class GameGrid {
     public String getGameData() {
         StringBuilder buf = new StringBuilder();
 
-        for (int row = 0; row < 9; row++) {
-            for (int col = 0; col < 9; col++) {
-                buf.append(grid[row][col].getNumber());
-            } // col
-        } // row
+        for (int cell = 0; cell < 81; cell++) {
+            buf.append(numbers[cell]);
+        } // cell
 
         return buf.toString();
     }
 
     /**
      * Set the game data for this grid. Any existing numbers are unset, and all
-     * existing notes are also erased.
+     * existing notes are also erased. The numbers are copied in directly, and
+     * the unit masks and repeat counts built in one pass afterwards.
      *
      * @param data 81-character string with the game data for the grid. 0 means
      *             an empty cell, or [1, 9] for numbers in the grid.
      * @throws IllegalArgumentException If the string is not of the correct
-     *                                  length, or if it contains illegal characters (not in [0, 9])
+     *                                  length, or if it contains illegal characters (not in [0, 9]).
+     *                                  The numbers before the illegal character
+     *                                  are kept as givens.
      */
     public void setGameData(String data) throws IllegalArgumentException {
         if (data.length() != 81) {
@@ -229,38 +474,208 @@ public class GameGrid {
                     + data.length());
         }
 
-        // dump any existing data
-        for (int row = 0; row < grid.length; row++) {
-            for (int col = 0; col < grid.length; col++) {
-                grid[row][col].resetAll();
-            } // for col
-        } // for row
+        // dump the existing givens and notes; everything else is rebuilt
+        // from the numbers below
+        clearMarks();
 
-        // set new data
-        int k = 0;
-        for (int row = 0; row < grid.length; row++) {
-            for (int col = 0; col < grid.length; col++) {
-                int number = data.charAt(k) - '0';
-
-                if (number < 0 || number > 9) {
-                    throw new IllegalArgumentException("Illegal character in "
-                            + "Grid.setGameData(): " + data.charAt(k));
-                }
+        // set new data; every non-zero number is a given
+        int cell = 0;
+        for (; cell < 81; cell++) {
+            int number = data.charAt(cell) - '0';
+            if (number < 0 || number > 9) {
+                break;
+            }
+            numbers[cell] = (byte) number;
+            if (number != 0) {
+                givens[cell >> 6] |= 1L << cell;
+            }
+        } // for cell
+        java.util.Arrays.fill(numbers, cell, 81, (byte) 0);
 
-                if (number != 0) {
-                    setNumber(row, col, number);
-                    grid[row][col].setIsGiven(true);
-                } // if non-blank
+        countGivens();
+        packNumbers();
+        clearJournal();
 
-                k++;
-            } // for col
-        } // for row
+        if (cell < 81) {
+            throw new IllegalArgumentException("Illegal character in "
+                    + "Grid.setGameData(): " + data.charAt(cell));
+        }
     }
 
+    /**
+     * Place a number into the specified cell and make it a given, as when a
+     * hint is used. The journal is cleared, since undoing earlier moves in
+     * the cell would change a given.
+     *
+     * @param row    Row of the cell to set, in [0, 8].
+     * @param col    Column of the cell to set, in [0, 8].
+     * @param number Number to set, in [1, 9].
+     * @throws IllegalArgumentException if row or col is not in [0, 8], or if
+     *                                  number is not in [1, 9].
+     */
     public void setGivenData(int row, int col, int number)
     {
         setNumber(row, col, number);
-        grid[row][col].setIsGiven(true);
+        setGivenCell(row * 9 + col);
+        clearJournal();
+    }
+
+    /**
+     * Attach a journal to record the moves made on this grid, or detach the
+     * current one. The journal is cleared, since it can only replay moves
+     * made from the grid's current state.
+     *
+     * @param journal Journal to attach, or null to stop recording moves.
+     */
+    public void setJournal(MoveJournal journal) {
+        this.journal = journal;
+        clearJournal();
+    }
+
+    /**
+     * Get the journal recording the moves made on this grid.
+     *
+     * @return The attached journal, or null if there is none.
+     */
+    public MoveJournal getJournal() {
+        return journal;
+    }
+
+    /**
+     * Attach automatic candidates to this grid, or detach the current ones.
+     * Newly attached candidates are computed for every cell, and all 81
+     * cells are reported to their listener.
+     *
+     * @param autoCandidates Candidates to keep up to date, or null to stop.
+     */
+    public void setAutoCandidates(AutoCandidates autoCandidates) {
+        this.autoCandidates = autoCandidates;
+        if (autoCandidates != null) {
+            autoCandidates.attach(this);
+            autoCandidates.flush();
+        }
+    }
+
+    /**
+     * Get the automatic candidates attached to this grid.
+     *
+     * @return The attached candidates, or null if there are none.
+     */
+    public AutoCandidates getAutoCandidates() {
+        return autoCandidates;
+    }
+
+    /**
+     * Undo the most recent move recorded in the journal.
+     *
+     * @return The move undone, as encoded by MoveJournal, or MoveJournal.NONE
+     * if there was nothing to undo or no journal is attached.
+     */
+    public int undo() {
+        if (journal == null) {
+            return MoveJournal.NONE;
+        }
+        int move = journal.undo();
+        if (move != MoveJournal.NONE) {
+            replay(move, MoveJournal.newNumber(move), MoveJournal.oldNumber(move));
+            flushCandidates();
+        }
+        return move;
+    }
+
+    /**
+     * Redo the most recently undone move recorded in the journal.
+     *
+     * @return The move redone, as encoded by MoveJournal, or MoveJournal.NONE
+     * if there was nothing to redo or no journal is attached.
+     */
+    public int redo() {
+        if (journal == null) {
+            return MoveJournal.NONE;
+        }
+        int move = journal.redo();
+        if (move != MoveJournal.NONE) {
+            replay(move, MoveJournal.oldNumber(move), MoveJournal.newNumber(move));
+            flushCandidates();
+        }
+        return move;
+    }
+
+    /**
+     * Get a mark for the grid's current state, for a later rewind().
+     *
+     * @return Mark for the current state.
+     * @throws IllegalStateException if no journal is attached.
+     */
+    public int mark() throws IllegalStateException {
+        if (journal == null) {
+            throw new IllegalStateException("No journal attached in Grid.mark()");
+        }
+        return journal.mark();
+    }
+
+    /**
+     * Undo every move made since a mark was taken, and forget them, so they
+     * can't be redone. This is the backtracking step of a search: each
+     * undo touches only the cell it changed, so rewinding costs time in
+     * proportion to the moves undone rather than to the size of the grid.
+     *
+     * @param mark Mark from mark().
+     * @throws IllegalArgumentException if the journal can no longer reach the
+     *                                  mark, or no journal is attached.
+     */
+    public void rewind(int mark) throws IllegalArgumentException {
+        if (journal == null || !journal.canRewind(mark)) {
+            throw new IllegalArgumentException("Illegal parameter to "
+                    + "Grid.rewind(): " + mark);
+        }
+        while (journal.mark() != mark) {
+            int move = journal.undo();
+            replay(move, MoveJournal.newNumber(move), MoveJournal.oldNumber(move));
+        }
+        journal.discardRedo();
+        flushCandidates();
+    }
+
+    /**
+     * Take an immutable snapshot of this grid's numbers, givens, and notes.
+     * The snapshot shares this grid's packed words, which are copied before
+     * the grid next changes them, so this takes constant time.
+     *
+     * @return Snapshot of the grid as it is now.
+     */
+    public GridSnapshot snapshot() {
+        numbersShared = true;
+        notesShared = true;
+        return new GridSnapshot(packedNumbers, packedNotes, givens[0], givens[1], hash);
+    }
+
+    /**
+     * Set this grid's numbers, givens, and notes to those in a snapshot. The
+     * journal is cleared.
+     *
+     * @param snapshot Snapshot to restore.
+     */
+    public void restore(GridSnapshot snapshot) {
+        resetAll();
+        givens[0] = snapshot.givensLow();
+        givens[1] = snapshot.givensHigh();
+        for (int cell = 0; cell < 81; cell++) {
+            int number = snapshot.numberAt(cell);
+            notes[cell] = (short) snapshot.notesAt(cell);
+            if (number != 0) {
+                numbers[cell] = (byte) number;
+                occupy(cell);
+                filled++;
+            }
+        }
+        packedNumbers = snapshot.numberWords();
+        packedNotes = snapshot.noteWords();
+        numbersShared = true;
+        notesShared = true;
+        hash = snapshot.getHash();
+        indexCells();
+        clearJournal();
     }
 
     /**
@@ -273,7 +688,7 @@ public class GameGrid {
         StringBuilder buf = new StringBuilder();
         for (int i = 0; i < 9; i++) {
             for (int j = 0; j < 9; j++) {
-                int number = grid[i][j].getNumber();
+                int number = numbers[i * 9 + j];
                 if (number == 0) {
                     buf.append(".");
                 } else {
@@ -294,17 +709,55 @@ public class GameGrid {
     }
 
     /**
-     * Allocate the 2d, 9x9 array of cells for this grid. All of the cells are
-     * blank.
+     * Remove all data from this grid: numbers, givens, notes, and the row,
+     * column, and block masks are all cleared.
      */
-    protected void createBlankArray() {
-        grid = new Cell[9][9];
-        for (int row = 0; row < grid.length; row++) {
-            grid[row] = new Cell[9];
-            for (int col = 0; col < grid[row].length; col++) {
-                grid[row][col] = new Cell();
-            } // for col
-        } // for row
+    protected void resetAll() {
+        java.util.Arrays.fill(numbers, (byte) 0);
+        java.util.Arrays.fill(givens, 0L);
+        java.util.Arrays.fill(notes, (short) 0);
+        java.util.Arrays.fill(unitMasks, 0);
+        clearRepeats();
+        filled = 0;
+        hash = 0;
+        openCells.fill();
+        forcedStale = true;
+        clearPackedNumbers();
+        clearPackedNotes();
+    }
+
+    /**
+     * Clear the givens, notes, and packed notes, as setGameData() does before
+     * loading new numbers. The numbers and everything derived from them are
+     * left for the caller to rebuild.
+     */
+    protected void clearMarks() {
+        java.util.Arrays.fill(givens, 0L);
+        java.util.Arrays.fill(notes, (short) 0);
+        clearPackedNotes();
+    }
+
+    /**
+     * Is the cell at the specified index a given?
+     *
+     * @param cell Index of the cell, row * 9 + col.
+     * @return true if the cell is a given, false otherwise.
+     */
+    protected boolean isGivenCell(int cell) {
+        return (givens[cell >> 6] & (1L << cell)) != 0;
+    }
+
+    /**
+     * Mark the cell at the specified index as a given.
+     *
+     * @param cell Index of the cell, row * 9 + col.
+     */
+    protected void setGivenCell(int cell) {
+        if (!isGivenCell(cell)) {
+            givens[cell >> 6] |= 1L << cell;
+            hash ^= Zobrist.GIVENS[cell];
+            openCells.remove(cell);
+        }
     }
 
     /**
@@ -323,7 +776,7 @@ public class GameGrid {
                     + ", " + number + ")");
         }
 
-        grid[row][col].setNote(number);
+        toggleNotes(row * 9 + col, DigitMask.bit(number) & ~notes[row * 9 + col]);
     }
 
     /**
@@ -342,7 +795,7 @@ public class GameGrid {
                     + ", " + number + ")");
         }
 
-        grid[row][col].removeNote(number);
+        toggleNotes(row * 9 + col, DigitMask.bit(number) & notes[row * 9 + col]);
     }
 
     /**
@@ -359,73 +812,326 @@ public class GameGrid {
                     + "Grid.getNotes(): (" + row + ", " + col + ")");
         }
 
-        return grid[row][col].getNotes();
+        return DigitMask.toArray(notes[row * 9 + col]);
     }
 
     /**
-     * Make sure this is a valid, filled in grid.
+     * Get the notes from the specified cell in the grid as a mask. If bit i
+     * of the mask is set, i is a note for the cell.
      *
-     * @return true if it's a valid, completely filled grid; false otherwise.
+     * @param row row to get notes from, in [0, 8].
+     * @param col column to get notes from, in [0, 8].
+     * @return DigitMask mask of the notes for the specified cell.
+     * @throws IllegalArgumentException if row or col is not in [0, 8].
      */
-    public boolean validate() {
-        if (!isComplete()) {
-            return false;
+    public int getNotesMask(int row, int col) throws IllegalArgumentException {
+        if (row < 0 || row > 8 || col < 0 || col > 8) {
+            throw new IllegalArgumentException("Illegal parameters to "
+                    + "Grid.getNotesMask(): (" + row + ", " + col + ")");
         }
 
-        TreeSet<Integer> targets = new TreeSet<>();
-        for (int i = 1; i <= 9; i++) {
-            targets.add(i);
+        return notes[row * 9 + col];
+    }
+
+    /**
+     * Is the specified number a note in the specified cell?
+     *
+     * @param row    row of the cell to check, in [0, 8].
+     * @param col    column of the cell to check, in [0, 8].
+     * @param number number to check for, in [1, 9].
+     * @return true if the number is a note in the cell, false otherwise.
+     * @throws IllegalArgumentException if row or column is not in [0, 8], or if
+     *                                  number is not in [1, 9].
+     */
+    public boolean hasNote(int row, int col, int number) throws IllegalArgumentException {
+        if (row < 0 || row > 8 || col < 0 || col > 8 || number < 1 || number > 9) {
+            throw new IllegalArgumentException("Illegal parameters to "
+                    + "Grid.hasNote(): (" + row + ", " + col
+                    + ", " + number + ")");
         }
 
-        // each row complete?
-        for (int row = 0; row < 9; row++) {
-            for (int col = 0; col < 9; col++) {
-                targets.remove(grid[row][col].getNumber());
+        return DigitMask.contains(notes[row * 9 + col], number);
+    }
+
+    /**
+     * Get the numbers used in the row, column, and block of the specified
+     * cell, as a mask. The number in the cell itself is included.
+     *
+     * @param cell Index of the cell, row * 9 + col.
+     * @return DigitMask mask of the numbers seen by the cell.
+     */
+    protected int usedMask(int cell) {
+        return unitMasks[Units.ROW[cell]] | unitMasks[9 + Units.COL[cell]]
+                | unitMasks[18 + Units.BOX[cell]];
+    }
+
+    /**
+     * Rebuild the filled count, unit masks and repeats, conflict count, and
+     * hash of a grid whose only numbers are its givens, and which has no
+     * notes, as after setGameData() or clearGrid(). Only the given cells are
+     * visited, found from the givens bit set. The open and forced cell sets
+     * are rebuilt afterwards.
+     */
+    protected void countGivens() {
+        java.util.Arrays.fill(unitMasks, 0);
+        clearRepeats();
+        long h = 0;
+        for (int word = 0; word < givens.length; word++) {
+            long bits = givens[word];
+            while (bits != 0) {
+                int cell = (word << 6) + Long.numberOfTrailingZeros(bits);
+                occupy(cell);
+                h ^= Zobrist.NUMBERS[cell * 10 + numbers[cell]] ^ Zobrist.GIVENS[cell];
+                bits &= bits - 1;
             }
+        }
+        filled = Long.bitCount(givens[0]) + Long.bitCount(givens[1]);
+        hash = h;
+        indexCells();
+    }
+
+    /**
+     * Rebuild the open cell set from the givens, mark the forced cell set
+     * for rebuilding, and recompute any automatic candidates.
+     */
+    private void indexCells() {
+        openCells.setBits(~givens[0], ~givens[1] & ((1L << 17) - 1));
+        forcedStale = true;
+        if (autoCandidates != null) {
+            autoCandidates.rebuild(this);
+            autoCandidates.flush();
+        }
+    }
+
+    /**
+     * Hand the candidates changed by an operation to the automatic
+     * candidates' listener, if any are attached.
+     */
+    private void flushCandidates() {
+        if (autoCandidates != null) {
+            autoCandidates.flush();
+        }
+    }
 
-            if (!targets.isEmpty()) {
-                return false;
+    /**
+     * Rebuild the forced cell set from the numbers and unit masks, if it is
+     * out of date.
+     */
+    private void indexForced() {
+        if (forcedStale) {
+            forcedCells.clear();
+            for (int cell = 0; cell < 81; cell++) {
+                if (numbers[cell] == 0
+                        && DigitMask.single(DigitMask.ALL & ~usedMask(cell)) != 0) {
+                    forcedCells.add(cell);
+                }
             }
-            targets.clear();
-            for (int i = 1; i <= 9; i++) {
-                targets.add(i);
+            forcedStale = false;
+        }
+    }
+
+    /**
+     * Zero the unit repeat counts and the conflict count. The repeat counts
+     * are only touched if there are conflicts, since otherwise they are
+     * already zero.
+     */
+    private void clearRepeats() {
+        if (conflicts != 0) {
+            java.util.Arrays.fill(unitRepeats, (byte) 0);
+            conflicts = 0;
+        }
+    }
+
+    /**
+     * Replace the number in a cell, keeping the unit masks, repeat counts,
+     * and filled count up to date. Nothing is recorded in the journal.
+     *
+     * @param cell      Index of the cell, row * 9 + col.
+     * @param oldNumber Number in the cell now, in [0, 9].
+     * @param newNumber Number to put in the cell, in [0, 9].
+     */
+    private void write(int cell, int oldNumber, int newNumber) {
+        if (oldNumber != 0) {
+            vacate(cell, oldNumber);
+            filled--;
+        }
+        numbers[cell] = (byte) newNumber;
+        hash ^= Zobrist.NUMBERS[cell * 10 + oldNumber] ^ Zobrist.NUMBERS[cell * 10 + newNumber];
+        if (numbersShared) {
+            packedNumbers = packedNumbers.clone();
+            numbersShared = false;
+        }
+        packedNumbers[cell >> 4] ^= (long) (oldNumber ^ newNumber) << ((cell & 15) << 2);
+        if (newNumber != 0) {
+            occupy(cell);
+            filled++;
+        }
+        forcedStale = true;
+        if (autoCandidates != null) {
+            autoCandidates.numberChanged(this, cell);
+        }
+    }
+
+    /**
+     * Toggle notes in a cell, recording the change in the journal if any
+     * notes actually change.
+     *
+     * @param cell    Index of the cell, row * 9 + col.
+     * @param toggles DigitMask of the notes to toggle.
+     */
+    private void toggleNotes(int cell, int toggles) {
+        if (toggles != 0) {
+            if (journal != null) {
+                journal.record(MoveJournal.encode(cell, numbers[cell], numbers[cell], toggles));
             }
-        } // for row
+            flipNotes(cell, toggles);
+        }
+    }
+
+    /**
+     * Apply a journaled move in one direction, without recording it.
+     *
+     * @param move Encoded move.
+     * @param from Number in the cell now, in [0, 9].
+     * @param to   Number to put in the cell, in [0, 9].
+     */
+    private void replay(int move, int from, int to) {
+        int cell = MoveJournal.cell(move);
+        if (from != to) {
+            write(cell, from, to);
+        }
+        flipNotes(cell, MoveJournal.notes(move));
+    }
+
+    /**
+     * Toggle notes in a cell, and in the packed notes, without recording
+     * anything in the journal.
+     *
+     * @param cell    Index of the cell, row * 9 + col.
+     * @param toggles DigitMask of the notes to toggle.
+     */
+    private void flipNotes(int cell, int toggles) {
+        notes[cell] ^= toggles;
+        hash ^= Zobrist.notes(cell, toggles);
+        if (notesShared) {
+            packedNotes = packedNotes.clone();
+            notesShared = false;
+        }
+        packedNotes[cell / 7] ^= (long) (toggles >>> 1) << ((cell % 7) * 9);
+    }
+
+    /**
+     * Make sure neither group of packed words is shared with a snapshot.
+     */
+    private void ownPacked() {
+        if (numbersShared) {
+            packedNumbers = new long[GridSnapshot.NUMBER_WORDS];
+            numbersShared = false;
+        }
+        if (notesShared) {
+            packedNotes = new long[GridSnapshot.NOTE_WORDS];
+            notesShared = false;
+        }
+    }
 
-        // each column complete?
-        for (int col = 0; col < 9; col++) {
-            for (int row = 0; row < 9; row++) {
-                targets.remove(grid[row][col].getNumber());
+    /**
+     * Rebuild the packed numbers from the numbers array.
+     */
+    private void packNumbers() {
+        if (numbersShared) {
+            packedNumbers = new long[GridSnapshot.NUMBER_WORDS];
+            numbersShared = false;
+        }
+        for (int word = 0; word < GridSnapshot.NUMBER_WORDS; word++) {
+            long bits = 0;
+            int end = Math.min(81, (word + 1) << 4);
+            for (int cell = word << 4; cell < end; cell++) {
+                bits |= (long) numbers[cell] << ((cell & 15) << 2);
             }
+            packedNumbers[word] = bits;
+        }
+    }
 
-            if (!targets.isEmpty()) {
-                return false;
+    /**
+     * Zero the packed numbers.
+     */
+    private void clearPackedNumbers() {
+        if (numbersShared) {
+            packedNumbers = new long[GridSnapshot.NUMBER_WORDS];
+            numbersShared = false;
+        } else {
+            java.util.Arrays.fill(packedNumbers, 0L);
+        }
+    }
+
+    /**
+     * Zero the packed notes.
+     */
+    private void clearPackedNotes() {
+        if (notesShared) {
+            packedNotes = new long[GridSnapshot.NOTE_WORDS];
+            notesShared = false;
+        } else {
+            java.util.Arrays.fill(packedNotes, 0L);
+        }
+    }
+
+    /**
+     * Forget the moves in the journal, if one is attached.
+     */
+    private void clearJournal() {
+        if (journal != null) {
+            journal.clear();
+        }
+    }
+
+    /**
+     * Record the number in a cell in the masks and repeat counts of the
+     * cell's units.
+     *
+     * @param cell Index of the cell, row * 9 + col.
+     */
+    private void occupy(int cell) {
+        int number = numbers[cell];
+        int bit = DigitMask.bit(number);
+        for (int u : Units.UNITS_OF[cell]) {
+            int mask = unitMasks[u];
+            if ((mask & bit) == 0) {
+                unitMasks[u] = mask | bit;
+            } else {
+                unitRepeats[u * 10 + number]++;
+                conflicts++;
             }
-            targets.clear();
-            for (int i = 1; i <= 9; i++) {
-                targets.add(i);
+        }
+    }
+
+    /**
+     * Remove a number taken out of a cell from the masks and repeat counts of
+     * the cell's units. A unit keeps the number in its mask if another of its
+     * cells still holds it.
+     *
+     * @param cell   Index of the cell, row * 9 + col.
+     * @param number number removed, in [1, 9].
+     */
+    private void vacate(int cell, int number) {
+        int bit = DigitMask.bit(number);
+        for (int u : Units.UNITS_OF[cell]) {
+            if (unitRepeats[u * 10 + number] == 0) {
+                unitMasks[u] &= ~bit;
+            } else {
+                unitRepeats[u * 10 + number]--;
+                conflicts--;
             }
-        } // for col
-
-        // each block complete?
-        for (int rStart = 0; rStart < 9; rStart += 3) {
-            for (int cStart = 0; cStart < 9; cStart += 3) {
-                for (int row = rStart; row < rStart + 3; row++) {
-                    for (int col = cStart; col < cStart + 3; col++) {
-                        targets.remove(grid[row][col].getNumber());
-                    } // for col
-                } // for row
-
-                if (!targets.isEmpty()) {
-                    return false;
-                }
+        }
+    }
 
-                targets.clear();
-                for (int i = 1; i <= 9; i++) {
-                    targets.add(i);
-                }
-            } // for cStart
-        } // for rStart
-        return true;
+    /**
+     * Make sure this is a valid, filled in grid. A full grid with no number
+     * repeated in any row, column, or block has every number once in each.
+     *
+     * @return true if it's a valid, completely filled grid; false otherwise.
+     */
+    public boolean validate() {
+        return filled == 81 && conflicts == 0;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,250 @@
+package edu.doane.sudoku.model;
+
+/**
+ * The structure of a SuDoKu grid of any size. A grid is built from boxes
+ * n cells on a side, so its side is n * n cells and its numbers run from 1
+ * to n * n: box size 3 is the standard 9x9 game, 4 is 16x16, and 5 is
+ * 25x25. Cells are indexed row * side + col. Units are the rows, columns,
+ * and boxes, numbered as in Units: rows first, then columns, then boxes,
+ * left to right, top to bottom. The peers of a cell are the other cells
+ * sharing a unit with it.
+ * <p>
+ * Sets of numbers are held in long masks, number k in bit k, so grids up to
+ * 49x49 (box size 7) fit in one word per set. The tables are built once per
+ * size and shared, so they must never be modified.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/16/2026
+ */
+public final class GridGeometry {
+
+    /**
+     * Smallest supported box size.
+     */
+    public static final int MIN_BOX = 2;
+
+    /**
+     * Largest supported box size; 49 numbers, plus the unused bit 0, fit in
+     * a long mask.
+     */
+    public static final int MAX_BOX = 7;
+
+    /**
+     * Characters used for the numbers in game data, in order from 1. An
+     * empty cell is written as '0', and read from either '0' or '.'.
+     */
+    private static final String SYMBOLS =
+            "123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmn";
+
+    /**
+     * Geometry for each box size, built on first use.
+     */
+    private static final GridGeometry[] SIZES = new GridGeometry[MAX_BOX + 1];
+
+    /**
+     * The standard 9x9 grid.
+     */
+    public static final GridGeometry NINE = of(3);
+
+    /**
+     * Cells on a side of a box.
+     */
+    final int box;
+
+    /**
+     * Cells on a side of the grid, and the largest number.
+     */
+    final int side;
+
+    /**
+     * Number of cells in the grid.
+     */
+    final int cells;
+
+    /**
+     * Number of units (rows, columns, and boxes) in the grid.
+     */
+    final int units;
+
+    /**
+     * Mask holding all of the numbers [1, side].
+     */
+    final long all;
+
+    /**
+     * Row, column, and box of each cell.
+     */
+    final int[] row;
+    final int[] col;
+    final int[] boxOf;
+
+    /**
+     * Cells in each unit.
+     */
+    final int[][] unitCells;
+
+    /**
+     * Units containing each cell: its row, column, and box unit indices, in
+     * that order.
+     */
+    final int[][] unitsOf;
+
+    /**
+     * Peers of each cell.
+     */
+    final int[][] peers;
+
+    /**
+     * Build the tables for one box size.
+     *
+     * @param box Cells on a side of a box.
+     */
+    private GridGeometry(int box) {
+        this.box = box;
+        side = box * box;
+        cells = side * side;
+        units = 3 * side;
+        all = ((1L << side) - 1) << 1;
+
+        row = new int[cells];
+        col = new int[cells];
+        boxOf = new int[cells];
+        unitCells = new int[units][side];
+        unitsOf = new int[cells][3];
+        peers = new int[cells][3 * side - 2 * box - 1];
+
+        int[] filled = new int[units];
+        for (int cell = 0; cell < cells; cell++) {
+            int r = cell / side;
+            int c = cell % side;
+            int b = (r / box) * box + c / box;
+            row[cell] = r;
+            col[cell] = c;
+            boxOf[cell] = b;
+
+            unitsOf[cell][0] = r;
+            unitsOf[cell][1] = side + c;
+            unitsOf[cell][2] = 2 * side + b;
+            for (int u : unitsOf[cell]) {
+                unitCells[u][filled[u]++] = cell;
+            }
+        }
+
+        for (int cell = 0; cell < cells; cell++) {
+            int k = 0;
+            for (int other = 0; other < cells; other++) {
+                if (other != cell && (row[other] == row[cell]
+                        || col[other] == col[cell] || boxOf[other] == boxOf[cell])) {
+                    peers[cell][k++] = other;
+                }
+            }
+        }
+    }
+
+    /**
+     * Get the geometry for a box size.
+     *
+     * @param box Cells on a side of a box, in [MIN_BOX, MAX_BOX].
+     * @return The shared geometry for that size.
+     * @throws IllegalArgumentException if box is out of range.
+     */
+    public static GridGeometry of(int box) throws IllegalArgumentException {
+        if (box < MIN_BOX || box > MAX_BOX) {
+            throw new IllegalArgumentException("Illegal parameter to "
+                    + "GridGeometry.of(): " + box);
+        }
+        synchronized (SIZES) {
+            if (SIZES[box] == null) {
+                SIZES[box] = new GridGeometry(box);
+            }
+            return SIZES[box];
+        }
+    }
+
+    /**
+     * Get the box size.
+     *
+     * @return Cells on a side of a box.
+     */
+    public int getBox() {
+        return box;
+    }
+
+    /**
+     * Get the grid side, which is also the largest number.
+     *
+     * @return Cells on a side of the grid.
+     */
+    public int getSide() {
+        return side;
+    }
+
+    /**
+     * Get the number of cells.
+     *
+     * @return side * side.
+     */
+    public int getCells() {
+        return cells;
+    }
+
+    /**
+     * Get the mask holding every number.
+     *
+     * @return Mask with bits [1, side] set.
+     */
+    public long getAll() {
+        return all;
+    }
+
+    /**
+     * Convert game data to an array of numbers. The data holds one
+     * character per cell: '0' or '.' for an empty cell, '1' to '9' for
+     * numbers up to 9, then 'A' to 'Z' and 'a' to 'n' for 10 and up.
+     *
+     * @param gameData String of side * side characters.
+     * @return Array of the numbers, in [0, side].
+     * @throws IllegalArgumentException if the string is not of the correct
+     *                                  length, or if it contains a character
+     *                                  that isn't a number in this grid.
+     */
+    public byte[] toNumbers(String gameData) throws IllegalArgumentException {
+        if (gameData.length() != cells) {
+            throw new IllegalArgumentException("Illegal parameter to "
+                    + "GridGeometry.toNumbers(); data is not " + cells
+                    + " characters: " + gameData.length());
+        }
+
+        byte[] numbers = new byte[cells];
+        for (int k = 0; k < cells; k++) {
+            char c = gameData.charAt(k);
+            int number = (c == '0' || c == '.') ? 0 : SYMBOLS.indexOf(c) + 1;
+            if (c != '0' && c != '.' && (number < 1 || number > side)) {
+                throw new IllegalArgumentException("Illegal character in "
+                        + "GridGeometry.toNumbers(): " + c);
+            }
+            numbers[k] = (byte) number;
+        }
+        return numbers;
+    }
+
+    /**
+     * Convert an array of numbers to game data, in the format read by
+     * toNumbers().
+     *
+     * @param numbers side * side numbers in [0, side].
+     * @return Game data string.
+     */
+    public String toGameData(byte[] numbers) {
+        char[] chars = new char[cells];
+        for (int k = 0; k < cells; k++) {
+            chars[k] = (numbers[k] == 0) ? '0' : SYMBOLS.charAt(numbers[k] - 1);
+        }
+        return new String(chars);
+    }
+
+    @Override
+    public String toString() {
+        return side + "x" + side;
+    }
+}
@@ -0,0 +1,257 @@
+package edu.doane.sudoku.model;
+
+import java.util.Arrays;
+
+/**
+ * Immutable point-in-time copy of a GameGrid's numbers, givens, and notes,
+ * packed into long words: four bits per number, sixteen cells per word; one
+ * bit per given; and nine bits of notes per cell, seven cells per word.
+ * <p>
+ * A grid keeps its packed words up to date as it changes, so
+ * GameGrid.snapshot() takes constant time: the snapshot shares the grid's
+ * number and note words, and the grid copies a group of words before its
+ * next change to it. Snapshots taken between changes to the notes share one
+ * array of note words, and so on. Since the words are never changed after a
+ * snapshot is made, snapshots can be shared freely between threads and used
+ * as keys in hash maps. A snapshot carries the grid's Zobrist hash, so
+ * equals() and hashCode() take constant time.
+ * <p>
+ * Constraints added to a FactoryGrid are not part of a snapshot.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/16/2026
+ */
+public final class GridSnapshot {
+
+    /**
+     * Number of words holding the numbers, sixteen cells to a word.
+     */
+    static final int NUMBER_WORDS = 6;
+
+    /**
+     * Number of words holding the notes, seven cells to a word.
+     */
+    static final int NOTE_WORDS = 12;
+
+    /**
+     * Packed numbers; number of cell i is at bits 4 * (i % 16) of word
+     * i / 16. Never changed.
+     */
+    private final long[] numbers;
+
+    /**
+     * Packed notes; notes of cell i are at bits 9 * (i % 7) of word i / 7,
+     * with number n at bit n - 1 of the cell's nine. Never changed.
+     */
+    private final long[] notes;
+
+    /**
+     * Givens bit set, cells 0 to 63.
+     */
+    private final long givensLow;
+
+    /**
+     * Givens bit set, cells 64 to 80.
+     */
+    private final long givensHigh;
+
+    /**
+     * Zobrist hash of the grid the snapshot was taken from.
+     */
+    private final long hash;
+
+    /**
+     * Create a snapshot from packed words. The arrays are not copied, so the
+     * caller must never change them afterwards.
+     *
+     * @param numbers    Packed numbers, NUMBER_WORDS long.
+     * @param notes      Packed notes, NOTE_WORDS long.
+     * @param givensLow  Givens bit set, cells 0 to 63.
+     * @param givensHigh Givens bit set, cells 64 to 80.
+     * @param hash       Zobrist hash of the grid.
+     */
+    GridSnapshot(long[] numbers, long[] notes, long givensLow, long givensHigh, long hash) {
+        this.numbers = numbers;
+        this.notes = notes;
+        this.givensLow = givensLow;
+        this.givensHigh = givensHigh;
+        this.hash = hash;
+    }
+
+    /**
+     * Get the 64-bit Zobrist hash of the snapshot; the same as
+     * GameGrid.getHash() of the grid it was taken from.
+     *
+     * @return Hash of the snapshot's state.
+     */
+    public long getHash() {
+        return hash;
+    }
+
+    /**
+     * Get the number in a cell.
+     *
+     * @param row Row of the cell, in [0, 8].
+     * @param col Column of the cell, in [0, 8].
+     * @return Number in the cell, in [0, 9]; 0 means the cell is empty.
+     * @throws IllegalArgumentException if row or col is not in [0, 8].
+     */
+    public int getNumber(int row, int col) throws IllegalArgumentException {
+        if (row < 0 || row > 8 || col < 0 || col > 8) {
+            throw new IllegalArgumentException("Bad coordinates to "
+                    + "GridSnapshot.getNumber(): (" + row + ", " + col + ")");
+        }
+        return numberAt(row * 9 + col);
+    }
+
+    /**
+     * Is a cell a given?
+     *
+     * @param row Row of the cell, in [0, 8].
+     * @param col Column of the cell, in [0, 8].
+     * @return true if the cell is a given, false otherwise.
+     * @throws IllegalArgumentException if row or col is not in [0, 8].
+     */
+    public boolean isGiven(int row, int col) throws IllegalArgumentException {
+        if (row < 0 || row > 8 || col < 0 || col > 8) {
+            throw new IllegalArgumentException("Bad coordinates to "
+                    + "GridSnapshot.isGiven(): (" + row + ", " + col + ")");
+        }
+        int cell = row * 9 + col;
+        return ((cell < 64 ? givensLow : givensHigh) & (1L << cell)) != 0;
+    }
+
+    /**
+     * Get the notes in a cell as a mask.
+     *
+     * @param row Row of the cell, in [0, 8].
+     * @param col Column of the cell, in [0, 8].
+     * @return DigitMask mask of the notes in the cell.
+     * @throws IllegalArgumentException if row or col is not in [0, 8].
+     */
+    public int getNotesMask(int row, int col) throws IllegalArgumentException {
+        if (row < 0 || row > 8 || col < 0 || col > 8) {
+            throw new IllegalArgumentException("Bad coordinates to "
+                    + "GridSnapshot.getNotesMask(): (" + row + ", " + col + ")");
+        }
+        return notesAt(row * 9 + col);
+    }
+
+    /**
+     * Get the game data of the snapshot, in the format used by
+     * GameGrid.getGameData().
+     *
+     * @return 81-character string of the numbers in the snapshot.
+     */
+    public String getGameData() {
+        char[] buf = new char[81];
+        for (int cell = 0; cell < 81; cell++) {
+            buf[cell] = (char) ('0' + numberAt(cell));
+        }
+        return new String(buf);
+    }
+
+    /**
+     * Create a new grid holding the snapshot's numbers, givens, and notes.
+     *
+     * @return New grid.
+     */
+    public GameGrid toGrid() {
+        GameGrid grid = new GameGrid();
+        grid.restore(this);
+        return grid;
+    }
+
+    /**
+     * Get the number in a cell.
+     *
+     * @param cell Index of the cell, row * 9 + col.
+     * @return Number in the cell, in [0, 9].
+     */
+    int numberAt(int cell) {
+        return (int) (numbers[cell >> 4] >>> ((cell & 15) << 2)) & 0xF;
+    }
+
+    /**
+     * Get the notes in a cell.
+     *
+     * @param cell Index of the cell, row * 9 + col.
+     * @return DigitMask mask of the notes in the cell.
+     */
+    int notesAt(int cell) {
+        return ((int) (notes[cell / 7] >>> ((cell % 7) * 9)) & 0x1FF) << 1;
+    }
+
+    /**
+     * Get the givens bit set word for cells 0 to 63.
+     *
+     * @return Givens word.
+     */
+    long givensLow() {
+        return givensLow;
+    }
+
+    /**
+     * Get the givens bit set word for cells 64 to 80.
+     *
+     * @return Givens word.
+     */
+    long givensHigh() {
+        return givensHigh;
+    }
+
+    /**
+     * Get the packed number words, shared rather than copied.
+     *
+     * @return Number words; must not be changed.
+     */
+    long[] numberWords() {
+        return numbers;
+    }
+
+    /**
+     * Get the packed note words, shared rather than copied.
+     *
+     * @return Note words; must not be changed.
+     */
+    long[] noteWords() {
+        return notes;
+    }
+
+    /**
+     * Is another object a snapshot of the same numbers, givens, and notes?
+     *
+     * @param obj Object to compare with.
+     * @return true if obj is an equal snapshot.
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof GridSnapshot)) {
+            return false;
+        }
+        GridSnapshot other = (GridSnapshot) obj;
+        return hash == other.hash
+                && givensLow == other.givensLow
+                && givensHigh == other.givensHigh
+                && (numbers == other.numbers || Arrays.equals(numbers, other.numbers))
+                && (notes == other.notes || Arrays.equals(notes, other.notes));
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(hash);
+    }
+
+    /**
+     * Get the game data of the snapshot.
+     *
+     * @return 81-character string of the numbers in the snapshot.
+     */
+    @Override
+    public String toString() {
+        return getGameData();
+    }
+}
@@ -0,0 +1,229 @@
+package edu.doane.sudoku.model;
+
+/**
+ * History of the moves made on a GameGrid, for undo and redo, and for
+ * backtracking searches that play numbers on a grid. Each move is packed
+ * into one int: the cell, the number before and after, and the notes
+ * toggled. Moves are kept in a ring buffer of fixed capacity; once it is
+ * full, recording a move forgets the oldest one.
+ * <p>
+ * Moves before the cursor can be undone, and moves after it (left by undo)
+ * redone; recording a new move discards the moves that could have been
+ * redone. A search takes a mark() before trying a number, and calls
+ * GameGrid.rewind() with it to undo everything played since.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/16/2026
+ */
+public final class MoveJournal {
+
+    /**
+     * Returned by undo() and redo() when there is no move to return.
+     */
+    public static final int NONE = -1;
+
+    /**
+     * Capacity of a journal made with the default constructor.
+     */
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    /**
+     * Encoded moves; the move with sequence number s is at s &amp; mask.
+     */
+    private final int[] moves;
+
+    /**
+     * moves.length - 1; the capacity is a power of two.
+     */
+    private final int mask;
+
+    /**
+     * Sequence number of the oldest move still held.
+     */
+    private int first;
+
+    /**
+     * Sequence number of the next move to record; moves before it can be
+     * undone.
+     */
+    private int cursor;
+
+    /**
+     * Sequence number one past the last move that can be redone.
+     */
+    private int last;
+
+    /**
+     * Create a journal holding up to DEFAULT_CAPACITY moves.
+     */
+    public MoveJournal() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Create a journal holding at least the specified number of moves.
+     *
+     * @param capacity Minimum number of moves to hold, at least 1. Rounded
+     *                 up to a power of two.
+     * @throws IllegalArgumentException if capacity is less than 1 or more
+     *                                  than 2^30.
+     */
+    public MoveJournal(int capacity) throws IllegalArgumentException {
+        if (capacity < 1 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException("Illegal parameter to "
+                    + "MoveJournal(): capacity " + capacity);
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        moves = new int[size];
+        mask = size - 1;
+    }
+
+    /**
+     * Pack a move into an int.
+     *
+     * @param cell      Index of the cell, row * 9 + col.
+     * @param oldNumber Number in the cell before the move, in [0, 9].
+     * @param newNumber Number in the cell after the move, in [0, 9].
+     * @param notes     DigitMask of the notes toggled by the move.
+     * @return Encoded move.
+     */
+    public static int encode(int cell, int oldNumber, int newNumber, int notes) {
+        return cell | oldNumber << 7 | newNumber << 11 | (notes & DigitMask.ALL) << 14;
+    }
+
+    /**
+     * Get the cell changed by a move.
+     *
+     * @param move Encoded move.
+     * @return Index of the cell, row * 9 + col.
+     */
+    public static int cell(int move) {
+        return move & 0x7F;
+    }
+
+    /**
+     * Get the number in the cell before a move.
+     *
+     * @param move Encoded move.
+     * @return Number, in [0, 9].
+     */
+    public static int oldNumber(int move) {
+        return move >>> 7 & 0xF;
+    }
+
+    /**
+     * Get the number in the cell after a move.
+     *
+     * @param move Encoded move.
+     * @return Number, in [0, 9].
+     */
+    public static int newNumber(int move) {
+        return move >>> 11 & 0xF;
+    }
+
+    /**
+     * Get the notes toggled by a move.
+     *
+     * @param move Encoded move.
+     * @return DigitMask of the toggled notes.
+     */
+    public static int notes(int move) {
+        return move >>> 14 & DigitMask.ALL;
+    }
+
+    /**
+     * Record a move, discarding any moves that could have been redone.
+     *
+     * @param move Encoded move.
+     */
+    public void record(int move) {
+        moves[cursor & mask] = move;
+        cursor++;
+        last = cursor;
+        if (cursor - first > moves.length) {
+            first = cursor - moves.length;
+        }
+    }
+
+    /**
+     * Step the cursor back over the most recent move.
+     *
+     * @return The move to undo, or NONE if there is none.
+     */
+    public int undo() {
+        if (cursor == first) {
+            return NONE;
+        }
+        cursor--;
+        return moves[cursor & mask];
+    }
+
+    /**
+     * Step the cursor forward over the most recently undone move.
+     *
+     * @return The move to redo, or NONE if there is none.
+     */
+    public int redo() {
+        if (cursor == last) {
+            return NONE;
+        }
+        return moves[cursor++ & mask];
+    }
+
+    /**
+     * Is there a move to undo?
+     *
+     * @return true if undo() will return a move.
+     */
+    public boolean canUndo() {
+        return cursor != first;
+    }
+
+    /**
+     * Is there a move to redo?
+     *
+     * @return true if redo() will return a move.
+     */
+    public boolean canRedo() {
+        return cursor != last;
+    }
+
+    /**
+     * Get a mark for the current position, to rewind to later.
+     *
+     * @return Mark for the current position.
+     */
+    public int mark() {
+        return cursor;
+    }
+
+    /**
+     * Can the journal still step back to a mark? It can't if the mark is
+     * ahead of the cursor, or if moves recorded since have pushed the moves
+     * after the mark out of the buffer.
+     *
+     * @param mark Mark from mark().
+     * @return true if undo() can reach the mark.
+     */
+    public boolean canRewind(int mark) {
+        return mark - first >= 0 && cursor - mark >= 0;
+    }
+
+    /**
+     * Forget the moves that could be redone, as after rewinding a search.
+     */
+    public void discardRedo() {
+        last = cursor;
+    }
+
+    /**
+     * Forget every move.
+     */
+    public void clear() {
+        first = cursor;
+        last = cursor;
+    }
+}
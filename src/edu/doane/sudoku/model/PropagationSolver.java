@@ -0,0 +1,274 @@
+package edu.doane.sudoku.model;
+
+/**
+ * Solver engine that combines constraint propagation with backtracking.
+ * Each cell keeps a DigitMask of its remaining candidates. Placing a number
+ * removes it from the cell's peers through an explicit work queue; a peer
+ * left with one candidate is a naked single (FactoryGrid.deduceNumber()),
+ * and a peer left with none is a dead end (FactoryGrid.isLocked()). When
+ * the queue runs dry, each unit is checked for hidden singles, numbers that
+ * fit in only one of the unit's cells. If the puzzle is still not solved,
+ * the search branches on the open cell with the fewest candidates.
+ * <p>
+ * Every change to a cell is written to a trail, so backing out of a branch
+ * rewinds the trail instead of copying the grid. Instances are not
+ * thread-safe.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/16/2026
+ */
+public final class PropagationSolver implements Solver {
+
+    /**
+     * Trail capacity. Along one search path a cell's candidates can only
+     * shrink, so each cell changes at most nine times.
+     */
+    private static final int TRAIL_SIZE = 81 * 10;
+
+    /**
+     * Candidates for each cell, as DigitMask masks.
+     */
+    private final short[] candidates = new short[81];
+
+    /**
+     * Number placed in each cell, or 0 if the cell is still open.
+     */
+    private final byte[] placed = new byte[81];
+
+    /**
+     * Trail of changes; each entry packs a cell index, and that cell's
+     * previous candidates and number.
+     */
+    private final int[] trail = new int[TRAIL_SIZE];
+
+    /**
+     * Number of entries on the trail.
+     */
+    private int trailTop;
+
+    /**
+     * Work queue of cells whose numbers have been placed but not yet
+     * removed from their peers. At most 81 cells are ever queued between
+     * resets.
+     */
+    private final int[] queue = new int[81];
+
+    /**
+     * Queue head and tail positions.
+     */
+    private int head;
+    private int tail;
+
+    /**
+     * Number of solutions found by the current solve.
+     */
+    private int found;
+
+    /**
+     * Solution limit for the current solve.
+     */
+    private int limit;
+
+    /**
+     * Solution array for the current solve.
+     */
+    private byte[] solution;
+
+    @Override
+    public int solve(byte[] puzzle, byte[] solution, int limit) throws IllegalArgumentException {
+        if (puzzle.length != 81 || solution.length != 81 || limit < 1) {
+            throw new IllegalArgumentException("Illegal parameters to "
+                    + "PropagationSolver.solve(): (" + puzzle.length + ", "
+                    + solution.length + ", " + limit + ")");
+        }
+        for (int cell = 0; cell < 81; cell++) {
+            if (puzzle[cell] < 0 || puzzle[cell] > 9) {
+                throw new IllegalArgumentException("Illegal number in "
+                        + "PropagationSolver.solve(): " + puzzle[cell]);
+            }
+        }
+
+        this.solution = solution;
+        this.limit = limit;
+        found = 0;
+        trailTop = 0;
+        java.util.Arrays.fill(candidates, (short) DigitMask.ALL);
+        java.util.Arrays.fill(placed, (byte) 0);
+
+        boolean consistent = true;
+        head = 0;
+        tail = 0;
+        for (int cell = 0; cell < 81 && consistent; cell++) {
+            if (puzzle[cell] != 0) {
+                consistent = place(cell, puzzle[cell]);
+            }
+        }
+
+        if (consistent && propagate()) {
+            search();
+        }
+
+        this.solution = null;
+        return found;
+    }
+
+    /**
+     * Recursive search: branch on the open cell with the fewest candidates.
+     */
+    private void search() {
+        int best = -1;
+        int bestCount = 10;
+        for (int cell = 0; cell < 81 && bestCount > 2; cell++) {
+            if (placed[cell] == 0) {
+                int count = DigitMask.count(candidates[cell]);
+                if (count < bestCount) {
+                    bestCount = count;
+                    best = cell;
+                }
+            }
+        }
+
+        if (best < 0) {
+            // every cell is placed
+            if (found == 0) {
+                System.arraycopy(placed, 0, solution, 0, 81);
+            }
+            found++;
+            return;
+        }
+
+        int mark = trailTop;
+        int mask = candidates[best];
+        while (mask != 0 && found < limit) {
+            int bit = mask & -mask;
+            mask ^= bit;
+
+            head = 0;
+            tail = 0;
+            if (place(best, Integer.numberOfTrailingZeros(bit)) && propagate()) {
+                search();
+            }
+            rewind(mark);
+        }
+    }
+
+    /**
+     * Place a number in an open cell and queue it for propagation.
+     *
+     * @param cell   Cell index.
+     * @param number Number to place, in [1, 9].
+     * @return false if the number is not a candidate for the cell.
+     */
+    private boolean place(int cell, int number) {
+        if (placed[cell] != 0) {
+            return placed[cell] == number;
+        }
+        int bit = DigitMask.bit(number);
+        if ((candidates[cell] & bit) == 0) {
+            return false;
+        }
+        save(cell);
+        candidates[cell] = (short) bit;
+        placed[cell] = (byte) number;
+        queue[tail++] = cell;
+        return true;
+    }
+
+    /**
+     * Remove placed numbers from their peers, placing naked singles as they
+     * appear, then look for hidden singles; repeat until nothing changes.
+     *
+     * @return false if a dead end was reached.
+     */
+    private boolean propagate() {
+        do {
+            while (head < tail) {
+                int cell = queue[head++];
+                int bit = DigitMask.bit(placed[cell]);
+                for (int peer : Units.PEERS[cell]) {
+                    int mask = candidates[peer];
+                    if ((mask & bit) != 0) {
+                        if (placed[peer] != 0) {
+                            return false;
+                        }
+                        mask &= ~bit;
+                        if (mask == 0) {
+                            return false;
+                        }
+                        save(peer);
+                        candidates[peer] = (short) mask;
+                        int single = DigitMask.single(mask);
+                        if (single != 0 && !place(peer, single)) {
+                            return false;
+                        }
+                    }
+                }
+            }
+
+            if (!hiddenSingles()) {
+                return false;
+            }
+        } while (head < tail);
+
+        return true;
+    }
+
+    /**
+     * Place every hidden single in the grid.
+     *
+     * @return false if some unit has a number with no place left to go.
+     */
+    private boolean hiddenSingles() {
+        for (int[] unit : Units.UNITS) {
+            int once = 0;
+            int twice = 0;
+            for (int cell : unit) {
+                int mask = candidates[cell];
+                twice |= once & mask;
+                once |= mask;
+            }
+            if (once != DigitMask.ALL) {
+                return false;
+            }
+
+            int hidden = once & ~twice;
+            while (hidden != 0) {
+                int bit = hidden & -hidden;
+                hidden ^= bit;
+                for (int cell : unit) {
+                    if ((candidates[cell] & bit) != 0) {
+                        if (placed[cell] == 0
+                                && !place(cell, Integer.numberOfTrailingZeros(bit))) {
+                            return false;
+                        }
+                        break;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Push a cell's current state onto the trail.
+     *
+     * @param cell Cell index.
+     */
+    private void save(int cell) {
+        trail[trailTop++] = cell | (candidates[cell] << 7) | (placed[cell] << 17);
+    }
+
+    /**
+     * Undo changes back to an earlier trail position.
+     *
+     * @param mark Trail position to rewind to.
+     */
+    private void rewind(int mark) {
+        while (trailTop > mark) {
+            int entry = trail[--trailTop];
+            int cell = entry & 0x7F;
+            candidates[cell] = (short) ((entry >>> 7) & 0x3FF);
+            placed[cell] = (byte) (entry >>> 17);
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package edu.doane.sudoku.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Generates SuDoKu games locally, without the cloud feed. Each game starts
+ * as a full grid, made by filling the three diagonal blocks with random
+ * permutations (they don't constrain each other) and solving the rest.
+ * Clues are then removed one at a time, in random order, keeping each
+ * removal only if the puzzle still has exactly one solution.
+ * <p>
+ * Batches are split across all cores with fork / join. Each worker thread
+ * has its own solver, and each task its own split of the random number
+ * generator, so a batch made from a given seed is always the same.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/16/2026
+ */
+public class PuzzleGenerator {
+
+    /**
+     * Largest number of games generated by one fork / join task without
+     * splitting further.
+     */
+    private static final int LEAF_SIZE = 8;
+
+    /**
+     * Solver for each thread using this generator.
+     */
+    private final ThreadLocal<Solver> solvers;
+
+    /**
+     * Create a generator using the default solver engine.
+     */
+    public PuzzleGenerator() {
+        this(SolverEngine.DEFAULT);
+    }
+
+    /**
+     * Create a generator using the specified solver engine.
+     *
+     * @param engine Solver engine to build and check puzzles with.
+     */
+    public PuzzleGenerator(SolverEngine engine) {
+        solvers = ThreadLocal.withInitial(engine::create);
+    }
+
+    /**
+     * Generate a batch of games in parallel, using a random seed.
+     *
+     * @param count   Number of games to generate.
+     * @param firstId ID of the first game; the rest are numbered
+     *                consecutively.
+     * @return List of count new games, in ID order.
+     */
+    public List<Game> generate(int count, int firstId) {
+        return generate(count, firstId, new SplittableRandom().nextLong());
+    }
+
+    /**
+     * Generate a batch of games in parallel, from a specific seed.
+     *
+     * @param count   Number of games to generate.
+     * @param firstId ID of the first game; the rest are numbered
+     *                consecutively.
+     * @param seed    Random number seed.
+     * @return List of count new games, in ID order.
+     */
+    public List<Game> generate(int count, int firstId, long seed) {
+        return ForkJoinPool.commonPool().invoke(
+                new GenerateTask(firstId, count, new SplittableRandom(seed)));
+    }
+
+    /**
+     * Generate one game on the calling thread.
+     *
+     * @param id     ID of the new game.
+     * @param random Random number generator to use.
+     * @return New game, with a unique solution.
+     */
+    public Game generate(int id, SplittableRandom random) {
+        Solver solver = solvers.get();
+
+        byte[] solution = new byte[81];
+        byte[] puzzle = new byte[81];
+        // three independent diagonal blocks can always be completed
+        solver.solve(seedGrid(random, puzzle), solution, 1);
+
+        // remove clues in random order, as long as the solution stays unique
+        System.arraycopy(solution, 0, puzzle, 0, 81);
+        byte[] scratch = new byte[81];
+        int[] order = shuffledCells(random);
+        for (int cell : order) {
+            byte number = puzzle[cell];
+            puzzle[cell] = 0;
+            if (solver.solve(puzzle, scratch, 2) != 1) {
+                puzzle[cell] = number;
+            }
+        }
+
+        // the game is likely to be rated or validated soon
+        SolutionCache.getShared().putUnique(puzzle, solution);
+
+        return new Game(id, new GameGrid(Solver.toGameData(puzzle)),
+                new GameGrid(Solver.toGameData(solution)));
+    }
+
+    /**
+     * Fill the three blocks on the main diagonal with random permutations
+     * of [1, 9], leaving every other cell empty.
+     *
+     * @param random Random number generator to use.
+     * @param grid   81-element array to fill.
+     * @return The grid array.
+     */
+    private static byte[] seedGrid(SplittableRandom random, byte[] grid) {
+        java.util.Arrays.fill(grid, (byte) 0);
+        byte[] digits = new byte[9];
+        for (int block = 0; block < 3; block++) {
+            for (int i = 0; i < 9; i++) {
+                digits[i] = (byte) (i + 1);
+            }
+            for (int i = 8; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                byte t = digits[i];
+                digits[i] = digits[j];
+                digits[j] = t;
+            }
+            // block 0, 4, and 8 are the diagonal blocks in Units order
+            int[] cells = Units.UNITS[18 + block * 4];
+            for (int i = 0; i < 9; i++) {
+                grid[cells[i]] = digits[i];
+            }
+        }
+        return grid;
+    }
+
+    /**
+     * Get the cell indices [0, 80] in random order.
+     *
+     * @param random Random number generator to use.
+     * @return Shuffled cell indices.
+     */
+    private static int[] shuffledCells(SplittableRandom random) {
+        int[] cells = new int[81];
+        for (int i = 0; i < 81; i++) {
+            cells[i] = i;
+        }
+        for (int i = 80; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int t = cells[i];
+            cells[i] = cells[j];
+            cells[j] = t;
+        }
+        return cells;
+    }
+
+    /**
+     * Fork / join task generating a consecutive range of games.
+     */
+    private final class GenerateTask extends RecursiveTask<List<Game>> {
+
+        /**
+         * Serialization version; RecursiveTask is Serializable.
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * ID of the first game in the range.
+         */
+        private final int firstId;
+
+        /**
+         * Number of games in the range.
+         */
+        private final int count;
+
+        /**
+         * Random number generator for this range.
+         */
+        private final SplittableRandom random;
+
+        /**
+         * Create a task for a range of games.
+         *
+         * @param firstId ID of the first game in the range.
+         * @param count   Number of games in the range.
+         * @param random  Random number generator for this range.
+         */
+        GenerateTask(int firstId, int count, SplittableRandom random) {
+            this.firstId = firstId;
+            this.count = count;
+            this.random = random;
+        }
+
+        @Override
+        protected List<Game> compute() {
+            if (count <= LEAF_SIZE) {
+                List<Game> games = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    games.add(generate(firstId + i, random));
+                }
+                return games;
+            }
+
+            int half = count / 2;
+            GenerateTask low = new GenerateTask(firstId, half, random.split());
+            GenerateTask high = new GenerateTask(firstId + half, count - half, random.split());
+            low.fork();
+            List<Game> games = high.compute();
+            List<Game> result = low.join();
+            result.addAll(games);
+            return result;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package edu.doane.sudoku.model;
+
+import java.util.stream.IntStream;
+
+/**
+ * Checks that a puzzle is well formed: it has exactly one solution, and
+ * that solution matches the one supplied with it. The solution search stops
+ * as soon as a second solution turns up, so puzzles with many solutions are
+ * rejected as quickly as unique ones are accepted. Batches are first
+ * screened all at once by a BatchKernel, so puzzles that repeat a given or
+ * leave a cell with no candidate are rejected without a search; the rest
+ * are checked in parallel, with one solver per worker thread.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/16/2026
+ */
+public class PuzzleValidator {
+
+    /**
+     * Outcome of validating one puzzle.
+     */
+    public enum Verdict {
+        /**
+         * The puzzle has exactly one solution, and it is the supplied one.
+         */
+        VALID,
+        /**
+         * The puzzle or solution string is not 81 digits in [0, 9].
+         */
+        MALFORMED,
+        /**
+         * The puzzle has no solution.
+         */
+        NO_SOLUTION,
+        /**
+         * The puzzle has more than one solution.
+         */
+        MULTIPLE_SOLUTIONS,
+        /**
+         * The puzzle has one solution, but not the supplied one.
+         */
+        WRONG_SOLUTION
+    }
+
+    /**
+     * Solver for each thread using this validator.
+     */
+    private final ThreadLocal<Solver> solvers;
+
+    /**
+     * Kernel used to screen batches.
+     */
+    private final BatchKernel kernel = BatchKernel.create();
+
+    /**
+     * Create a validator using the default solver engine.
+     */
+    public PuzzleValidator() {
+        this(SolverEngine.DEFAULT);
+    }
+
+    /**
+     * Create a validator using the specified solver engine.
+     *
+     * @param engine Solver engine to check puzzles with.
+     */
+    public PuzzleValidator(final SolverEngine engine) {
+        solvers = ThreadLocal.withInitial(engine::createCached);
+    }
+
+    /**
+     * Validate one puzzle against its supplied solution.
+     *
+     * @param gameData       81-character puzzle game data.
+     * @param solvedGameData 81-character solution game data.
+     * @return Verdict for the puzzle.
+     */
+    public Verdict validate(String gameData, String solvedGameData) {
+        byte[] puzzle;
+        byte[] expected;
+        try {
+            puzzle = Solver.toNumbers(gameData);
+            expected = Solver.toNumbers(solvedGameData);
+        } catch (IllegalArgumentException ex) {
+            return Verdict.MALFORMED;
+        }
+
+        byte[] solution = new byte[81];
+        switch (solvers.get().solve(puzzle, solution, 2)) {
+            case 0:
+                return Verdict.NO_SOLUTION;
+            case 1:
+                return java.util.Arrays.equals(solution, expected)
+                        ? Verdict.VALID : Verdict.WRONG_SOLUTION;
+            default:
+                return Verdict.MULTIPLE_SOLUTIONS;
+        }
+    }
+
+    /**
+     * Validate a batch of puzzles in parallel.
+     *
+     * @param gameData       Puzzle game data strings.
+     * @param solvedGameData Solution game data strings, parallel to
+     *                       gameData.
+     * @return Verdicts, parallel to gameData.
+     * @throws IllegalArgumentException if the two arrays are not the same
+     *                                  length.
+     */
+    public Verdict[] validateAll(final String[] gameData, final String[] solvedGameData)
+            throws IllegalArgumentException {
+        if (gameData.length != solvedGameData.length) {
+            throw new IllegalArgumentException("Illegal parameters to "
+                    + "PuzzleValidator.validateAll(): " + gameData.length
+                    + " puzzles, " + solvedGameData.length + " solutions");
+        }
+
+        final Verdict[] verdicts = new Verdict[gameData.length];
+        if (gameData.length == 0) {
+            return verdicts;
+        }
+
+        CandidateBatch batch = new CandidateBatch(gameData.length);
+        for (int i = 0; i < gameData.length; i++) {
+            try {
+                batch.set(i, gameData[i]);
+            } catch (IllegalArgumentException ex) {
+                // validate() reports it
+            }
+        }
+        kernel.compute(batch);
+        for (int i = 0; i < gameData.length; i++) {
+            if (batch.isDeadEnd(i) && isWellFormed(solvedGameData[i])) {
+                verdicts[i] = Verdict.NO_SOLUTION;
+            }
+        }
+
+        IntStream.range(0, gameData.length).parallel().forEach(i -> {
+            if (verdicts[i] == null) {
+                verdicts[i] = validate(gameData[i], solvedGameData[i]);
+            }
+        });
+        return verdicts;
+    }
+
+    /**
+     * Is a string well-formed game data?
+     *
+     * @param gameData String to check.
+     * @return true if it is 81 digits in [0, 9].
+     */
+    private static boolean isWellFormed(String gameData) {
+        try {
+            Solver.toNumbers(gameData);
+            return true;
+        } catch (IllegalArgumentException ex) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package edu.doane.sudoku.model;
+
+/**
+ * BatchKernel working on one grid at a time with plain int arithmetic. It
+ * is the fallback when the vector module is missing, and the reference the
+ * vector kernel must agree with.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/16/2026
+ */
+final class ScalarBatchKernel implements BatchKernel {
+
+    @Override
+    public void compute(CandidateBatch batch) {
+        int stride = batch.stride;
+        int[] cells = batch.cells;
+        int[] unitMasks = batch.unitMasks;
+        int[] candidates = batch.candidates;
+
+        for (int g = 0; g < stride; g++) {
+            int repeats = 0;
+            for (int u = 0; u < Units.COUNT; u++) {
+                int seen = 0;
+                for (int cell : Units.UNITS[u]) {
+                    int bit = cells[cell * stride + g];
+                    repeats |= seen & bit;
+                    seen |= bit;
+                }
+                unitMasks[u * stride + g] = seen;
+            }
+
+            int dead = 0;
+            int singles = 0;
+            for (int cell = 0; cell < Units.CELLS; cell++) {
+                int k = cell * stride + g;
+                int mask = 0;
+                if (cells[k] == 0) {
+                    int[] units = Units.UNITS_OF[cell];
+                    mask = DigitMask.ALL & ~(unitMasks[units[0] * stride + g]
+                            | unitMasks[units[1] * stride + g]
+                            | unitMasks[units[2] * stride + g]);
+                    if (mask == 0) {
+                        dead++;
+                    } else if ((mask & (mask - 1)) == 0) {
+                        singles++;
+                    }
+                }
+                candidates[k] = mask;
+            }
+
+            batch.repeats[g] = repeats;
+            batch.deadCells[g] = dead;
+            batch.singles[g] = singles;
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "scalar";
+    }
+}
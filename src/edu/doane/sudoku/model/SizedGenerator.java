@@ -0,0 +1,181 @@
+package edu.doane.sudoku.model;
+
+import java.util.SplittableRandom;
+
+/**
+ * Generates puzzles of any size. A full grid is made from the standard
+ * pattern grid, row r holding the numbers shifted by box * (r % box) + r /
+ * box, with its numbers relabeled and its rows, columns, bands, and stacks
+ * shuffled at random; every such grid is valid, so no search is needed.
+ * (Completing random diagonal boxes by search, as PuzzleGenerator does for
+ * 9x9, often takes minutes at 25x25.) Clues are then removed in random
+ * order, keeping each removal only if the puzzle provably still has
+ * exactly one solution.
+ * <p>
+ * Each uniqueness check is given a budget of search nodes. A check that
+ * runs out keeps its clue, so every puzzle is still unique, and time isn't
+ * spent proving the last few removals from a sparse 25x25 grid; those
+ * puzzles end up with a few more clues than a minimal one would have.
+ * <p>
+ * Each generator has its own SizedSolver, so an instance must only be used
+ * by one thread at a time.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/16/2026
+ */
+public final class SizedGenerator {
+
+    /**
+     * Geometry of the puzzles generated.
+     */
+    private final GridGeometry geometry;
+
+    /**
+     * Solver used to complete and check grids.
+     */
+    private final SizedSolver solver;
+
+    /**
+     * Default budget of search nodes for each uniqueness check.
+     */
+    public static final long DEFAULT_NODE_LIMIT = 200;
+
+    /**
+     * Scratch solution array for uniqueness checks.
+     */
+    private final byte[] scratch;
+
+    /**
+     * Create a generator for one size of grid.
+     *
+     * @param geometry Geometry of the puzzles to generate.
+     */
+    public SizedGenerator(GridGeometry geometry) {
+        this(geometry, DEFAULT_NODE_LIMIT);
+    }
+
+    /**
+     * Create a generator for one size of grid, with a budget for each
+     * uniqueness check. Larger budgets give puzzles with fewer clues, more
+     * slowly.
+     *
+     * @param geometry  Geometry of the puzzles to generate.
+     * @param nodeLimit Search nodes allowed for each uniqueness check.
+     * @throws IllegalArgumentException if nodeLimit is less than 1.
+     */
+    public SizedGenerator(GridGeometry geometry, long nodeLimit) throws IllegalArgumentException {
+        this.geometry = geometry;
+        solver = new SizedSolver(geometry);
+        solver.setNodeLimit(nodeLimit);
+        scratch = new byte[geometry.cells];
+    }
+
+    /**
+     * Generate one puzzle.
+     *
+     * @param random   Random number generator to use.
+     * @param puzzle   Array of one element per cell that receives the
+     *                 puzzle.
+     * @param solution Array of one element per cell that receives the
+     *                 puzzle's unique solution.
+     * @throws IllegalArgumentException if either array is the wrong length.
+     */
+    public void generate(SplittableRandom random, byte[] puzzle, byte[] solution)
+            throws IllegalArgumentException {
+        int cells = geometry.cells;
+        if (puzzle.length != cells || solution.length != cells) {
+            throw new IllegalArgumentException("Illegal parameters to "
+                    + "SizedGenerator.generate(): (" + puzzle.length + ", "
+                    + solution.length + ")");
+        }
+
+        fillGrid(random, solution);
+
+        // remove clues in random order, as long as the solution stays
+        // unique: no solution may have another number in the emptied cell
+        System.arraycopy(solution, 0, puzzle, 0, cells);
+        for (int cell : shuffle(random, cells)) {
+            byte number = puzzle[cell];
+            puzzle[cell] = 0;
+            if (solver.solveExcluding(puzzle, scratch, 1, cell, number) != 0
+                    || solver.isCutOff()) {
+                puzzle[cell] = number;
+            }
+        }
+    }
+
+    /**
+     * Generate one puzzle, as a grid whose numbers are all givens.
+     *
+     * @param random Random number generator to use.
+     * @return New puzzle, with a unique solution.
+     */
+    public SizedGrid generate(SplittableRandom random) {
+        byte[] puzzle = new byte[geometry.cells];
+        generate(random, puzzle, new byte[geometry.cells]);
+        return new SizedGrid(geometry, geometry.toGameData(puzzle));
+    }
+
+    /**
+     * Fill a grid with a random shuffle of the pattern grid.
+     *
+     * @param random Random number generator to use.
+     * @param grid   Array to fill.
+     */
+    private void fillGrid(SplittableRandom random, byte[] grid) {
+        int box = geometry.box;
+        int side = geometry.side;
+        int[] labels = shuffle(random, side);
+        int[] rows = shuffleLines(random);
+        int[] cols = shuffleLines(random);
+        for (int r = 0; r < side; r++) {
+            int pr = rows[r];
+            int shift = box * (pr % box) + pr / box;
+            for (int c = 0; c < side; c++) {
+                grid[r * side + c] = (byte) (labels[(shift + cols[c]) % side] + 1);
+            }
+        }
+    }
+
+    /**
+     * Make a random order of the rows (or columns) of the grid that keeps
+     * each band (or stack) together: the bands are shuffled, and so are the
+     * lines within each band.
+     *
+     * @param random Random number generator to use.
+     * @return Line indices, in the new order.
+     */
+    private int[] shuffleLines(SplittableRandom random) {
+        int box = geometry.box;
+        int[] bands = shuffle(random, box);
+        int[] lines = new int[geometry.side];
+        for (int b = 0; b < box; b++) {
+            int[] within = shuffle(random, box);
+            for (int i = 0; i < box; i++) {
+                lines[b * box + i] = bands[b] * box + within[i];
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * Get the integers [0, n - 1] in random order.
+     *
+     * @param random Random number generator to use.
+     * @param n      Number of integers.
+     * @return Shuffled integers.
+     */
+    private static int[] shuffle(SplittableRandom random, int n) {
+        int[] values = new int[n];
+        for (int i = 0; i < n; i++) {
+            values[i] = i;
+        }
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int t = values[i];
+            values[i] = values[j];
+            values[j] = t;
+        }
+        return values;
+    }
+}
@@ -0,0 +1,487 @@
+package edu.doane.sudoku.model;
+
+/**
+ * A grid of any size, for building and checking puzzles larger than 9x9.
+ * Its layout follows GameGrid: one byte per number, a bit set of givens,
+ * and a mask of the numbers present in each row, column, and box, with
+ * counts of filled cells and of conflicts kept up to date as numbers are set
+ * and unset. The masks are longs, so candidate and constraint queries are
+ * single mask operations at every size up to 49x49.
+ * <p>
+ * The 9x9 game is played on a GameGrid, which adds notes, a journal,
+ * snapshots, and a hash, all laid out for 81 cells.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/16/2026
+ */
+public class SizedGrid {
+
+    /**
+     * Geometry of this grid.
+     */
+    protected final GridGeometry geometry;
+
+    /**
+     * Number in each cell, in [0, side]. 0 means empty.
+     */
+    protected final byte[] numbers;
+
+    /**
+     * Bit set of the cells holding givens; bit i of word i / 64 is set if
+     * cell i is a given.
+     */
+    protected final long[] givens;
+
+    /**
+     * Numbers present in each row, column, and box, indexed by unit number.
+     */
+    protected final long[] unitMasks;
+
+    /**
+     * How many extra times each number appears in each unit, beyond the
+     * first; the count for number n in unit u is at index u * (side + 1) + n.
+     */
+    protected final byte[] unitRepeats;
+
+    /**
+     * Number of cells holding a number.
+     */
+    protected int filled;
+
+    /**
+     * Number of conflicts: for each unit, and each number appearing in the
+     * unit, one less than the number of times it appears.
+     */
+    protected int conflicts;
+
+    /**
+     * Construct a new grid, with all cells empty.
+     *
+     * @param geometry Geometry of the grid.
+     */
+    public SizedGrid(GridGeometry geometry) {
+        this.geometry = geometry;
+        numbers = new byte[geometry.cells];
+        givens = new long[(geometry.cells + 63) >> 6];
+        unitMasks = new long[geometry.units];
+        unitRepeats = new byte[geometry.units * (geometry.side + 1)];
+    }
+
+    /**
+     * Construct a new grid, initialized as per the string parameter.
+     *
+     * @param geometry Geometry of the grid.
+     * @param gameData Game data, in the format read by
+     *                 GridGeometry.toNumbers(). Every number is a given.
+     * @throws IllegalArgumentException If the string is not of the correct
+     *                                  length, or if it contains illegal
+     *                                  characters.
+     */
+    public SizedGrid(GridGeometry geometry, String gameData) throws IllegalArgumentException {
+        this(geometry);
+        setGameData(gameData);
+    }
+
+    /**
+     * Make this grid an exact copy of another grid of the same size.
+     *
+     * @param other Grid to copy from.
+     * @throws IllegalArgumentException if the grids are different sizes.
+     */
+    public void copyFrom(SizedGrid other) throws IllegalArgumentException {
+        if (other.geometry != geometry) {
+            throw new IllegalArgumentException("Illegal parameter to "
+                    + "SizedGrid.copyFrom(): " + other.geometry + " grid into "
+                    + geometry + " grid");
+        }
+        System.arraycopy(other.numbers, 0, numbers, 0, numbers.length);
+        System.arraycopy(other.givens, 0, givens, 0, givens.length);
+        System.arraycopy(other.unitMasks, 0, unitMasks, 0, unitMasks.length);
+        if (other.conflicts != 0 || conflicts != 0) {
+            System.arraycopy(other.unitRepeats, 0, unitRepeats, 0, unitRepeats.length);
+        }
+        filled = other.filled;
+        conflicts = other.conflicts;
+    }
+
+    /**
+     * Make a new grid that is a copy of this one.
+     *
+     * @return The copy.
+     */
+    public SizedGrid copy() {
+        SizedGrid grid = new SizedGrid(geometry);
+        grid.copyFrom(this);
+        return grid;
+    }
+
+    /**
+     * Get the geometry of this grid.
+     *
+     * @return The geometry.
+     */
+    public GridGeometry getGeometry() {
+        return geometry;
+    }
+
+    /**
+     * Place a number into the cell at the specified location. If the number
+     * in the cell is a given, do nothing.
+     *
+     * @param row    Row of the cell to set, in [0, side - 1].
+     * @param col    Column of the cell to set, in [0, side - 1].
+     * @param number Number to set, in [1, side].
+     * @return true if the number in the specified cell was changed, false
+     * otherwise.
+     * @throws IllegalArgumentException if row, col, or number is out of
+     *                                  range.
+     */
+    public boolean setNumber(int row, int col, int number) throws IllegalArgumentException {
+        int side = geometry.side;
+        if (row < 0 || row >= side || col < 0 || col >= side || number < 1 || number > side) {
+            throw new IllegalArgumentException("Illegal parameters to "
+                    + "SizedGrid.setNumber(): (" + row + ", " + col
+                    + ", " + number + ")");
+        }
+
+        int cell = row * side + col;
+        if (isGivenCell(cell)) {
+            return false;
+        }
+        write(cell, number);
+        return true;
+    }
+
+    /**
+     * Get the number stored in the specified location.
+     *
+     * @param row Row of the cell to get, in [0, side - 1].
+     * @param col Column of the cell to get, in [0, side - 1].
+     * @return an integer in [0, side]. 0 means the cell is empty.
+     * @throws IllegalArgumentException if row or col is out of range.
+     */
+    public int getNumber(int row, int col) throws IllegalArgumentException {
+        return numbers[cellOf(row, col, "getNumber")];
+    }
+
+    /**
+     * Unset the number at the specified location. If the number in that cell
+     * is a given, do nothing.
+     *
+     * @param row Row of the cell to unset, in [0, side - 1].
+     * @param col Column of the cell to unset, in [0, side - 1].
+     * @return true if the number was unset, false otherwise.
+     * @throws IllegalArgumentException if row or col is out of range.
+     */
+    public boolean unsetNumber(int row, int col) throws IllegalArgumentException {
+        int cell = cellOf(row, col, "unsetNumber");
+        if (isGivenCell(cell) || numbers[cell] == 0) {
+            return false;
+        }
+        write(cell, 0);
+        return true;
+    }
+
+    /**
+     * Is the cell at the specified location a given?
+     *
+     * @param row Row of the cell to test, in [0, side - 1].
+     * @param col Column of the cell to test, in [0, side - 1].
+     * @return true if the cell is a given, false otherwise.
+     * @throws IllegalArgumentException if row or col is out of range.
+     */
+    public boolean isGiven(int row, int col) throws IllegalArgumentException {
+        return isGivenCell(cellOf(row, col, "isGiven"));
+    }
+
+    /**
+     * Get the numbers that could go in a cell: those not already in its row,
+     * column, or box.
+     *
+     * @param row Row of the cell, in [0, side - 1].
+     * @param col Column of the cell, in [0, side - 1].
+     * @return Mask of the candidates, number k in bit k; 0 if the cell
+     * already holds a number.
+     * @throws IllegalArgumentException if row or col is out of range.
+     */
+    public long getCandidates(int row, int col) throws IllegalArgumentException {
+        int cell = cellOf(row, col, "getCandidates");
+        return (numbers[cell] != 0) ? 0 : geometry.all & ~usedMask(cell);
+    }
+
+    /**
+     * Determine if the specified number could be set in the specified
+     * location, because the cell is empty and the number isn't in the cell's
+     * row, column, or box.
+     *
+     * @param row    Row of the cell to test, in [0, side - 1].
+     * @param col    Column of the cell to test, in [0, side - 1].
+     * @param number Number to test, in [1, side].
+     * @return true if the number can be set in the specified location.
+     * @throws IllegalArgumentException if row, col, or number is out of
+     *                                  range.
+     */
+    public boolean canSetNumber(int row, int col, int number) throws IllegalArgumentException {
+        if (number < 1 || number > geometry.side) {
+            throw new IllegalArgumentException("Illegal parameters to "
+                    + "SizedGrid.canSetNumber(): (" + row + ", " + col
+                    + ", " + number + ")");
+        }
+        return (getCandidates(row, col) & (1L << number)) != 0;
+    }
+
+    /**
+     * If an empty cell has only one candidate, return it.
+     *
+     * @param row Row of the cell to deduce.
+     * @param col Column of the cell to deduce.
+     * @return The number the cell must hold, or 0 if it can't be deduced
+     * from the cell's units, or the cell is already set.
+     * @throws IllegalArgumentException if row or col is out of range.
+     */
+    public int deduceNumber(int row, int col) throws IllegalArgumentException {
+        long mask = getCandidates(row, col);
+        return (mask != 0 && (mask & (mask - 1)) == 0) ? Long.numberOfTrailingZeros(mask) : 0;
+    }
+
+    /**
+     * Is this grid locked (i.e., has an empty cell with no number that can
+     * go in it)?
+     *
+     * @return true if the grid is locked, false otherwise.
+     */
+    public boolean isLocked() {
+        for (int cell = 0; cell < geometry.cells; cell++) {
+            if (numbers[cell] == 0 && (usedMask(cell) & geometry.all) == geometry.all) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Is this grid complete (i.e., all filled in)?
+     *
+     * @return true if the grid is complete, false otherwise.
+     */
+    public boolean isComplete() {
+        return filled == geometry.cells;
+    }
+
+    /**
+     * Get the number of cells holding a number, givens included.
+     *
+     * @return Number of filled cells.
+     */
+    public int getFilledCount() {
+        return filled;
+    }
+
+    /**
+     * Get the number of conflicts, as described in GameGrid.
+     *
+     * @return Number of conflicts; 0 if no number is repeated in any unit.
+     */
+    public int getConflictCount() {
+        return conflicts;
+    }
+
+    /**
+     * Make sure this is a valid, filled in grid.
+     *
+     * @return true if it's a valid, completely filled grid; false otherwise.
+     */
+    public boolean validate() {
+        return filled == geometry.cells && conflicts == 0;
+    }
+
+    /**
+     * Remove all non-given numbers from this grid.
+     */
+    public void clearGrid() {
+        for (int cell = 0; cell < geometry.cells; cell++) {
+            if (!isGivenCell(cell)) {
+                numbers[cell] = 0;
+            }
+        }
+        recount();
+    }
+
+    /**
+     * Get the game data for this grid, in the format read by
+     * GridGeometry.toNumbers().
+     *
+     * @return String with one character per cell.
+     */
+    public String getGameData() {
+        return geometry.toGameData(numbers);
+    }
+
+    /**
+     * Set the game data for this grid. Any existing numbers are unset, and
+     * every number in the data becomes a given.
+     *
+     * @param data Game data, in the format read by GridGeometry.toNumbers().
+     * @throws IllegalArgumentException If the string is not of the correct
+     *                                  length, or if it contains illegal
+     *                                  characters. The grid is unchanged.
+     */
+    public void setGameData(String data) throws IllegalArgumentException {
+        byte[] loaded = geometry.toNumbers(data);
+        System.arraycopy(loaded, 0, numbers, 0, numbers.length);
+        java.util.Arrays.fill(givens, 0L);
+        for (int cell = 0; cell < geometry.cells; cell++) {
+            if (numbers[cell] != 0) {
+                givens[cell >> 6] |= 1L << cell;
+            }
+        }
+        recount();
+    }
+
+    /**
+     * Get a string representation of this grid.
+     *
+     * @return String representation of this grid.
+     */
+    @Override
+    public String toString() {
+        String data = getGameData();
+        int side = geometry.side;
+        int box = geometry.box;
+        StringBuilder buf = new StringBuilder();
+        for (int i = 0; i < side; i++) {
+            if (i > 0 && i % box == 0) {
+                for (int j = 0; j < 2 * side + 2 * (box - 1); j++) {
+                    buf.append('-');
+                }
+                buf.append('\n');
+            }
+            for (int j = 0; j < side; j++) {
+                if (j > 0 && j % box == 0) {
+                    buf.append("| ");
+                }
+                char c = data.charAt(i * side + j);
+                buf.append(c == '0' ? '.' : c).append(' ');
+            }
+            buf.append('\n');
+        }
+        return buf.toString();
+    }
+
+    /**
+     * Is the cell at the specified index a given?
+     *
+     * @param cell Index of the cell, row * side + col.
+     * @return true if the cell is a given, false otherwise.
+     */
+    protected boolean isGivenCell(int cell) {
+        return (givens[cell >> 6] & (1L << cell)) != 0;
+    }
+
+    /**
+     * Get the numbers used in the row, column, and box of the specified cell,
+     * as a mask. The number in the cell itself is included.
+     *
+     * @param cell Index of the cell, row * side + col.
+     * @return Mask of the numbers seen by the cell.
+     */
+    protected long usedMask(int cell) {
+        int[] units = geometry.unitsOf[cell];
+        return unitMasks[units[0]] | unitMasks[units[1]] | unitMasks[units[2]];
+    }
+
+    /**
+     * Check a location and convert it to a cell index.
+     *
+     * @param row    Row of the cell, in [0, side - 1].
+     * @param col    Column of the cell, in [0, side - 1].
+     * @param method Name of the calling method, for the exception message.
+     * @return Index of the cell.
+     * @throws IllegalArgumentException if row or col is out of range.
+     */
+    private int cellOf(int row, int col, String method) throws IllegalArgumentException {
+        int side = geometry.side;
+        if (row < 0 || row >= side || col < 0 || col >= side) {
+            throw new IllegalArgumentException("Bad coordinates to "
+                    + "SizedGrid." + method + "(): (" + row + ", " + col + ")");
+        }
+        return row * side + col;
+    }
+
+    /**
+     * Replace the number in a cell, keeping the unit masks, repeat counts,
+     * and filled count up to date.
+     *
+     * @param cell      Index of the cell.
+     * @param newNumber Number to put in the cell, in [0, side].
+     */
+    private void write(int cell, int newNumber) {
+        int oldNumber = numbers[cell];
+        if (oldNumber != 0) {
+            vacate(cell, oldNumber);
+            filled--;
+        }
+        numbers[cell] = (byte) newNumber;
+        if (newNumber != 0) {
+            occupy(cell);
+            filled++;
+        }
+    }
+
+    /**
+     * Rebuild the unit masks, repeat counts, filled count, and conflict
+     * count from the numbers.
+     */
+    private void recount() {
+        java.util.Arrays.fill(unitMasks, 0L);
+        java.util.Arrays.fill(unitRepeats, (byte) 0);
+        filled = 0;
+        conflicts = 0;
+        for (int cell = 0; cell < geometry.cells; cell++) {
+            if (numbers[cell] != 0) {
+                occupy(cell);
+                filled++;
+            }
+        }
+    }
+
+    /**
+     * Record the number in a cell in the masks and repeat counts of the
+     * cell's units.
+     *
+     * @param cell Index of the cell.
+     */
+    private void occupy(int cell) {
+        int number = numbers[cell];
+        long bit = 1L << number;
+        for (int u : geometry.unitsOf[cell]) {
+            long mask = unitMasks[u];
+            if ((mask & bit) == 0) {
+                unitMasks[u] = mask | bit;
+            } else {
+                unitRepeats[u * (geometry.side + 1) + number]++;
+                conflicts++;
+            }
+        }
+    }
+
+    /**
+     * Remove a number taken out of a cell from the masks and repeat counts
+     * of the cell's units.
+     *
+     * @param cell   Index of the cell.
+     * @param number Number removed, in [1, side].
+     */
+    private void vacate(int cell, int number) {
+        long bit = 1L << number;
+        for (int u : geometry.unitsOf[cell]) {
+            int k = u * (geometry.side + 1) + number;
+            if (unitRepeats[k] == 0) {
+                unitMasks[u] &= ~bit;
+            } else {
+                unitRepeats[k]--;
+                conflicts--;
+            }
+        }
+    }
+}
@@ -0,0 +1,613 @@
+package edu.doane.sudoku.model;
+
+/**
+ * Propagation solver for grids of any size. It works like
+ * PropagationSolver: placing a number removes it from the cell's peers
+ * through a work queue, naked and hidden singles are placed as they
+ * appear, and when nothing more can be deduced the search branches on the
+ * open cell with the fewest candidates, rewinding a trail to back out. If
+ * some number has fewer places left in a row, column, or box than that
+ * cell has candidates, the search branches on those places instead, which
+ * keeps the search tree narrow on 16x16 and larger grids. A search for one
+ * solution restarts now and then with a different tie-break, which cuts
+ * off the long runs into dead subtrees that big grids are prone to.
+ * Candidates are long masks, so one word holds a cell's candidates for any
+ * grid up to 49x49; all of the working storage is sized for the geometry
+ * when the solver is made.
+ * <p>
+ * For 9x9 puzzles, PropagationSolver is specialized to the fixed tables and
+ * short masks, and is the one to use. Instances are not thread-safe.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/16/2026
+ */
+public final class SizedSolver {
+
+    /**
+     * Geometry of the grids this solver works on.
+     */
+    private final GridGeometry geometry;
+
+    /**
+     * Candidates for each cell.
+     */
+    private final long[] candidates;
+
+    /**
+     * Number placed in each cell, or 0 if the cell is still open.
+     */
+    private final byte[] placed;
+
+    /**
+     * Trail of changes. Each entry is a cell's previous candidates, and an
+     * int packing the cell index and its previous number.
+     */
+    private final long[] trailMasks;
+    private final int[] trailCells;
+
+    /**
+     * Number of entries on the trail.
+     */
+    private int trailTop;
+
+    /**
+     * Work queue of cells whose numbers have been placed but not yet
+     * removed from their peers.
+     */
+    private final int[] queue;
+
+    /**
+     * Queue head and tail positions.
+     */
+    private int head;
+    private int tail;
+
+    /**
+     * Units with a cell changed since they were last checked for hidden
+     * singles, listed in dirtyUnits and flagged in dirty. Only these can
+     * have a new hidden single, so only these are checked.
+     */
+    private final boolean[] dirty;
+    private final int[] dirtyUnits;
+    private int dirtyCount;
+
+    /**
+     * Number of solutions found by the current solve.
+     */
+    private int found;
+
+    /**
+     * Solution limit for the current solve.
+     */
+    private int limit;
+
+    /**
+     * Largest number of search nodes a solve may visit before giving up.
+     */
+    private long nodeLimit = Long.MAX_VALUE;
+
+    /**
+     * Search nodes visited by the current solve.
+     */
+    private long nodes;
+
+    /**
+     * Node count at which the current run of the search stops, either for
+     * a restart or at the node limit.
+     */
+    private long runLimit;
+
+    /**
+     * Search nodes allowed in the first run of a search for one solution;
+     * each restart doubles the allowance.
+     */
+    private static final long FIRST_RUN = 100;
+
+    /**
+     * Cell at which the search starts looking for the cell with the fewest
+     * candidates. Changing it on a restart breaks ties differently, which
+     * sends the search down a different tree.
+     */
+    private int start;
+
+    /**
+     * State of the generator picking start on a restart.
+     */
+    private long seed = 1L;
+
+    /**
+     * Unit, and number in it, found by findPlaces().
+     */
+    private int placesUnit;
+    private int placesNumber;
+
+    /**
+     * Solution array for the current solve.
+     */
+    private byte[] solution;
+
+    /**
+     * Create a solver for one size of grid.
+     *
+     * @param geometry Geometry of the grids to solve.
+     */
+    public SizedSolver(GridGeometry geometry) {
+        this.geometry = geometry;
+        int cells = geometry.cells;
+        candidates = new long[cells];
+        placed = new byte[cells];
+        // along one search path each cell changes at most side + 1 times
+        trailMasks = new long[cells * (geometry.side + 1)];
+        trailCells = new int[trailMasks.length];
+        queue = new int[cells];
+        dirty = new boolean[geometry.units];
+        // a pass of hiddenSingles() can list every unit again behind the
+        // ones it is checking
+        dirtyUnits = new int[2 * geometry.units];
+    }
+
+    /**
+     * Get the geometry this solver works on.
+     *
+     * @return The geometry.
+     */
+    public GridGeometry getGeometry() {
+        return geometry;
+    }
+
+    /**
+     * Search for solutions to a puzzle.
+     *
+     * @param puzzle   Numbers in [0, side], one per cell; 0 means an empty
+     *                 cell. Not modified.
+     * @param solution Array of one element per cell that receives the first
+     *                 solution found. Left unchanged if there is no solution.
+     * @param limit    Stop searching once this many solutions have been
+     *                 found; at least 1.
+     * @return Number of solutions found, in [0, limit].
+     * @throws IllegalArgumentException if either array is the wrong length,
+     *                                  the puzzle holds a number not in
+     *                                  [0, side], or limit is less than 1.
+     */
+    public int solve(byte[] puzzle, byte[] solution, int limit) throws IllegalArgumentException {
+        return solve(puzzle, solution, limit, 0, 0);
+    }
+
+    /**
+     * Search for solutions to a puzzle in which one empty cell may not hold
+     * a particular number. If the puzzle with the number in that cell has a
+     * known solution, any solution found here is a second one, so the
+     * puzzle is unique exactly when this finds none. That is much cheaper
+     * than searching for two solutions, since the search never has to
+     * find the first one again.
+     *
+     * @param puzzle   Puzzle, as for solve(). Not modified.
+     * @param solution Receives the first solution found, as for solve().
+     * @param limit    Stop searching once this many solutions have been
+     *                 found; at least 1.
+     * @param cell     Index of an empty cell.
+     * @param excluded Number the cell may not hold, in [1, side].
+     * @return Number of solutions found, in [0, limit].
+     * @throws IllegalArgumentException if either array is the wrong length,
+     *                                  the puzzle holds a number not in
+     *                                  [0, side], or limit is less than 1.
+     */
+    public int solveExcluding(byte[] puzzle, byte[] solution, int limit, int cell, int excluded)
+            throws IllegalArgumentException {
+        if (cell < 0 || cell >= geometry.cells || excluded < 1 || excluded > geometry.side) {
+            throw new IllegalArgumentException("Illegal parameters to "
+                    + "SizedSolver.solveExcluding(): (" + cell + ", " + excluded + ")");
+        }
+        return solve(puzzle, solution, limit, cell, excluded);
+    }
+
+    /**
+     * Search for solutions, with a number optionally ruled out of one cell.
+     *
+     * @param puzzle   Puzzle; not modified.
+     * @param solution Receives the first solution found.
+     * @param limit    Stop searching once this many solutions have been
+     *                 found.
+     * @param cell     Index of the cell with a number ruled out.
+     * @param excluded Number ruled out of the cell, or 0 for none.
+     * @return Number of solutions found, in [0, limit].
+     * @throws IllegalArgumentException if the arguments are malformed.
+     */
+    private int solve(byte[] puzzle, byte[] solution, int limit, int cell, int excluded)
+            throws IllegalArgumentException {
+        int cells = geometry.cells;
+        if (puzzle.length != cells || solution.length != cells || limit < 1) {
+            throw new IllegalArgumentException("Illegal parameters to "
+                    + "SizedSolver.solve(): (" + puzzle.length + ", "
+                    + solution.length + ", " + limit + ")");
+        }
+        for (int k = 0; k < cells; k++) {
+            if (puzzle[k] < 0 || puzzle[k] > geometry.side) {
+                throw new IllegalArgumentException("Illegal number in "
+                        + "SizedSolver.solve(): " + puzzle[k]);
+            }
+        }
+
+        this.solution = solution;
+        this.limit = limit;
+        found = 0;
+        nodes = 0;
+        trailTop = 0;
+        java.util.Arrays.fill(candidates, geometry.all);
+        java.util.Arrays.fill(placed, (byte) 0);
+        clearDirty();
+        if (excluded != 0) {
+            touch(cell);
+            candidates[cell] &= ~(1L << excluded);
+        }
+
+        boolean consistent = true;
+        head = 0;
+        tail = 0;
+        for (int k = 0; k < cells && consistent; k++) {
+            if (puzzle[k] != 0) {
+                consistent = place(k, puzzle[k]);
+            }
+        }
+
+        if (consistent && propagate()) {
+            if (limit == 1 && excluded == 0) {
+                searchWithRestarts();
+            } else {
+                start = 0;
+                runLimit = nodeLimit;
+                search();
+            }
+        }
+
+        this.solution = null;
+        return found;
+    }
+
+    /**
+     * Limit the number of search nodes a solve may visit. A solve that
+     * reaches the limit stops, returning the solutions found so far, and
+     * isCutOff() reports it; callers that need a proof, such as a
+     * uniqueness check, must treat that as "don't know."
+     *
+     * @param nodeLimit Largest number of nodes; at least 1.
+     * @throws IllegalArgumentException if nodeLimit is less than 1.
+     */
+    public void setNodeLimit(long nodeLimit) throws IllegalArgumentException {
+        if (nodeLimit < 1) {
+            throw new IllegalArgumentException("Illegal parameter to "
+                    + "SizedSolver.setNodeLimit(): " + nodeLimit);
+        }
+        this.nodeLimit = nodeLimit;
+    }
+
+    /**
+     * Did the last solve stop at the node limit, before finishing its
+     * search?
+     *
+     * @return true if the last solve was cut off.
+     */
+    public boolean isCutOff() {
+        return nodes > nodeLimit;
+    }
+
+    /**
+     * Solve a puzzle given as game data.
+     *
+     * @param gameData Puzzle, in the format read by GridGeometry.toNumbers().
+     * @return Game data holding a solution, or null if the puzzle has no
+     * solution.
+     * @throws IllegalArgumentException if the game data is malformed.
+     */
+    public String solve(String gameData) throws IllegalArgumentException {
+        byte[] solution = new byte[geometry.cells];
+        if (solve(geometry.toNumbers(gameData), solution, 1) == 0) {
+            return null;
+        }
+        return geometry.toGameData(solution);
+    }
+
+    /**
+     * Search for one solution, restarting with a different tie-break each
+     * time a run's node allowance is used up. On big grids, some branching
+     * orders take a search down a hopeless subtree for a very long time,
+     * while another order finds the solution at once; short, doubling runs
+     * keep the total close to that of a lucky order, and never more than
+     * about twice the cost of a single run long enough to finish.
+     */
+    private void searchWithRestarts() {
+        int mark = trailTop;
+        long allowance = FIRST_RUN;
+        start = 0;
+        while (true) {
+            runLimit = (nodeLimit - nodes > allowance) ? nodes + allowance : nodeLimit;
+            search();
+            if (found > 0 || nodes <= runLimit || runLimit == nodeLimit) {
+                // solved, proved unsolvable, or out of nodes
+                return;
+            }
+
+            rewind(mark);
+            allowance *= 2;
+            seed = seed * 6364136223846793005L + 1442695040888963407L;
+            start = (int) ((seed >>> 33) % geometry.cells);
+        }
+    }
+
+    /**
+     * Recursive search: branch on the open cell with the fewest candidates.
+     */
+    private void search() {
+        if (++nodes > runLimit) {
+            return;
+        }
+        int cells = geometry.cells;
+        int best = -1;
+        int bestCount = Integer.MAX_VALUE;
+        for (int k = 0; k < cells && bestCount > 2; k++) {
+            int cell = (start + k < cells) ? start + k : start + k - cells;
+            if (placed[cell] == 0) {
+                int count = Long.bitCount(candidates[cell]);
+                if (count < bestCount) {
+                    bestCount = count;
+                    best = cell;
+                }
+            }
+        }
+
+        if (best < 0) {
+            // every cell is placed
+            if (found == 0) {
+                System.arraycopy(placed, 0, solution, 0, placed.length);
+            }
+            found++;
+            return;
+        }
+
+        int mark = trailTop;
+        if (bestCount > 2 && findPlaces(bestCount)) {
+            // branch on the places left for a number in a unit
+            int[] unit = geometry.unitCells[placesUnit];
+            int number = placesNumber;
+            long bit = 1L << number;
+            for (int i = 0; i < unit.length && found < limit && nodes <= runLimit; i++) {
+                int cell = unit[i];
+                if ((candidates[cell] & bit) == 0) {
+                    continue;
+                }
+                head = 0;
+                tail = 0;
+                clearDirty();
+                if (place(cell, number) && propagate()) {
+                    search();
+                }
+                rewind(mark);
+            }
+            return;
+        }
+
+        long mask = candidates[best];
+        while (mask != 0 && found < limit && nodes <= runLimit) {
+            long bit = mask & -mask;
+            mask ^= bit;
+
+            head = 0;
+            tail = 0;
+            clearDirty();
+            if (place(best, Long.numberOfTrailingZeros(bit)) && propagate()) {
+                search();
+            }
+            rewind(mark);
+        }
+    }
+
+    /**
+     * Look for a number with fewer than limit places left in some unit, and
+     * store the unit and number with the fewest in placesUnit and
+     * placesNumber. In big grids, cells rarely get down to two or three
+     * candidates before the search must branch, but numbers often do get
+     * down to two or three places, and branching on those keeps the search
+     * tree narrow. The places of every number in a unit are counted at once,
+     * in three bit-sliced counters, so counts of 8 or more are not
+     * distinguished; they never beat a cell anyway.
+     *
+     * @param limit Candidates of the best cell found; only a number with
+     *              fewer places is worth branching on.
+     * @return true if such a number was found.
+     */
+    private boolean findPlaces(int limit) {
+        int best = Math.min(limit, 8);
+        int[][] unitCells = geometry.unitCells;
+        for (int u = 0; u < unitCells.length && best > 2; u++) {
+            long ones = 0;
+            long twos = 0;
+            long fours = 0;
+            long eights = 0;
+            for (int cell : unitCells[u]) {
+                long mask = candidates[cell];
+                long carry = ones & mask;
+                ones ^= mask;
+                long carry2 = twos & carry;
+                twos ^= carry;
+                eights |= fours & carry2;
+                fours ^= carry2;
+            }
+
+            // a number with one place is already placed; look for the
+            // smallest count of two or more
+            for (int count = 2; count < best; count++) {
+                long matches = ~eights
+                        & (((count & 1) != 0) ? ones : ~ones)
+                        & (((count & 2) != 0) ? twos : ~twos)
+                        & (((count & 4) != 0) ? fours : ~fours)
+                        & geometry.all;
+                if (matches != 0) {
+                    best = count;
+                    placesUnit = u;
+                    placesNumber = Long.numberOfTrailingZeros(matches);
+                    break;
+                }
+            }
+        }
+        return best < Math.min(limit, 8);
+    }
+
+    /**
+     * Place a number in an open cell and queue it for propagation.
+     *
+     * @param cell   Cell index.
+     * @param number Number to place, in [1, side].
+     * @return false if the number is not a candidate for the cell.
+     */
+    private boolean place(int cell, int number) {
+        if (placed[cell] != 0) {
+            return placed[cell] == number;
+        }
+        long bit = 1L << number;
+        if ((candidates[cell] & bit) == 0) {
+            return false;
+        }
+        save(cell);
+        candidates[cell] = bit;
+        placed[cell] = (byte) number;
+        queue[tail++] = cell;
+        return true;
+    }
+
+    /**
+     * Remove placed numbers from their peers, placing naked singles as they
+     * appear, then look for hidden singles; repeat until nothing changes.
+     *
+     * @return false if a dead end was reached.
+     */
+    private boolean propagate() {
+        int[][] peers = geometry.peers;
+        do {
+            while (head < tail) {
+                int cell = queue[head++];
+                long bit = 1L << placed[cell];
+                for (int peer : peers[cell]) {
+                    long mask = candidates[peer];
+                    if ((mask & bit) != 0) {
+                        if (placed[peer] != 0) {
+                            return false;
+                        }
+                        mask &= ~bit;
+                        if (mask == 0) {
+                            return false;
+                        }
+                        save(peer);
+                        candidates[peer] = mask;
+                        if ((mask & (mask - 1)) == 0
+                                && !place(peer, Long.numberOfTrailingZeros(mask))) {
+                            return false;
+                        }
+                    }
+                }
+            }
+
+            if (!hiddenSingles()) {
+                return false;
+            }
+        } while (head < tail);
+
+        return true;
+    }
+
+    /**
+     * Place every hidden single in the units changed since they were last
+     * checked. Units changed by placing those singles are checked in the
+     * next round of propagation.
+     *
+     * @return false if some unit has a number with no place left to go.
+     */
+    private boolean hiddenSingles() {
+        int count = dirtyCount;
+        for (int i = 0; i < count; i++) {
+            int u = dirtyUnits[i];
+            dirty[u] = false;
+            int[] unit = geometry.unitCells[u];
+            long once = 0;
+            long twice = 0;
+            for (int cell : unit) {
+                long mask = candidates[cell];
+                twice |= once & mask;
+                once |= mask;
+            }
+            if (once != geometry.all) {
+                return false;
+            }
+
+            long hidden = once & ~twice;
+            while (hidden != 0) {
+                long bit = hidden & -hidden;
+                hidden ^= bit;
+                for (int cell : unit) {
+                    if ((candidates[cell] & bit) != 0) {
+                        if (placed[cell] == 0
+                                && !place(cell, Long.numberOfTrailingZeros(bit))) {
+                            return false;
+                        }
+                        break;
+                    }
+                }
+            }
+        }
+
+        // keep the units changed during this pass for the next one
+        System.arraycopy(dirtyUnits, count, dirtyUnits, 0, dirtyCount - count);
+        dirtyCount -= count;
+        return true;
+    }
+
+    /**
+     * Note that a cell is about to change, so its units must be checked for
+     * hidden singles.
+     *
+     * @param cell Cell index.
+     */
+    private void touch(int cell) {
+        for (int u : geometry.unitsOf[cell]) {
+            if (!dirty[u]) {
+                dirty[u] = true;
+                dirtyUnits[dirtyCount++] = u;
+            }
+        }
+    }
+
+    /**
+     * Forget the changed units, as when starting a new branch from a fully
+     * propagated position.
+     */
+    private void clearDirty() {
+        for (int i = 0; i < dirtyCount; i++) {
+            dirty[dirtyUnits[i]] = false;
+        }
+        dirtyCount = 0;
+    }
+
+    /**
+     * Push a cell's current state onto the trail.
+     *
+     * @param cell Cell index.
+     */
+    private void save(int cell) {
+        touch(cell);
+        trailMasks[trailTop] = candidates[cell];
+        trailCells[trailTop++] = cell | (placed[cell] << 16);
+    }
+
+    /**
+     * Undo changes back to an earlier trail position.
+     *
+     * @param mark Trail position to rewind to.
+     */
+    private void rewind(int mark) {
+        while (trailTop > mark) {
+            int entry = trailCells[--trailTop];
+            int cell = entry & 0xFFFF;
+            candidates[cell] = trailMasks[trailTop];
+            placed[cell] = (byte) (entry >>> 16);
+        }
+    }
+}
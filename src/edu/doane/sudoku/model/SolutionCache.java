@@ -0,0 +1,530 @@
+package edu.doane.sudoku.model;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded, thread-safe cache of puzzle solutions, so a puzzle solved once
+ * (to validate an import, rate a game, or answer a batch) needn't be
+ * solved again. Entries are keyed by a 64-bit Zobrist hash of the puzzle's
+ * numbers, and hold the puzzle and its first solution packed four bits per
+ * cell in primitive arrays, along with how many solutions the search found
+ * and the limit it searched to. The stored puzzle is compared on every
+ * lookup, so a hash collision can never return the wrong solution.
+ * <p>
+ * The cache is split into segments, each guarded by its own lock and
+ * evicting its least recently used entry when full, so threads solving in
+ * parallel rarely wait on each other. Hit, miss, and eviction counts are
+ * kept for the whole cache.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/16/2026
+ */
+public final class SolutionCache {
+
+    /**
+     * Number of entries held by the shared cache.
+     */
+    public static final int SHARED_CAPACITY = 1 << 16;
+
+    /**
+     * Number of segments; a power of two.
+     */
+    private static final int SEGMENTS = 16;
+
+    /**
+     * Number of long words holding one packed grid of 81 numbers.
+     */
+    static final int GRID_WORDS = 6;
+
+    /**
+     * Cache shared by the solvers that SolverEngine.createCached() makes.
+     */
+    private static final SolutionCache SHARED = new SolutionCache(SHARED_CAPACITY);
+
+    /**
+     * The segments; an entry lives in the segment chosen by the top bits of
+     * its hash.
+     */
+    private final Segment[] segments = new Segment[SEGMENTS];
+
+    /**
+     * Lookups answered from the cache.
+     */
+    private final LongAdder hits = new LongAdder();
+
+    /**
+     * Lookups not answered from the cache.
+     */
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Entries evicted to make room for others.
+     */
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Create a cache.
+     *
+     * @param capacity Maximum number of entries, at least SEGMENTS. Each
+     *                 entry takes about 130 bytes.
+     * @throws IllegalArgumentException if capacity is less than SEGMENTS.
+     */
+    public SolutionCache(int capacity) throws IllegalArgumentException {
+        if (capacity < SEGMENTS) {
+            throw new IllegalArgumentException("Illegal parameter to "
+                    + "SolutionCache(): capacity " + capacity);
+        }
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(capacity / SEGMENTS + (i < capacity % SEGMENTS ? 1 : 0));
+        }
+    }
+
+    /**
+     * Get the cache shared by solvers made with SolverEngine.createCached().
+     *
+     * @return The shared cache.
+     */
+    public static SolutionCache getShared() {
+        return SHARED;
+    }
+
+    /**
+     * Hash a puzzle's numbers.
+     *
+     * @param puzzle 81 numbers in [0, 9].
+     * @return Zobrist hash of the numbers, or 0 if some number is out of
+     * range (which no valid puzzle hashes to in practice).
+     */
+    static long hash(byte[] puzzle) {
+        long h = 0;
+        int bad = 0;
+        for (int cell = 0; cell < 81; cell++) {
+            int number = puzzle[cell];
+            bad |= number | (9 - number);
+            h ^= Zobrist.NUMBERS[cell * 10 + (number & 0xF) % 10];
+        }
+        return bad < 0 ? 0 : h;
+    }
+
+    /**
+     * Look up the result of a search for solutions.
+     *
+     * @param hash     hash() of the puzzle.
+     * @param puzzle   Puzzle packed by pack().
+     * @param solution 81-element array that receives the cached solution on
+     *                 a hit, if there is one.
+     * @param limit    Limit the search would be made to.
+     * @return Number of solutions the search would find, in [0, limit], or
+     * -1 if the cache can't answer.
+     */
+    int get(long hash, long[] puzzle, byte[] solution, int limit) {
+        int found = segmentFor(hash).get(hash, puzzle, solution, limit);
+        if (found < 0) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return found;
+    }
+
+    /**
+     * Store the result of a search for solutions.
+     *
+     * @param hash     hash() of the puzzle.
+     * @param puzzle   Puzzle packed by pack().
+     * @param solution First solution found; ignored if count is 0.
+     * @param count    Number of solutions found.
+     * @param limit    Limit the search was made to.
+     */
+    void put(long hash, long[] puzzle, byte[] solution, int count, int limit) {
+        if (segmentFor(hash).put(hash, puzzle, solution, count, limit)) {
+            evictions.increment();
+        }
+    }
+
+    /**
+     * Store a puzzle known to have exactly one solution, as when a puzzle
+     * has just been generated.
+     *
+     * @param puzzle   81 numbers in [0, 9].
+     * @param solution The puzzle's solution.
+     */
+    public void putUnique(byte[] puzzle, byte[] solution) {
+        long h = hash(puzzle);
+        if (h != 0) {
+            long[] packed = new long[GRID_WORDS];
+            pack(puzzle, packed, 0);
+            put(h, packed, solution, 1, Integer.MAX_VALUE);
+        }
+    }
+
+    /**
+     * Get the number of lookups answered from the cache.
+     *
+     * @return Hit count.
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Get the number of lookups the cache couldn't answer.
+     *
+     * @return Miss count.
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Get the number of entries evicted to make room for others.
+     *
+     * @return Eviction count.
+     */
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * Get the number of entries in the cache.
+     *
+     * @return Entry count.
+     */
+    public int size() {
+        int total = 0;
+        for (Segment s : segments) {
+            total += s.size();
+        }
+        return total;
+    }
+
+    /**
+     * Remove every entry. The statistics are kept.
+     */
+    public void clear() {
+        for (Segment s : segments) {
+            s.clear();
+        }
+    }
+
+    /**
+     * Get a summary of the cache's statistics.
+     *
+     * @return Size, hits, misses, hit rate, and evictions.
+     */
+    @Override
+    public String toString() {
+        long h = getHits();
+        long m = getMisses();
+        return String.format("%d entries, %d hits, %d misses (%.1f%% hit rate), %d evictions",
+                size(), h, m, h + m == 0 ? 0.0 : 100.0 * h / (h + m), getEvictions());
+    }
+
+    /**
+     * Find the segment holding a hash.
+     *
+     * @param hash Puzzle hash.
+     * @return Segment for the hash.
+     */
+    private Segment segmentFor(long hash) {
+        return segments[(int) (hash >>> 60) & (SEGMENTS - 1)];
+    }
+
+    /**
+     * Pack a grid's numbers four bits each, sixteen to a word.
+     *
+     * @param numbers 81 numbers in [0, 9].
+     * @param packed  Array that receives the GRID_WORDS words.
+     * @param offset  Index in packed of the first word.
+     */
+    static void pack(byte[] numbers, long[] packed, int offset) {
+        for (int word = 0; word < GRID_WORDS; word++) {
+            long bits = 0;
+            int end = Math.min(81, (word + 1) << 4);
+            for (int cell = word << 4; cell < end; cell++) {
+                bits |= (long) numbers[cell] << ((cell & 15) << 2);
+            }
+            packed[offset + word] = bits;
+        }
+    }
+
+    /**
+     * One lock's worth of the cache: a hash index over a fixed number of
+     * entry slots, and a doubly-linked recency list through the slots, all
+     * in primitive arrays.
+     */
+    private static final class Segment {
+
+        /**
+         * Number of longs per slot: the packed puzzle, the packed solution,
+         * and the solution count and search limit.
+         */
+        private static final int STRIDE = 2 * GRID_WORDS + 1;
+
+        /**
+         * Maximum number of entries.
+         */
+        private final int capacity;
+
+        /**
+         * Hash of the entry in each slot.
+         */
+        private final long[] hashes;
+
+        /**
+         * Packed data of the entry in each slot.
+         */
+        private final long[] data;
+
+        /**
+         * First slot of each hash bucket's chain, or -1.
+         */
+        private final int[] buckets;
+
+        /**
+         * Next slot in the same bucket's chain, or -1.
+         */
+        private final int[] chain;
+
+        /**
+         * Neighbors in the recency list, toward the most recent and toward
+         * the least recent.
+         */
+        private final int[] newer, older;
+
+        /**
+         * Most and least recently used slots, or -1 if empty.
+         */
+        private int newest = -1, oldest = -1;
+
+        /**
+         * Number of slots in use.
+         */
+        private int size;
+
+        /**
+         * Create a segment.
+         *
+         * @param capacity Maximum number of entries, at least 1.
+         */
+        Segment(int capacity) {
+            this.capacity = capacity;
+            hashes = new long[capacity];
+            data = new long[capacity * STRIDE];
+            int n = Integer.highestOneBit(capacity * 2 - 1) << 1;
+            buckets = new int[n];
+            java.util.Arrays.fill(buckets, -1);
+            chain = new int[capacity];
+            newer = new int[capacity];
+            older = new int[capacity];
+        }
+
+        /**
+         * Look up a search result, and make it the most recently used.
+         *
+         * @param hash     Puzzle hash.
+         * @param puzzle   Packed puzzle.
+         * @param solution Receives the cached solution, if there is one.
+         * @param limit    Limit the search would be made to.
+         * @return Number of solutions, or -1 if the segment can't answer.
+         */
+        synchronized int get(long hash, long[] puzzle, byte[] solution, int limit) {
+            int slot = find(hash, puzzle);
+            if (slot < 0) {
+                return -1;
+            }
+
+            long info = data[slot * STRIDE + 2 * GRID_WORDS];
+            int count = (int) (info >>> 32);
+            int searched = (int) info;
+            // a search that stopped at its limit says nothing past it
+            if (count == searched && limit > searched) {
+                return -1;
+            }
+
+            touch(slot);
+            if (count > 0) {
+                int base = slot * STRIDE + GRID_WORDS;
+                for (int cell = 0; cell < 81; cell++) {
+                    solution[cell] = (byte) ((data[base + (cell >> 4)] >>> ((cell & 15) << 2)) & 0xF);
+                }
+            }
+            return Math.min(count, limit);
+        }
+
+        /**
+         * Store a search result as the most recently used entry, evicting
+         * the least recently used if the segment is full. A result already
+         * held for a search to at least the same limit is kept instead.
+         *
+         * @param hash     Puzzle hash.
+         * @param puzzle   Packed puzzle.
+         * @param solution First solution found; ignored if count is 0.
+         * @param count    Number of solutions found.
+         * @param limit    Limit the search was made to.
+         * @return true if an entry was evicted to make room.
+         */
+        synchronized boolean put(long hash, long[] puzzle, byte[] solution, int count, int limit) {
+            boolean evicted = false;
+            int slot = find(hash, puzzle);
+            if (slot >= 0) {
+                long info = data[slot * STRIDE + 2 * GRID_WORDS];
+                if ((int) info >= limit) {
+                    // already know at least as much
+                    touch(slot);
+                    return false;
+                }
+                unlink(slot);
+            } else {
+                if (size < capacity) {
+                    slot = size++;
+                } else {
+                    slot = oldest;
+                    unlink(slot);
+                    unindex(slot);
+                    evicted = true;
+                }
+                hashes[slot] = hash;
+                int bucket = bucket(hash);
+                chain[slot] = buckets[bucket];
+                buckets[bucket] = slot;
+                System.arraycopy(puzzle, 0, data, slot * STRIDE, GRID_WORDS);
+            }
+
+            if (count > 0) {
+                pack(solution, data, slot * STRIDE + GRID_WORDS);
+            }
+            data[slot * STRIDE + 2 * GRID_WORDS] = ((long) count << 32) | limit;
+            linkNewest(slot);
+            return evicted;
+        }
+
+        /**
+         * Get the number of entries.
+         *
+         * @return Entry count.
+         */
+        synchronized int size() {
+            return size;
+        }
+
+        /**
+         * Remove every entry.
+         */
+        synchronized void clear() {
+            java.util.Arrays.fill(buckets, -1);
+            size = 0;
+            newest = -1;
+            oldest = -1;
+        }
+
+        /**
+         * Find the slot holding a puzzle.
+         *
+         * @param hash   Puzzle hash.
+         * @param puzzle Packed puzzle.
+         * @return Slot, or -1 if the puzzle isn't cached.
+         */
+        private int find(long hash, long[] puzzle) {
+            for (int slot = buckets[bucket(hash)]; slot >= 0; slot = chain[slot]) {
+                if (hashes[slot] == hash && samePuzzle(slot, puzzle)) {
+                    return slot;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * Is the puzzle stored in a slot the same as a given puzzle?
+         *
+         * @param slot   Slot to check.
+         * @param puzzle Packed puzzle.
+         * @return true if they match.
+         */
+        private boolean samePuzzle(int slot, long[] puzzle) {
+            for (int w = 0; w < GRID_WORDS; w++) {
+                if (data[slot * STRIDE + w] != puzzle[w]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Find the bucket for a hash.
+         *
+         * @param hash Puzzle hash.
+         * @return Bucket index.
+         */
+        private int bucket(long hash) {
+            return (int) hash & (buckets.length - 1);
+        }
+
+        /**
+         * Remove a slot from its bucket's chain.
+         *
+         * @param slot Slot to remove.
+         */
+        private void unindex(int slot) {
+            int bucket = bucket(hashes[slot]);
+            if (buckets[bucket] == slot) {
+                buckets[bucket] = chain[slot];
+                return;
+            }
+            for (int s = buckets[bucket]; s >= 0; s = chain[s]) {
+                if (chain[s] == slot) {
+                    chain[s] = chain[slot];
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Make a slot the most recently used.
+         *
+         * @param slot Slot in the recency list.
+         */
+        private void touch(int slot) {
+            if (slot != newest) {
+                unlink(slot);
+                linkNewest(slot);
+            }
+        }
+
+        /**
+         * Take a slot out of the recency list.
+         *
+         * @param slot Slot in the list.
+         */
+        private void unlink(int slot) {
+            int n = newer[slot];
+            int o = older[slot];
+            if (n >= 0) {
+                older[n] = o;
+            } else {
+                newest = o;
+            }
+            if (o >= 0) {
+                newer[o] = n;
+            } else {
+                oldest = n;
+            }
+        }
+
+        /**
+         * Put a slot at the most recent end of the recency list.
+         *
+         * @param slot Slot not in the list.
+         */
+        private void linkNewest(int slot) {
+            newer[slot] = -1;
+            older[slot] = newest;
+            if (newest >= 0) {
+                newer[newest] = slot;
+            } else {
+                oldest = slot;
+            }
+            newest = slot;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package edu.doane.sudoku.model;
+
+/**
+ * Interface for SuDoKu solving engines. An engine works on the 81 numbers
+ * of a grid, indexed row * 9 + col, with 0 for an empty cell. It can find a
+ * solution, and count solutions up to a limit so that callers can tell "no
+ * solution," "exactly one," and "more than one" apart cheaply.
+ * <p>
+ * Engines keep their working storage between calls so that solving many
+ * puzzles allocates nothing. That means an engine instance must only be
+ * used by one thread at a time; give each thread its own.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/16/2026
+ */
+public interface Solver {
+
+    /**
+     * Search for solutions to a puzzle.
+     *
+     * @param puzzle   81 numbers in [0, 9]; 0 means an empty cell. Not
+     *                 modified.
+     * @param solution 81-element array that receives the first solution
+     *                 found. Left unchanged if there is no solution.
+     * @param limit    Stop searching once this many solutions have been
+     *                 found; at least 1.
+     * @return Number of solutions found, in [0, limit].
+     * @throws IllegalArgumentException if either array is not 81 elements
+     *                                  long, the puzzle holds a number not in
+     *                                  [0, 9], or limit is less than 1.
+     */
+    int solve(byte[] puzzle, byte[] solution, int limit) throws IllegalArgumentException;
+
+    /**
+     * Solve a puzzle given as game data.
+     *
+     * @param gameData 81-character string, in the format used by
+     *                 GameGrid.setGameData().
+     * @return 81-character string holding a solution, or null if the puzzle
+     * has no solution.
+     * @throws IllegalArgumentException if the game data is malformed.
+     */
+    default String solve(String gameData) throws IllegalArgumentException {
+        byte[] solution = new byte[81];
+        if (solve(toNumbers(gameData), solution, 1) == 0) {
+            return null;
+        }
+        return toGameData(solution);
+    }
+
+    /**
+     * Solve the numbers currently in a grid. Both givens and numbers played
+     * on the grid are taken as fixed.
+     *
+     * @param grid Grid to solve. Not modified.
+     * @return New grid holding the solution, with every number a given (the
+     * same form as Game.getSolved()), or null if there is no solution.
+     */
+    default GameGrid solve(GameGrid grid) {
+        byte[] solution = new byte[81];
+        if (solve(grid.numbers, solution, 1) == 0) {
+            return null;
+        }
+        return new GameGrid(toGameData(solution));
+    }
+
+    /**
+     * Count the solutions to a puzzle given as game data, up to a limit.
+     *
+     * @param gameData 81-character string, in the format used by
+     *                 GameGrid.setGameData().
+     * @param limit    Maximum number of solutions to look for; at least 1.
+     * @return Number of solutions, in [0, limit].
+     * @throws IllegalArgumentException if the game data is malformed or
+     *                                  limit is less than 1.
+     */
+    default int countSolutions(String gameData, int limit) throws IllegalArgumentException {
+        return solve(toNumbers(gameData), new byte[81], limit);
+    }
+
+    /**
+     * Count the solutions for the numbers currently in a grid, up to a
+     * limit.
+     *
+     * @param grid  Grid to examine. Not modified.
+     * @param limit Maximum number of solutions to look for; at least 1.
+     * @return Number of solutions, in [0, limit].
+     * @throws IllegalArgumentException if limit is less than 1.
+     */
+    default int countSolutions(GameGrid grid, int limit) throws IllegalArgumentException {
+        return solve(grid.numbers, new byte[81], limit);
+    }
+
+    /**
+     * Convert game data to an array of numbers.
+     *
+     * @param gameData 81-character string of digits in [0, 9].
+     * @return 81-element array of the numbers.
+     * @throws IllegalArgumentException if the string is not of the correct
+     *                                  length, or if it contains illegal
+     *                                  characters (not in [0, 9]).
+     */
+    static byte[] toNumbers(String gameData) throws IllegalArgumentException {
+        if (gameData.length() != 81) {
+            throw new IllegalArgumentException("Illegal parameter to "
+                    + "Solver.toNumbers(); data is not 81 characters: "
+                    + gameData.length());
+        }
+
+        byte[] numbers = new byte[81];
+        for (int k = 0; k < 81; k++) {
+            int number = gameData.charAt(k) - '0';
+            if (number < 0 || number > 9) {
+                throw new IllegalArgumentException("Illegal character in "
+                        + "Solver.toNumbers(): " + gameData.charAt(k));
+            }
+            numbers[k] = (byte) number;
+        }
+        return numbers;
+    }
+
+    /**
+     * Convert an array of numbers to game data.
+     *
+     * @param numbers 81 numbers in [0, 9].
+     * @return 81-character string of the numbers.
+     */
+    static String toGameData(byte[] numbers) {
+        char[] chars = new char[81];
+        for (int k = 0; k < 81; k++) {
+            chars[k] = (char) ('0' + numbers[k]);
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,66 @@
+package edu.doane.sudoku.model;
+
+/**
+ * The available Solver engines. Code that needs solvers should create them
+ * through this enum, so the engine can be chosen by name (for example, from
+ * a command-line option or the .ini file) to suit the puzzles at hand.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/16/2026
+ */
+public enum SolverEngine {
+
+    /**
+     * Algorithm X on a Dancing Links exact cover matrix.
+     */
+    DANCING_LINKS {
+        @Override
+        public Solver create() {
+            return new DancingLinksSolver();
+        }
+    },
+
+    /**
+     * Naked and hidden single propagation with backtracking.
+     */
+    PROPAGATION {
+        @Override
+        public Solver create() {
+            return new PropagationSolver();
+        }
+    };
+
+    /**
+     * Engine used when none is specified.
+     */
+    public static final SolverEngine DEFAULT = PROPAGATION;
+
+    /**
+     * Create a new solver instance using this engine.
+     *
+     * @return New Solver. Each thread should have its own.
+     */
+    public abstract Solver create();
+
+    /**
+     * Create a new solver instance using this engine, that consults the
+     * shared SolutionCache before searching.
+     *
+     * @return New CachingSolver. Each thread should have its own.
+     */
+    public Solver createCached() {
+        return new CachingSolver(create(), SolutionCache.getShared());
+    }
+
+    /**
+     * Look up an engine by name. Case and the difference between '-' and
+     * '_' are ignored, so "dancing-links" names DANCING_LINKS.
+     *
+     * @param name Engine name.
+     * @return The named engine.
+     * @throws IllegalArgumentException if there is no engine with that name.
+     */
+    public static SolverEngine fromName(String name) throws IllegalArgumentException {
+        return valueOf(name.trim().toUpperCase().replace('-', '_'));
+    }
+}
@@ -0,0 +1,103 @@
+package edu.doane.sudoku.model;
+
+/**
+ * Human solving techniques known to the DifficultyRater, easiest first.
+ * Each has a score charged every time it is used, and the difficulty level
+ * of games whose hardest technique it is.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/16/2026
+ */
+public enum Technique {
+
+    /**
+     * A cell with only one candidate left.
+     */
+    NAKED_SINGLE(1, Difficulty.EASY),
+
+    /**
+     * A number with only one place left in a row, column, or block.
+     */
+    HIDDEN_SINGLE(2, Difficulty.EASY),
+
+    /**
+     * A number confined to one row or column of a block (pointing), or to
+     * one block of a row or column (claiming).
+     */
+    LOCKED_CANDIDATES(5, Difficulty.MEDIUM),
+
+    /**
+     * Two cells of a unit with the same two candidates.
+     */
+    NAKED_PAIR(8, Difficulty.MEDIUM),
+
+    /**
+     * Two numbers confined to the same two cells of a unit.
+     */
+    HIDDEN_PAIR(10, Difficulty.MEDIUM),
+
+    /**
+     * Three cells of a unit with only three candidates between them.
+     */
+    NAKED_TRIPLE(14, Difficulty.HARD),
+
+    /**
+     * Three numbers confined to the same three cells of a unit.
+     */
+    HIDDEN_TRIPLE(16, Difficulty.HARD),
+
+    /**
+     * A number confined to the same two columns in two rows, or vice versa.
+     */
+    X_WING(20, Difficulty.HARD),
+
+    /**
+     * A number confined to the same three columns in three rows, or vice
+     * versa.
+     */
+    SWORDFISH(28, Difficulty.HARD),
+
+    /**
+     * None of the techniques above make progress; the player has to guess.
+     */
+    GUESSING(100, Difficulty.EXPERT);
+
+    /**
+     * Score charged each time the technique is used.
+     */
+    private final int score;
+
+    /**
+     * Difficulty of games needing this technique.
+     */
+    private final Difficulty difficulty;
+
+    /**
+     * Create a technique.
+     *
+     * @param score      Score charged each time the technique is used.
+     * @param difficulty Difficulty of games needing this technique.
+     */
+    Technique(int score, Difficulty difficulty) {
+        this.score = score;
+        this.difficulty = difficulty;
+    }
+
+    /**
+     * Get the score charged each time this technique is used.
+     *
+     * @return Score for one use.
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * Get the difficulty of games whose hardest technique is this one.
+     *
+     * @return Difficulty level.
+     */
+    public Difficulty getDifficulty() {
+        return difficulty;
+    }
+}
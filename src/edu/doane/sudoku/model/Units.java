@@ -0,0 +1,66 @@
+package edu.doane.sudoku.model;
+
+/**
+ * Precomputed index tables describing the structure of a 9x9 SuDoKu grid.
+ * Cells are indexed row * 9 + col, in [0, 80]. Units are the 27 rows,
+ * columns, and blocks: units [0, 8] are the rows, [9, 17] the columns, and
+ * [18, 26] the blocks, numbered left to right, top to bottom. The peers of
+ * a cell are the 20 other cells sharing a unit with it.
+ * <p>
+ * These are the tables of GridGeometry.NINE, under static names so the
+ * 9x9 grids, solvers, and generators in this package can use them as
+ * constants. They are shared, so they must never be modified.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/16/2026
+ */
+final class Units {
+
+    /**
+     * Number of cells in a grid.
+     */
+    static final int CELLS = 81;
+
+    /**
+     * Number of units (rows, columns, and blocks) in a grid.
+     */
+    static final int COUNT = 27;
+
+    /**
+     * Row of each cell, in [0, 8].
+     */
+    static final int[] ROW = GridGeometry.NINE.row;
+
+    /**
+     * Column of each cell, in [0, 8].
+     */
+    static final int[] COL = GridGeometry.NINE.col;
+
+    /**
+     * Block of each cell, in [0, 8].
+     */
+    static final int[] BOX = GridGeometry.NINE.boxOf;
+
+    /**
+     * Cells in each unit; UNITS[u] holds the nine cell indices of unit u.
+     */
+    static final int[][] UNITS = GridGeometry.NINE.unitCells;
+
+    /**
+     * Units containing each cell; UNITS_OF[cell] holds the cell's row,
+     * column, and block unit indices, in that order.
+     */
+    static final int[][] UNITS_OF = GridGeometry.NINE.unitsOf;
+
+    /**
+     * Peers of each cell; PEERS[cell] holds the indices of the 20 cells that
+     * share a row, column, or block with the cell.
+     */
+    static final int[][] PEERS = GridGeometry.NINE.peers;
+
+    /**
+     * Private constructor; this class only holds static tables.
+     */
+    private Units() {
+    }
+}
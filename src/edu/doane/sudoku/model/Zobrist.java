@@ -0,0 +1,65 @@
+package edu.doane.sudoku.model;
+
+import java.util.SplittableRandom;
+
+/**
+ * Random keys for Zobrist hashing of grid states. A grid's hash is the
+ * exclusive or of one key for each number in a cell, each note in a cell,
+ * and each given cell, so a change to a single cell changes the hash by
+ * an exclusive or of one or two keys. The keys come from a fixed seed, so
+ * a state hashes the same in every run of the program.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/16/2026
+ */
+final class Zobrist {
+
+    /**
+     * Key for number n in cell i, at index i * 10 + n. The key for 0, an
+     * empty cell, is 0, so emptying a cell just removes its number's key.
+     */
+    static final long[] NUMBERS = new long[810];
+
+    /**
+     * Key for note n in cell i, at index i * 10 + n; index i * 10 is
+     * unused.
+     */
+    static final long[] NOTES = new long[810];
+
+    /**
+     * Key for cell i being a given.
+     */
+    static final long[] GIVENS = new long[81];
+
+    static {
+        SplittableRandom random = new SplittableRandom(0x5D0C0DE2020L);
+        for (int cell = 0; cell < 81; cell++) {
+            for (int number = 1; number <= 9; number++) {
+                NUMBERS[cell * 10 + number] = random.nextLong();
+                NOTES[cell * 10 + number] = random.nextLong();
+            }
+            GIVENS[cell] = random.nextLong();
+        }
+    }
+
+    /**
+     * Private constructor; this class only holds static keys.
+     */
+    private Zobrist() {
+    }
+
+    /**
+     * Get the change in hash for toggling notes in a cell.
+     *
+     * @param cell    Index of the cell, row * 9 + col.
+     * @param toggles DigitMask of the notes toggled.
+     * @return Exclusive or of the keys of the toggled notes.
+     */
+    static long notes(int cell, int toggles) {
+        long h = 0;
+        for (int bits = toggles; bits != 0; bits &= bits - 1) {
+            h ^= NOTES[cell * 10 + Integer.numberOfTrailingZeros(bits)];
+        }
+        return h;
+    }
+}
@@ -0,0 +1,224 @@
+package edu.doane.sudoku.persistence;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * A small pool of long-lived JDBC connections to one database. Opening an
+ * embedded Derby connection takes milliseconds, while running a prepared
+ * query on an open one takes microseconds, so the connections are opened
+ * once, as they are first needed, and reused until the pool is closed.
+ * Each connection keeps the PreparedStatements made on it, keyed by their
+ * SQL text, so repeated queries are only compiled once.
+ * <p>
+ * A connection is borrowed as a Lease, which must be closed (ideally by
+ * try-with-resources) to give it back. Closing a lease rolls back anything
+ * left uncommitted and turns auto-commit back on, so the next borrower gets
+ * a clean connection. Cached statements belong to the lease's connection
+ * and must not be closed by the borrower; ResultSets must be.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/16/2026
+ */
+public final class ConnectionPool implements AutoCloseable {
+
+    /**
+     * JDBC URL of the database.
+     */
+    private final String url;
+
+    /**
+     * Largest number of connections the pool opens.
+     */
+    private final int size;
+
+    /**
+     * Leases not currently borrowed.
+     */
+    private final ArrayBlockingQueue<Lease> idle;
+
+    /**
+     * Every lease the pool has made, borrowed or not.
+     */
+    private final List<Lease> leases = new ArrayList<>();
+
+    /**
+     * Has the pool been closed?
+     */
+    private volatile boolean closed;
+
+    /**
+     * Create a pool. No connections are opened until they are needed.
+     *
+     * @param url  JDBC URL of the database.
+     * @param size Largest number of connections to open; at least 1.
+     * @throws IllegalArgumentException if size is less than 1.
+     */
+    public ConnectionPool(String url, int size) throws IllegalArgumentException {
+        if (size < 1) {
+            throw new IllegalArgumentException("Illegal parameter to "
+                    + "ConnectionPool constructor: " + size);
+        }
+        this.url = url;
+        this.size = size;
+        idle = new ArrayBlockingQueue<>(size);
+    }
+
+    /**
+     * Borrow a connection. An idle one is reused if there is one; otherwise
+     * a new one is opened, unless the pool is at its size, in which case
+     * this waits for one to be given back.
+     *
+     * @return Lease on a connection; close it to give the connection back.
+     * @throws SQLException if a new connection can't be opened, the pool is
+     *                      closed, or the wait is interrupted.
+     */
+    public Lease borrow() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is closed");
+        }
+
+        Lease lease = idle.poll();
+        if (lease != null) {
+            return lease;
+        }
+
+        synchronized (leases) {
+            if (leases.size() < size) {
+                lease = new Lease(DriverManager.getConnection(url));
+                leases.add(lease);
+                return lease;
+            }
+        }
+
+        try {
+            return idle.take();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted waiting for a connection", ex);
+        }
+    }
+
+    /**
+     * Close every connection, and the statements cached on them. Leases still
+     * borrowed are closed too, so this should only be called once the
+     * database is no longer in use, as at shutdown.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        synchronized (leases) {
+            for (Lease lease : leases) {
+                lease.closeConnection();
+            }
+            leases.clear();
+        }
+        idle.clear();
+    }
+
+    /**
+     * A borrowed connection, with its cache of prepared statements.
+     */
+    public final class Lease implements AutoCloseable {
+
+        /**
+         * The connection.
+         */
+        private final Connection connection;
+
+        /**
+         * Statements prepared on the connection, by SQL text.
+         */
+        private final Map<String, PreparedStatement> statements = new HashMap<>();
+
+        /**
+         * Wrap a newly opened connection.
+         *
+         * @param connection The connection.
+         */
+        private Lease(Connection connection) {
+            this.connection = connection;
+        }
+
+        /**
+         * Get the connection, for statements that aren't worth caching, such
+         * as DDL, and for transaction control.
+         *
+         * @return The connection.
+         */
+        public Connection getConnection() {
+            return connection;
+        }
+
+        /**
+         * Get a prepared statement for some SQL, preparing it the first
+         * time it is asked for on this connection. Its parameters are
+         * cleared. Do not close it.
+         *
+         * @param sql SQL text of the statement.
+         * @return The prepared statement.
+         * @throws SQLException if the statement can't be prepared.
+         */
+        public PreparedStatement prepare(String sql) throws SQLException {
+            PreparedStatement ps = statements.get(sql);
+            if (ps == null) {
+                ps = connection.prepareStatement(sql);
+                statements.put(sql, ps);
+            } else {
+                ps.clearParameters();
+            }
+            return ps;
+        }
+
+        /**
+         * Give the connection back to the pool, rolling back any work left
+         * uncommitted. A connection that can't be reset is closed instead.
+         */
+        @Override
+        public void close() {
+            if (closed) {
+                closeConnection();
+                return;
+            }
+            try {
+                if (!connection.getAutoCommit()) {
+                    connection.rollback();
+                    connection.setAutoCommit(true);
+                }
+                idle.offer(this);
+            } catch (SQLException ex) {
+                // drop the broken connection; a new one is opened in its place
+                synchronized (leases) {
+                    leases.remove(this);
+                }
+                closeConnection();
+            }
+        }
+
+        /**
+         * Close the cached statements and the connection, ignoring errors.
+         */
+        private void closeConnection() {
+            for (PreparedStatement ps : statements.values()) {
+                try {
+                    ps.close();
+                } catch (SQLException ex) {
+                    // closing anyway
+                }
+            }
+            statements.clear();
+            try {
+                connection.close();
+            } catch (SQLException ex) {
+                // closing anyway
+            }
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package edu.doane.sudoku.persistence;
+
+import edu.doane.sudoku.model.Difficulty;
+import edu.doane.sudoku.model.Game;
+import edu.doane.sudoku.model.GameGrid;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Hands out games from the GAME table without ever handing one out twice.
+ * Each row has a STATUS: available, claimed, or served. To claim a batch,
+ * up to N available rows are found through the (STATUS, DIFFICULTY,
+ * GAME_ID) index, and then one UPDATE stamps those that are still
+ * available with a claim number drawn from the GAME_CLAIM sequence. The
+ * UPDATE checks each row's STATUS under its row lock, so any number of
+ * callers can claim at once and each row goes to exactly one of them.
+ * Games are marked served, with the time, when they are played, and are
+ * kept as a history instead of being deleted. Claimed games that are never
+ * played are released.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/16/2026
+ */
+public final class GameDispenser {
+
+    /**
+     * STATUS of a game that can be claimed.
+     */
+    public static final int AVAILABLE = 0;
+
+    /**
+     * STATUS of a game claimed, but not yet played.
+     */
+    public static final int CLAIMED = 1;
+
+    /**
+     * STATUS of a game that has been played.
+     */
+    public static final int SERVED = 2;
+
+    /**
+     * Number of times a claim is tried when it deadlocks or times out
+     * waiting on another claim's locks.
+     */
+    private static final int ATTEMPTS = 5;
+
+    /**
+     * Pool of connections to the database holding the GAME table.
+     */
+    private final ConnectionPool pool;
+
+    /**
+     * Create a dispenser.
+     *
+     * @param pool Pool of connections to the database holding the GAME
+     *             table.
+     */
+    public GameDispenser(ConnectionPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Claim a batch of available games. If another caller claims the same
+     * games first, the claim looks again from the start; games already
+     * claimed are no longer found, so each retry sees fresh ones.
+     *
+     * @param level Difficulty of the games, or null for any.
+     * @param count Largest number of games to claim.
+     * @return Claimed games; empty if there are none.
+     * @throws SQLException if the games can't be claimed.
+     */
+    public List<Game> claim(Difficulty level, int count) throws SQLException {
+        int conflicts = 0;
+        while (true) {
+            try {
+                List<Game> found = findAvailable(level, count);
+                if (found.isEmpty()) {
+                    return found;
+                }
+                List<Game> claimed = stamp(found);
+                if (!claimed.isEmpty()) {
+                    return claimed;
+                }
+            } catch (SQLException ex) {
+                // deadlock or lock timeout with another claim: try again
+                String state = ex.getSQLState();
+                if (++conflicts == ATTEMPTS
+                        || !("40001".equals(state) || "40XL1".equals(state))) {
+                    throw ex;
+                }
+            }
+
+            // every game found was claimed by someone else first, or the
+            // claim deadlocked; the games claimed are no longer available,
+            // so looking again from the start finds others
+        }
+    }
+
+    /**
+     * Mark a claimed game as played, at the current time.
+     *
+     * @param id GAME_ID of the game.
+     * @throws SQLException if the game can't be marked.
+     */
+    public void markServed(int id) throws SQLException {
+        try (ConnectionPool.Lease lease = pool.borrow()) {
+            PreparedStatement ps = lease.prepare("UPDATE GAME SET STATUS = "
+                    + SERVED + ", SERVED_AT = CURRENT_TIMESTAMP WHERE GAME_ID = ?");
+            ps.setInt(1, id);
+            ps.executeUpdate();
+        }
+    }
+
+    /**
+     * Make claimed games that were never played available again.
+     *
+     * @param games Games to release.
+     * @throws SQLException if the games can't be released.
+     */
+    public void release(List<Game> games) throws SQLException {
+        if (games.isEmpty()) {
+            return;
+        }
+        try (ConnectionPool.Lease lease = pool.borrow()) {
+            PreparedStatement ps = lease.prepare("UPDATE GAME SET STATUS = "
+                    + AVAILABLE + ", CLAIM_ID = NULL WHERE GAME_ID = ? AND STATUS = "
+                    + CLAIMED);
+            for (Game g : games) {
+                ps.setInt(1, g.getID());
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+    }
+
+    /**
+     * Make every claimed game available again, such as those left claimed
+     * when the application last stopped without releasing them.
+     *
+     * @return Number of games released.
+     * @throws SQLException if the games can't be released.
+     */
+    public int releaseAll() throws SQLException {
+        try (ConnectionPool.Lease lease = pool.borrow()) {
+            return lease.prepare("UPDATE GAME SET STATUS = " + AVAILABLE
+                    + ", CLAIM_ID = NULL WHERE STATUS = " + CLAIMED).executeUpdate();
+        }
+    }
+
+    /**
+     * Count the available games.
+     *
+     * @return Number of games that can be claimed.
+     * @throws SQLException if the games can't be counted.
+     */
+    public int countAvailable() throws SQLException {
+        try (ConnectionPool.Lease lease = pool.borrow();
+             ResultSet rs = lease.prepare("SELECT COUNT(*) FROM GAME WHERE STATUS = "
+                     + AVAILABLE).executeQuery()) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+    /**
+     * Find available games through the status index.
+     *
+     * @param level Difficulty of the games, or null for any.
+     * @param count Largest number of games to find.
+     * @return Available games; empty if there are none.
+     * @throws SQLException if the games can't be read.
+     */
+    private List<Game> findAvailable(Difficulty level, int count)
+            throws SQLException {
+        List<Game> found = new ArrayList<>();
+
+        try (ConnectionPool.Lease lease = pool.borrow()) {
+            PreparedStatement select;
+            if (level != null) {
+                select = lease.prepare("SELECT GAME_ID, GAME_DATA, SOLVED_GAME_DATA "
+                        + "FROM GAME --DERBY-PROPERTIES index=GAME_STATUS\n"
+                        + "WHERE STATUS = " + AVAILABLE + " AND DIFFICULTY = ? "
+                        + "FETCH FIRST ? ROWS ONLY");
+                select.setString(1, level.name());
+                select.setInt(2, count);
+            } else {
+                select = lease.prepare("SELECT GAME_ID, GAME_DATA, SOLVED_GAME_DATA "
+                        + "FROM GAME --DERBY-PROPERTIES index=GAME_STATUS\n"
+                        + "WHERE STATUS = " + AVAILABLE + " "
+                        + "FETCH FIRST ? ROWS ONLY");
+                select.setInt(1, count);
+            }
+            try (ResultSet rs = select.executeQuery()) {
+                while (rs.next()) {
+                    found.add(new Game(rs.getInt(1),
+                            new GameGrid(rs.getString(2)),
+                            new GameGrid(rs.getString(3))));
+                }
+            }
+        }
+
+        return found;
+    }
+
+    /**
+     * Claim games found available, with one UPDATE that stamps them with a
+     * new claim number. STATUS is checked again on each row once it is
+     * locked, so a game another caller claimed in the meantime is passed
+     * over.
+     *
+     * @param found Games found available, in GAME_ID order.
+     * @return The games this call claimed.
+     * @throws SQLException if the games can't be claimed.
+     */
+    private List<Game> stamp(List<Game> found) throws SQLException {
+        try (ConnectionPool.Lease lease = pool.borrow()) {
+            long claim;
+            try (ResultSet rs = lease.prepare("VALUES NEXT VALUE FOR GAME_CLAIM")
+                    .executeQuery()) {
+                rs.next();
+                claim = rs.getLong(1);
+            }
+
+            StringBuilder sql = new StringBuilder("UPDATE GAME SET STATUS = ")
+                    .append(CLAIMED).append(", CLAIM_ID = ? WHERE STATUS = ")
+                    .append(AVAILABLE).append(" AND GAME_ID IN (?");
+            for (int i = 1; i < found.size(); i++) {
+                sql.append(", ?");
+            }
+            PreparedStatement update = lease.prepare(sql.append(')').toString());
+            update.setLong(1, claim);
+            for (int i = 0; i < found.size(); i++) {
+                update.setInt(i + 2, found.get(i).getID());
+            }
+            if (update.executeUpdate() == found.size()) {
+                return found;
+            }
+
+            // lost some to another claim; keep the ones stamped with ours
+            Set<Integer> ours = new HashSet<>();
+            PreparedStatement select = lease.prepare("SELECT GAME_ID FROM GAME "
+                    + "WHERE CLAIM_ID = ?");
+            select.setLong(1, claim);
+            try (ResultSet rs = select.executeQuery()) {
+                while (rs.next()) {
+                    ours.add(rs.getInt(1));
+                }
+            }
+            List<Game> claimed = new ArrayList<>();
+            for (Game g : found) {
+                if (ours.contains(g.getID())) {
+                    claimed.add(g);
+                }
+            }
+            return claimed;
+        }
+    }
+}
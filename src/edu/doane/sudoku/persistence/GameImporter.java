@@ -0,0 +1,187 @@
+package edu.doane.sudoku.persistence;
+
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Bulk loader for the GAME table. Rows are sent as JDBC batches of a set
+ * size, and each batch is committed as one transaction, so a large import
+ * pays for one log flush per batch instead of one per game.
+ * <p>
+ * A row that would duplicate a GAME_ID, GAME_DATA, or SOLVED_GAME_DATA
+ * already in the table is skipped: Derby stops a batch at the first failed
+ * row, so the rows before it are kept, the failed row is counted as
+ * skipped, and the rest of the batch is sent again. Any other error rolls
+ * back the current batch and ends the import; batches already committed
+ * stay in the table.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/16/2026
+ */
+public final class GameImporter {
+
+    /**
+     * Statement that adds a game to the GAME table.
+     */
+    static final String INSERT_GAME = "INSERT INTO GAME "
+            + "(GAME_ID, GAME_DATA, SOLVED_GAME_DATA) VALUES(?, ?, ?)";
+
+    /**
+     * SQLState of a unique or primary key violation.
+     */
+    private static final String DUPLICATE_KEY = "23505";
+
+    /**
+     * Pool the connection for the import is borrowed from.
+     */
+    private final ConnectionPool pool;
+
+    /**
+     * Number of rows per batch and transaction.
+     */
+    private final int batchSize;
+
+    /**
+     * Rows inserted and skipped by the last import.
+     */
+    private int inserted;
+    private int skipped;
+
+    /**
+     * Time taken by the last import, in nanoseconds.
+     */
+    private long nanos;
+
+    /**
+     * Create an importer.
+     *
+     * @param pool      Pool of connections to the database holding the GAME
+     *                  table.
+     * @param batchSize Number of rows per batch and transaction; at least 1.
+     * @throws IllegalArgumentException if batchSize is less than 1.
+     */
+    public GameImporter(ConnectionPool pool, int batchSize) throws IllegalArgumentException {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Illegal parameter to "
+                    + "GameImporter constructor: " + batchSize);
+        }
+        this.pool = pool;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Insert games into the GAME table. The three arrays are parallel, one
+     * entry per game.
+     *
+     * @param ids       GAME_ID of each game.
+     * @param games     GAME_DATA of each game.
+     * @param solutions SOLVED_GAME_DATA of each game.
+     * @return Number of games inserted.
+     * @throws SQLException if a row fails for any reason but a duplicate
+     *                      key; games in batches already committed stay in
+     *                      the table.
+     */
+    public int importGames(int[] ids, String[] games, String[] solutions)
+            throws SQLException {
+        inserted = 0;
+        skipped = 0;
+        long start = System.nanoTime();
+
+        try (ConnectionPool.Lease lease = pool.borrow()) {
+            Connection conn = lease.getConnection();
+            conn.setAutoCommit(false);
+            PreparedStatement ps = lease.prepare(INSERT_GAME);
+
+            int from = 0;
+            while (from < ids.length) {
+                int to = Math.min(from + batchSize, ids.length);
+                for (int i = from; i < to; i++) {
+                    ps.setInt(1, ids[i]);
+                    ps.setString(2, games[i]);
+                    ps.setString(3, solutions[i]);
+                    ps.addBatch();
+                }
+
+                try {
+                    ps.executeBatch();
+                    inserted += to - from;
+                    from = to;
+                } catch (BatchUpdateException ex) {
+                    ps.clearBatch();
+                    if (!isDuplicateKey(ex)) {
+                        conn.rollback();
+                        throw ex;
+                    }
+
+                    // keep the rows before the duplicate, skip it, and send
+                    // the rest again
+                    int[] counts = ex.getUpdateCounts();
+                    for (int count : counts) {
+                        if (count == Statement.EXECUTE_FAILED) {
+                            skipped++;
+                        } else {
+                            inserted++;
+                        }
+                    }
+                    if (counts.length < to - from) {
+                        // the batch stopped at the duplicate
+                        skipped++;
+                        from++;
+                    }
+                    from += counts.length;
+                }
+                conn.commit();
+            }
+        } finally {
+            nanos = System.nanoTime() - start;
+        }
+
+        return inserted;
+    }
+
+    /**
+     * Get the number of games inserted by the last import.
+     *
+     * @return Games inserted.
+     */
+    public int getInserted() {
+        return inserted;
+    }
+
+    /**
+     * Get the number of games skipped by the last import because they were
+     * already in the table.
+     *
+     * @return Games skipped.
+     */
+    public int getSkipped() {
+        return skipped;
+    }
+
+    /**
+     * Get the rate of the last import.
+     *
+     * @return Rows inserted or skipped per second.
+     */
+    public double getRowsPerSecond() {
+        return (inserted + skipped) / (nanos / 1.0e9);
+    }
+
+    /**
+     * Did a batch fail because of a duplicate key?
+     *
+     * @param ex Exception thrown by the batch.
+     * @return true if the failure was a unique or primary key violation.
+     */
+    private static boolean isDuplicateKey(SQLException ex) {
+        for (SQLException e = ex; e != null; e = e.getNextException()) {
+            if (DUPLICATE_KEY.equals(e.getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
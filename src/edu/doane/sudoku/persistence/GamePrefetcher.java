@@ -0,0 +1,235 @@
+package edu.doane.sudoku.persistence;
+
+import edu.doane.sudoku.model.Difficulty;
+import edu.doane.sudoku.model.Game;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps the next few games ready in memory, so a new game can be handed
+ * out without touching the database. There is one buffer for games of any
+ * difficulty, kept full from the start, and one for each difficulty, kept
+ * full once a game of that difficulty has been asked for. When a buffer
+ * falls to half full, a background thread claims a batch of games from the
+ * database to fill it again, then asks the restocker to top up the
+ * database if that left it low.
+ * <p>
+ * A game is marked served, on the background thread, when it is taken.
+ * Games still buffered when the prefetcher is closed are released, so they
+ * can be claimed again.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/16/2026
+ */
+final class GamePrefetcher {
+
+    /**
+     * Database the games are claimed from.
+     */
+    private final Persistence db;
+
+    /**
+     * Restocker asked to top the database up after each claim.
+     */
+    private final GameRestocker restocker;
+
+    /**
+     * Number of games each buffer holds when full.
+     */
+    private final int depth;
+
+    /**
+     * Buffered games: index 0 for any difficulty, then one per Difficulty,
+     * in declaration order.
+     */
+    private final List<ArrayBlockingQueue<Game>> buffers = new ArrayList<>();
+
+    /**
+     * Which buffers are kept full, as a bit mask: bit i for buffers[i].
+     */
+    private volatile int wanted = 1;
+
+    /**
+     * Thread that claims games in the background.
+     */
+    private final ExecutorService worker;
+
+    /**
+     * Is a refill queued or running?
+     */
+    private final AtomicBoolean refillPending = new AtomicBoolean();
+
+    /**
+     * Create a prefetcher and start filling the any-difficulty buffer.
+     *
+     * @param db        Database the games are claimed from.
+     * @param restocker Restocker of the database.
+     * @param depth     Number of games each buffer holds when full; at
+     *                  least 1.
+     * @throws IllegalArgumentException if depth is less than 1.
+     */
+    GamePrefetcher(Persistence db, GameRestocker restocker, int depth)
+            throws IllegalArgumentException {
+        if (depth < 1) {
+            throw new IllegalArgumentException("Illegal parameter to "
+                    + "GamePrefetcher constructor: " + depth);
+        }
+        this.db = db;
+        this.restocker = restocker;
+        this.depth = depth;
+        int slots = Difficulty.values().length + 1;
+        for (int i = 0; i < slots; i++) {
+            buffers.add(new ArrayBlockingQueue<Game>(depth));
+        }
+
+        worker = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "Game prefetch");
+            t.setDaemon(true);
+            return t;
+        });
+        scheduleRefill();
+    }
+
+    /**
+     * Take the next game of a difficulty. It comes from memory if one is
+     * buffered; otherwise it is claimed from the database right away. If
+     * there are no games of the difficulty, a game of any difficulty is
+     * taken instead.
+     *
+     * @param level Difficulty of the game, or null for any.
+     * @return Next game, or null if no game can be had.
+     */
+    Game take(Difficulty level) {
+        Game g = null;
+        if (level != null) {
+            int slot = level.ordinal() + 1;
+            if ((wanted & (1 << slot)) == 0) {
+                wanted |= 1 << slot;
+                scheduleRefill();
+            }
+            g = poll(slot);
+            if (g == null) {
+                g = claimOne(level);
+            }
+        }
+        if (g == null) {
+            g = poll(0);
+        }
+        if (g == null) {
+            g = claimOne(null);
+        }
+        if (g != null) {
+            markServed(g.getID());
+        }
+        return g;
+    }
+
+    /**
+     * Take a game from a buffer, and queue a refill if that leaves the
+     * buffer half full or less.
+     *
+     * @param slot Index of the buffer.
+     * @return Buffered game, or null if the buffer is empty.
+     */
+    private Game poll(int slot) {
+        ArrayBlockingQueue<Game> buffer = buffers.get(slot);
+        Game g = buffer.poll();
+        if (buffer.size() <= depth / 2) {
+            scheduleRefill();
+        }
+        return g;
+    }
+
+    /**
+     * Stop claiming games, and release the buffered ones.
+     * A refill already running is allowed to finish.
+     */
+    void close() {
+        worker.shutdown();
+        try {
+            worker.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+
+        List<Game> unused = new ArrayList<>();
+        for (ArrayBlockingQueue<Game> buffer : buffers) {
+            buffer.drainTo(unused);
+        }
+        db.returnGames(unused);
+    }
+
+    /**
+     * Claim one game from the database. Used when the buffer a game is
+     * wanted from is empty.
+     *
+     * @param level Difficulty of the game, or null for any.
+     * @return Claimed game, or null if there are none of that difficulty.
+     */
+    private Game claimOne(Difficulty level) {
+        List<Game> games = db.claimGames(level, 1);
+        return games.isEmpty() ? null : games.get(0);
+    }
+
+    /**
+     * Record, on the background thread, that a game has been handed out.
+     *
+     * @param id GAME_ID of the game.
+     */
+    private void markServed(final int id) {
+        try {
+            worker.execute(() -> db.markServed(id));
+        } catch (RejectedExecutionException ex) {
+            // closed; the game stays claimed, and is released next time
+        }
+    }
+
+    /**
+     * Queue a refill on the background thread, unless one is already
+     * queued.
+     */
+    private void scheduleRefill() {
+        if (refillPending.compareAndSet(false, true)) {
+            try {
+                worker.execute(this::refill);
+            } catch (RejectedExecutionException ex) {
+                // closed; nothing more to claim
+            }
+        }
+    }
+
+    /**
+     * Top up every wanted buffer with a batch claimed from the database,
+     * then ask for a restock if the claims left the database low.
+     */
+    private void refill() {
+        refillPending.set(false);
+        for (int slot = 0; slot < buffers.size(); slot++) {
+            ArrayBlockingQueue<Game> buffer = buffers.get(slot);
+            int missing = depth - buffer.size();
+            if ((wanted & (1 << slot)) == 0 || missing <= 0) {
+                continue;
+            }
+
+            Difficulty level = (slot == 0) ? null : Difficulty.values()[slot - 1];
+            List<Game> games = db.claimGames(level, missing);
+            List<Game> extra = new ArrayList<>();
+            for (Game g : games) {
+                if (!buffer.offer(g)) {
+                    extra.add(g);
+                }
+            }
+            if (!extra.isEmpty()) {
+                db.returnGames(extra);
+            }
+        }
+        restocker.requestIfLow();
+    }
+}
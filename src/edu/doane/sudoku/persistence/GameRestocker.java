@@ -0,0 +1,144 @@
+package edu.doane.sudoku.persistence;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Restocks the GAME table in the background once the number of games left
+ * drops below a low-water mark, so players never wait on the feed. Only
+ * one restock runs at a time. A restock that fails is not retried until a
+ * backoff delay has passed, and the delay doubles with each failure in a
+ * row, up to a limit; a success resets it.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/16/2026
+ */
+final class GameRestocker {
+
+    /**
+     * Delay after the first failed restock, in milliseconds.
+     */
+    private static final long FIRST_BACKOFF = 5_000L;
+
+    /**
+     * Longest delay between failed restocks, in milliseconds.
+     */
+    private static final long MAX_BACKOFF = 300_000L;
+
+    /**
+     * Database being restocked.
+     */
+    private final Persistence db;
+
+    /**
+     * Restock when fewer games than this are left.
+     */
+    private final int lowWater;
+
+    /**
+     * Thread the restocks run on.
+     */
+    private final ExecutorService worker;
+
+    /**
+     * Is a restock queued or running?
+     */
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    /**
+     * System.nanoTime() before which no restock is started, after a failure.
+     */
+    private volatile long retryAt = System.nanoTime();
+
+    /**
+     * Delay to wait after the next failure, in milliseconds. Only used on
+     * the worker thread.
+     */
+    private long backoff = FIRST_BACKOFF;
+
+    /**
+     * Create a restocker.
+     *
+     * @param db       Database to restock.
+     * @param lowWater Restock when fewer games than this are left; at least 1.
+     * @throws IllegalArgumentException if lowWater is less than 1.
+     */
+    GameRestocker(Persistence db, int lowWater) throws IllegalArgumentException {
+        if (lowWater < 1) {
+            throw new IllegalArgumentException("Illegal parameter to "
+                    + "GameRestocker constructor: " + lowWater);
+        }
+        this.db = db;
+        this.lowWater = lowWater;
+        worker = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "Game restock");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Start a restock in the background if the stock is below the
+     * low-water mark, unless one is running or a failed one is backing off.
+     * Returns right away.
+     */
+    void requestIfLow() {
+        if (running.get() || System.nanoTime() - retryAt < 0) {
+            return;
+        }
+        if (db.countGames() >= lowWater || !running.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            worker.execute(this::restock);
+        } catch (RejectedExecutionException ex) {
+            // closed; no more restocks
+            running.set(false);
+        }
+    }
+
+    /**
+     * Rate the games that don't have a difficulty yet, in the background,
+     * ahead of any restock requested after this. Returns right away.
+     */
+    void rateInBackground() {
+        try {
+            worker.execute(db::rateGames);
+        } catch (RejectedExecutionException ex) {
+            // closed; the games are rated next time
+        }
+    }
+
+    /**
+     * Stop restocking. A restock already running is given a moment to
+     * finish, but isn't waited for beyond that.
+     */
+    void close() {
+        worker.shutdown();
+        try {
+            worker.awaitTermination(2, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Restock, on the worker thread, and set the backoff from the outcome.
+     */
+    private void restock() {
+        try {
+            if (db.refillStock()) {
+                backoff = FIRST_BACKOFF;
+            } else {
+                System.err.printf("Restock failed; retrying in %d s%n", backoff / 1000);
+                retryAt = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(backoff);
+                backoff = Math.min(backoff * 2, MAX_BACKOFF);
+            }
+        } finally {
+            running.set(false);
+        }
+    }
+}
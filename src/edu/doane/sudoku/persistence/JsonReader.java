@@ -6,6 +6,7 @@ import org.json.JSONObject;
 
 import java.io.*;
 import java.net.URL;
+import java.net.URLConnection;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 
@@ -35,6 +36,32 @@ public class JsonReader {
         }
     }
 
+    /**
+     * Read a JSON array from a URL, giving up if connecting, or any one
+     * read, takes longer than a timeout.
+     *
+     * @param url           URL of the array.
+     * @param timeoutMillis Connect and read timeout, in milliseconds.
+     * @return The array.
+     * @throws IOException   if the URL can't be read in time.
+     * @throws JSONException if the content isn't a JSON array.
+     */
+    public static JSONArray readJsonArrFromUrl(String url, int timeoutMillis)
+            throws IOException, JSONException {
+        URLConnection conn = new URL(url).openConnection();
+        conn.setConnectTimeout(timeoutMillis);
+        conn.setReadTimeout(timeoutMillis);
+        InputStream is = conn.getInputStream();
+        try {
+            BufferedReader rd = new BufferedReader(new InputStreamReader(is, StandardCharsets.UTF_8));
+            String jsonText = readAll(rd);
+            JSONArray json = new JSONArray(jsonText);
+            return json;
+        } finally {
+            is.close();
+        }
+    }
+
     public static JSONObject readJsonFromUrl(String url) throws IOException, JSONException {
         InputStream is = new URL(url).openStream();
         try {
@@ -1,7 +1,12 @@
 package edu.doane.sudoku.persistence;
 
+import edu.doane.sudoku.model.Canonicalizer;
+import edu.doane.sudoku.model.Difficulty;
+import edu.doane.sudoku.model.DifficultyRater;
 import edu.doane.sudoku.model.Game;
-import edu.doane.sudoku.model.GameGrid;
+import edu.doane.sudoku.model.PuzzleGenerator;
+import edu.doane.sudoku.model.PuzzleValidator;
+import edu.doane.sudoku.model.SolverEngine;
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
@@ -10,17 +15,23 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.sql.*;
-import java.util.Properties;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Scanner;
+import java.util.SplittableRandom;
 
 /**
  * Singleton class implementing the persistence functionality used by SuDoKu
  * applications. The instance of this class serves as a connection to the cloud,
  * where the large repository of games is stored, and a manager for a local
- * Apache Derby database holding games, high scores, etc.
+ * Apache Derby database holding games, high scores, etc. Games can also be
+ * generated locally instead of being fetched from the cloud.
  *
  * @author Mark M. Meysenburg
- * @version 01/11/2018
+ * @version 10/16/2026
  */
 public class Persistence {
 
@@ -35,6 +46,95 @@ public class Persistence {
      */
     private String sJSON_URL;
 
+    /**
+     * Should games fetched from the cloud be checked for a unique solution
+     * that matches their SOLVED_GAME_DATA before they are stored? Value is
+     * read from the .ini file ("validate true"); off by default.
+     */
+    private boolean validateImports = false;
+
+    /**
+     * Solver engine used to validate games. Value is read from the .ini
+     * file ("solver propagation" or "solver dancing-links").
+     */
+    private SolverEngine solverEngine = SolverEngine.DEFAULT;
+
+    /**
+     * Where new games come from: "cloud" to fetch them from the JSON URL, or
+     * "local" to generate them. Value is read from the .ini file.
+     */
+    private String gameSource = "cloud";
+
+    /**
+     * Number of games to generate per restock when games are generated
+     * locally. Value is read from the .ini file ("generate 1000").
+     */
+    private int generateCount = 1000;
+
+    /**
+     * Number of games inserted per batch and transaction when restocking.
+     * Value is read from the .ini file ("batch 1000").
+     */
+    private int batchSize = 1000;
+
+    /**
+     * Number of upcoming games kept ready in memory, per difficulty. Value
+     * is read from the .ini file ("prefetch 8").
+     */
+    private int prefetchDepth = 8;
+
+    /**
+     * Restock the GAME table in the background when fewer games than this
+     * are left. Value is read from the .ini file ("lowwater 100").
+     */
+    private int lowWater = 100;
+
+    /**
+     * Connect and read timeout for fetching games from the cloud, in
+     * milliseconds. Value is read from the .ini file, in seconds
+     * ("timeout 30").
+     */
+    private int feedTimeout = 30_000;
+
+    /**
+     * JDBC URL of the local Derby database.
+     */
+    private static final String DB_URL = "jdbc:derby:SuDoKuDB";
+
+    /**
+     * Number of connections kept open to the local database.
+     */
+    private static final int POOL_SIZE = 4;
+
+    /**
+     * Pool of open connections to the local database, each with its own
+     * cache of prepared statements. Created when the class is instantiated,
+     * creating the database if need be, and closed by shutdown().
+     */
+    private ConnectionPool pool;
+
+    /**
+     * Buffer of upcoming games, claimed from the GAME table in the
+     * background. Created once the database is ready.
+     */
+    private GamePrefetcher prefetcher;
+
+    /**
+     * Restocks the GAME table in the background when it runs low. Created
+     * once the database is ready.
+     */
+    private GameRestocker restocker;
+
+    /**
+     * Claims, serves, and releases games in the GAME table.
+     */
+    private GameDispenser dispenser;
+
+    /**
+     * Has shutdown() been called?
+     */
+    private boolean shutDown = false;
+
     /**
      * Private default constructor. Prevents the class from being instantiated
      * from the outside.
@@ -42,10 +142,23 @@ public class Persistence {
     private Persistence() {
         loadSettings();
         loadDatabaseDriver();
+        pool = new ConnectionPool(DB_URL + ";create=true", POOL_SIZE);
+        dispenser = new GameDispenser(pool);
+        Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown,
+                "Persistence shutdown"));
         if (!databaseExists()) {
+            // the games come in the background, below
             createDatabaseTables();
-            fetchFromCloud();
+        } else {
+            upgradeDatabaseTables();
         }
+        releaseClaims();
+        restocker = new GameRestocker(this, lowWater);
+        // an upgraded database can hold many unrated games; rate them in
+        // the background rather than make the first game wait
+        restocker.rateInBackground();
+        prefetcher = new GamePrefetcher(this, restocker, prefetchDepth);
+        restocker.requestIfLow();
     }
 
     /**
@@ -78,6 +191,38 @@ public class Persistence {
         }
     }
 
+    /**
+     * Release the games waiting in memory back to the GAME table, close every
+     * connection to the local database, and shut it down, so it doesn't
+     * need recovery the next time it is opened. Called when the JVM exits;
+     * calls after the first do nothing.
+     */
+    public void shutdown() {
+        synchronized (this) {
+            if (shutDown) {
+                return;
+            }
+            shutDown = true;
+        }
+        if (restocker != null) {
+            restocker.close();
+        }
+        if (prefetcher != null) {
+            prefetcher.close();
+        }
+        pool.close();
+
+        try {
+            DriverManager.getConnection(DB_URL + ";shutdown=true");
+        } catch (SQLException ex) {
+            // Derby reports a clean shutdown of one database as 08006
+            if (!"08006".equals(ex.getSQLState())) {
+                System.err.println("Cannot shut down local Derby database!");
+                System.err.println(ex.toString());
+            }
+        }
+    }
+
     /**
      * Determine if the local Derby database already exists.
      *
@@ -86,27 +231,21 @@ public class Persistence {
     private boolean databaseExists() {
         boolean databaseExists = false;
 
-        try {
-            // connect to database, creating it if need be
-            Properties props = new Properties();
-            Connection conn = DriverManager.getConnection("jdbc:derby:"
-                    + "SuDoKuDB;create=true", props);
-
+        // the pool's first connection creates the database if need be
+        try (ConnectionPool.Lease lease = pool.borrow()) {
             // see if the GAME table already exists; if it does, the database
             // was already in existence
-            DatabaseMetaData metadata = conn.getMetaData();
+            DatabaseMetaData metadata = lease.getConnection().getMetaData();
             String[] names = {"TABLE"};
-            ResultSet tableNames = metadata.getTables(null, null, null, names);
-            while (tableNames.next()) {
-                String tab = tableNames.getString("TABLE_NAME");
-                if (tab.equalsIgnoreCase("GAME")) {
-                    databaseExists = true;
+            try (ResultSet tableNames = metadata.getTables(null, null, null, names)) {
+                while (tableNames.next()) {
+                    String tab = tableNames.getString("TABLE_NAME");
+                    if (tab.equalsIgnoreCase("GAME")) {
+                        databaseExists = true;
+                    }
                 }
             }
 
-            // close database connection
-            conn.close();
-
         } catch (SQLException ex) {
             System.err.println("Can't verify existence of Derby database! "
                     + "Exiting!");
@@ -121,21 +260,19 @@ public class Persistence {
      * Create tables in a newly created, empty local Derby database.
      */
     private void createDatabaseTables() {
-        try {
-            // connect to the database
-            Properties props = new Properties();
-            Connection conn = DriverManager.getConnection("jdbc:derby:"
-                    + "SuDoKuDB", props);
-
-            // make the game table
-            Statement s = conn.createStatement();
+        try (ConnectionPool.Lease lease = pool.borrow();
+             Statement s = lease.getConnection().createStatement()) {
+            // make the game table; STATUS is a GameDispenser status, and
+            // CLAIM_ID the claim that holds a claimed game
             s.execute("CREATE TABLE GAME(GAME_ID INTEGER, "
                     + "GAME_DATA CHAR(81) NOT NULL UNIQUE, "
                     + "SOLVED_GAME_DATA CHAR(81) NOT NULL UNIQUE, "
+                    + "DIFFICULTY VARCHAR(16), "
+                    + "STATUS SMALLINT NOT NULL DEFAULT 0, "
+                    + "CLAIM_ID BIGINT, "
+                    + "SERVED_AT TIMESTAMP, "
                     + "PRIMARY KEY(GAME_ID))");
-
-            // close database connection
-            conn.close();
+            createDispenserObjects(s);
 
         } catch (SQLException ex) {
             System.err.println("Can't create database tables! Exiting!");
@@ -146,36 +283,259 @@ public class Persistence {
     }
 
     /**
-     * Determine if the GAME table of the local Derby database is empty
-     * or not.
+     * Bring the GAME table of a database made by an earlier version up to
+     * date: add the DIFFICULTY column, if games weren't rated yet, and the
+     * columns, indexes, and sequence used by the GameDispenser, if games
+     * were deleted as they were played.
+     */
+    private void upgradeDatabaseTables() {
+        try (ConnectionPool.Lease lease = pool.borrow();
+             Statement s = lease.getConnection().createStatement()) {
+            // add the columns that are missing
+            Connection conn = lease.getConnection();
+            addColumn(conn, s, "DIFFICULTY", "VARCHAR(16)");
+            addColumn(conn, s, "STATUS", "SMALLINT NOT NULL DEFAULT 0");
+            addColumn(conn, s, "CLAIM_ID", "BIGINT");
+            addColumn(conn, s, "SERVED_AT", "TIMESTAMP");
+            createDispenserObjects(s);
+
+        } catch (SQLException ex) {
+            System.err.println("Can't upgrade GAME table! Exiting!");
+            System.err.println(ex.toString());
+            System.exit(-1);
+        }
+    }
+
+    /**
+     * Add a column to the GAME table, if it isn't there already.
      *
-     * @return True if the GAME table is empty, false otherwise.
+     * @param conn Connection to the database.
+     * @param s    Statement to run the change with.
+     * @param name Name of the column.
+     * @param type Type and constraints of the column.
+     * @throws SQLException if the column can't be added.
      */
-    public boolean gameTableEmpty() {
-        boolean isEmpty = false;
+    private void addColumn(Connection conn, Statement s, String name, String type)
+            throws SQLException {
+        try (ResultSet columns = conn.getMetaData().getColumns(null, null, "GAME", name)) {
+            if (columns.next()) {
+                return;
+            }
+        }
+        s.execute("ALTER TABLE GAME ADD COLUMN " + name + " " + type);
+    }
+
+    /**
+     * Create the indexes and sequence the GameDispenser uses, skipping any
+     * that already exist.
+     *
+     * @param s Statement to run the changes with.
+     * @throws SQLException if they can't be created.
+     */
+    private void createDispenserObjects(Statement s) throws SQLException {
+        String[] ddl = {
+                "CREATE INDEX GAME_STATUS ON GAME(STATUS, DIFFICULTY, GAME_ID)",
+                "CREATE INDEX GAME_CLAIM ON GAME(CLAIM_ID)",
+                "CREATE SEQUENCE GAME_CLAIM AS BIGINT START WITH 1"
+        };
+        for (String sql : ddl) {
+            try {
+                s.execute(sql);
+            } catch (SQLException ex) {
+                // X0Y32 and X0Y68: the object already exists
+                if (!"X0Y32".equals(ex.getSQLState())
+                        && !"X0Y68".equals(ex.getSQLState())) {
+                    throw ex;
+                }
+            }
+        }
+    }
 
+    /**
+     * Release the games left claimed when the application last stopped,
+     * such as by a crash, so they can be played.
+     */
+    private void releaseClaims() {
         try {
-            // connect to the database
-            Properties props = new Properties();
-            Connection conn = DriverManager.getConnection("jdbc:derby:SuDoKuDB", props);
+            int released = dispenser.releaseAll();
+            if (released > 0) {
+                System.err.println("Released " + released + " claimed games.");
+            }
+        } catch (SQLException ex) {
+            System.err.println("Cannot release claimed games!");
+            System.err.println(ex.toString());
+        }
+    }
 
-            // query to determine number of database elements
-            Statement s = conn.createStatement();
-            ResultSet rs = s.executeQuery("SELECT COUNT(*) FROM GAME");
-            rs.next();
-            if (rs.getInt(1) == 0) {
-                isEmpty = true;
+    /**
+     * Rate every game in the GAME table that doesn't have a difficulty yet,
+     * in parallel, and store the ratings in the DIFFICULTY column. Called by
+     * the restocker's thread.
+     */
+    void rateGames() {
+        try (ConnectionPool.Lease lease = pool.borrow()) {
+            // read the unrated games
+            List<Integer> ids = new ArrayList<>();
+            List<String> games = new ArrayList<>();
+            try (ResultSet rs = lease.prepare("SELECT GAME_ID, GAME_DATA FROM GAME "
+                    + "WHERE DIFFICULTY IS NULL").executeQuery()) {
+                while (rs.next()) {
+                    ids.add(rs.getInt(1));
+                    games.add(rs.getString(2));
+                }
+            }
+            if (ids.isEmpty()) {
+                return;
             }
 
-            // close database connection
-            conn.close();
+            // rate them, using every core
+            long start = System.nanoTime();
+            DifficultyRater.Rating[] ratings =
+                    DifficultyRater.rateAll(games.toArray(new String[0]));
+            double seconds = (System.nanoTime() - start) / 1.0e9;
+            System.err.printf("Rated %d games in %.2f s (%.1f games/s)%n",
+                    ratings.length, seconds, ratings.length / seconds);
+
+            // store the ratings in one transaction
+            Connection conn = lease.getConnection();
+            conn.setAutoCommit(false);
+            PreparedStatement ps = lease.prepare("UPDATE GAME "
+                    + "SET DIFFICULTY = ? WHERE GAME_ID = ?");
+            for (int i = 0; i < ratings.length; i++) {
+                if (ratings[i] == null) {
+                    System.err.println("Cannot rate game " + ids.get(i));
+                    continue;
+                }
+                ps.setString(1, ratings[i].getDifficulty().name());
+                ps.setInt(2, ids.get(i));
+                ps.addBatch();
+            }
+            ps.executeBatch();
+            conn.commit();
 
         } catch (SQLException ex) {
-            System.err.println("Cannot determine if GAME table is empty!");
+            System.err.println("Cannot store game difficulties!");
+            System.err.println(ex.toString());
         }
+    }
+
+    /**
+     * Find the games in the GAME table that are the same puzzle in disguise:
+     * relabeled, with rows, columns, bands, or stacks swapped, or
+     * transposed. Every game's canonical form (see Canonicalizer) is found
+     * in parallel, and games with the same form are grouped.
+     *
+     * @return Groups of GAME_IDs, in increasing order within each group and
+     * by first ID across groups. Only groups of two or more games are
+     * included; the list is empty if there are no duplicates or the table
+     * can't be read.
+     */
+    public List<List<Integer>> findDuplicateGames() {
+        List<List<Integer>> clusters = new ArrayList<>();
+
+        try {
+            // read every game
+            List<Integer> ids = new ArrayList<>();
+            List<String> games = new ArrayList<>();
+            try (ConnectionPool.Lease lease = pool.borrow();
+                 ResultSet rs = lease.prepare("SELECT GAME_ID, GAME_DATA FROM GAME "
+                         + "ORDER BY GAME_ID").executeQuery()) {
+                while (rs.next()) {
+                    ids.add(rs.getInt(1));
+                    games.add(rs.getString(2));
+                }
+            }
 
-        // send back the result
-        return isEmpty;
+            // canonicalize them, using every core, and group by form
+            long start = System.nanoTime();
+            String[] forms = Canonicalizer.canonicalizeAll(games.toArray(new String[0]));
+            Map<String, List<Integer>> byForm = new HashMap<>();
+            for (int i = 0; i < forms.length; i++) {
+                if (forms[i] == null) {
+                    System.err.println("Cannot canonicalize game " + ids.get(i));
+                    continue;
+                }
+                List<Integer> cluster = byForm.get(forms[i]);
+                if (cluster == null) {
+                    cluster = new ArrayList<>();
+                    byForm.put(forms[i], cluster);
+                } else if (cluster.size() == 1) {
+                    clusters.add(cluster);
+                }
+                cluster.add(ids.get(i));
+            }
+            double seconds = (System.nanoTime() - start) / 1.0e9;
+            System.err.printf("Checked %d games for duplicates in %.2f s: %d clusters%n",
+                    forms.length, seconds, clusters.size());
+
+        } catch (SQLException ex) {
+            System.err.println("Cannot search for duplicate games!");
+            System.err.println(ex.toString());
+        }
+
+        return clusters;
+    }
+
+    /**
+     * Delete games that duplicate another game in the GAME table, keeping
+     * the one with the lowest GAME_ID in each group. Only available games
+     * are deleted; claimed and served ones are kept.
+     */
+    private void removeDuplicateGames() {
+        List<List<Integer>> clusters = findDuplicateGames();
+        if (clusters.isEmpty()) {
+            return;
+        }
+
+        try (ConnectionPool.Lease lease = pool.borrow()) {
+            // delete all but the first of each group in one transaction
+            Connection conn = lease.getConnection();
+            conn.setAutoCommit(false);
+            PreparedStatement ps = lease.prepare("DELETE FROM GAME "
+                    + "WHERE GAME_ID = ? AND STATUS = " + GameDispenser.AVAILABLE);
+            for (List<Integer> cluster : clusters) {
+                for (int i = 1; i < cluster.size(); i++) {
+                    ps.setInt(1, cluster.get(i));
+                    ps.addBatch();
+                }
+            }
+            int removed = 0;
+            for (int count : ps.executeBatch()) {
+                removed += count;
+            }
+            conn.commit();
+            System.err.println("Removed " + removed + " duplicate games.");
+
+        } catch (SQLException ex) {
+            System.err.println("Cannot remove duplicate games!");
+            System.err.println(ex.toString());
+        }
+    }
+
+    /**
+     * Determine if the GAME table of the local Derby database has no games
+     * left to play or not.
+     *
+     * @return True if no game in the GAME table is available, false
+     * otherwise.
+     */
+    public boolean gameTableEmpty() {
+        return countGames() == 0;
+    }
+
+    /**
+     * Count the games in the GAME table of the local Derby database that
+     * are available to play.
+     *
+     * @return Number of games, or -1 if they can't be counted.
+     */
+    int countGames() {
+        try {
+            return dispenser.countAvailable();
+        } catch (SQLException ex) {
+            System.err.println("Cannot count games in GAME table!");
+            return -1;
+        }
     }
 
     /**
@@ -184,82 +544,278 @@ public class Persistence {
      * @return Game object representing the next un-played game
      */
     public Game getNextGame() {
-        Game g = null;
+        return getNextGame(null);
+    }
+
+    /**
+     * Get the next game of a specified difficulty that hasn't been played
+     * yet. If there are no un-played games of that difficulty, or the
+     * difficulty isn't known, get the next game of any difficulty.
+     *
+     * @param difficulty Name of the difficulty level (see Difficulty), or
+     *                   null for any difficulty.
+     * @return Game object representing the next un-played game
+     */
+    public Game getNextGame(String difficulty) {
+        // served from memory, unless the games have run out faster than the
+        // prefetcher can claim them
+        Difficulty level = difficulty == null ? null : Difficulty.fromName(difficulty);
+        Game g = prefetcher.take(level);
+        if (g == null) {
+            // the games ran out before a restock came in; make one here
+            System.err.println("No games left in local Derby database; generating one.");
+            g = storeServed(new PuzzleGenerator(solverEngine).generate(0,
+                    new SplittableRandom()));
+        }
+        return g;
+    }
 
+    /**
+     * Add a game made on the spot to the GAME table, numbered after the
+     * highest GAME_ID there, and mark it served, so it has an ID of its own
+     * and is kept in the history like any other game played.
+     *
+     * @param g Game to store; its ID is ignored.
+     * @return The game, with the GAME_ID it was stored under, or with ID 0
+     * if it can't be stored.
+     */
+    private Game storeServed(Game g) {
+        String[] puzzle = {g.getInitial().getGameData()};
+        String[] solution = {g.getSolved().getGameData()};
         try {
-            // connect to the database
-            Properties props = new Properties();
-            Connection conn = DriverManager.getConnection("jdbc:derby:SuDoKuDB", props);
+            // a restock may take the same ID first; if so, try the next one
+            for (int attempt = 0; attempt < 3; attempt++) {
+                int id = nextGameId();
+                if (importGames(new int[]{id}, puzzle, solution) == 1) {
+                    dispenser.markServed(id);
+                    return new Game(id, g.getInitial(), g.getSolved());
+                }
+            }
+            System.err.println("Cannot store generated game!");
+        } catch (SQLException ex) {
+            System.err.println("Cannot store generated game!");
+            System.err.println(ex.toString());
+        }
+        return g;
+    }
 
-            // fetch next game
-            Statement s = conn.createStatement();
-            ResultSet rs = s.executeQuery("SELECT * FROM GAME FETCH FIRST ROW ONLY");
+    /**
+     * Find the first GAME_ID after the highest one in the GAME table.
+     *
+     * @return Next free game ID; 1 if the table is empty or can't be read.
+     */
+    private int nextGameId() {
+        try (ConnectionPool.Lease lease = pool.borrow();
+             ResultSet rs = lease.prepare("SELECT MAX(GAME_ID) FROM GAME").executeQuery()) {
             rs.next();
-            g = new Game(rs.getInt(1),
-                    new GameGrid(rs.getString(2)),
-                    new GameGrid(rs.getString(3)));
+            return rs.getInt(1) + 1;
+        } catch (SQLException ex) {
+            System.err.println("Cannot find next game ID!");
+            System.err.println(ex.toString());
+            return 1;
+        }
+    }
+
+    /**
+     * Claim a batch of available games for the prefetcher.
+     *
+     * @param level Difficulty of the games, or null for any.
+     * @param count Largest number of games to claim.
+     * @return Claimed games; empty if there are none, or they can't be
+     * claimed.
+     */
+    List<Game> claimGames(Difficulty level, int count) {
+        try {
+            return dispenser.claim(level, count);
+        } catch (SQLException ex) {
+            System.err.println("Cannot claim games from local Derby database!");
+            System.err.println(ex.toString());
+            return new ArrayList<>();
+        }
+    }
 
-            // remove the game we're fixing to return
-            s.execute("DELETE FROM GAME WHERE GAME_ID = " + g.getID());
+    /**
+     * Record that a claimed game has been handed to a player.
+     *
+     * @param id GAME_ID of the game.
+     */
+    void markServed(int id) {
+        try {
+            dispenser.markServed(id);
+        } catch (SQLException ex) {
+            System.err.println("Cannot mark game " + id + " as served!");
+            System.err.println(ex.toString());
+        }
+    }
 
-            // close database connection
-            conn.close();
+    /**
+     * Make claimed games that were never played available again.
+     *
+     * @param games Games to release.
+     */
+    void returnGames(List<Game> games) {
+        try {
+            dispenser.release(games);
+        } catch (SQLException ex) {
+            System.err.println("Cannot return unplayed games to local Derby database!");
+            System.err.println(ex.toString());
+        }
+    }
 
-            // have we exhausted all the games?
-            if (gameTableEmpty()) {
-                // if so, restock
-                fetchFromCloud();
+    /**
+     * Add a new set of games to the GAME table, remove any that duplicate
+     * others, and rate the rest. Called by the restocker's thread.
+     *
+     * @return true if any new games were added.
+     */
+    boolean refillStock() {
+        if (!restock()) {
+            return false;
+        }
+        removeDuplicateGames();
+        rateGames();
+        return true;
+    }
+
+    /**
+     * Add a new set of games to the GAME table, from the source named in the
+     * .ini file. Games are generated locally instead if the cloud adds none,
+     * as happens once every game in the feed has been played: played games
+     * are kept, so the feed's games are all duplicates.
+     *
+     * @return true if any new games were added.
+     */
+    private boolean restock() {
+        if (gameSource.equals("local")) {
+            return generateLocally();
+        }
+        if (fetchFromCloud()) {
+            return true;
+        }
+        System.err.println("No new games from the cloud; generating them locally.");
+        return generateLocally();
+    }
+
+    /**
+     * Generate a set of SuDoKu games on this machine and place them into the
+     * local database GAME table. New games are numbered after the highest
+     * GAME_ID already in the table.
+     *
+     * @return true if any new games were added.
+     */
+    private boolean generateLocally() {
+        try {
+            // find the first free game ID
+            int firstId = nextGameId();
+
+            // make the games, using every core
+            long start = System.nanoTime();
+            List<Game> games = new PuzzleGenerator(solverEngine).generate(generateCount, firstId);
+            double seconds = (System.nanoTime() - start) / 1.0e9;
+            System.err.printf("Generated %d games in %.2f s (%.1f games/s)%n",
+                    games.size(), seconds, games.size() / seconds);
+
+            // store them
+            int n = games.size();
+            int[] ids = new int[n];
+            String[] puzzles = new String[n];
+            String[] solutions = new String[n];
+            for (int i = 0; i < n; i++) {
+                Game g = games.get(i);
+                ids[i] = g.getID();
+                puzzles[i] = g.getInitial().getGameData();
+                solutions[i] = g.getSolved().getGameData();
             }
+            return importGames(ids, puzzles, solutions) > 0;
 
         } catch (SQLException ex) {
-            System.err.println("Cannot connect to local Derby database in getNextGame()!");
+            System.err.println("Cannot store generated games!");
+            System.err.println(ex.toString());
+            return false;
         }
-        return g;
     }
 
     /**
      * Retrieve a large set of SuDoKu games from the cloud. The games are
      * read as a JSON array and then placed into the local database GAME
      * table.
+     *
+     * @return true if any new games were added.
      */
-    private void fetchFromCloud() {
+    private boolean fetchFromCloud() {
 
         try {
-            // read JSON array containing games from the cloud
-            JSONArray jarr = JsonReader.readJsonArrFromUrl(sJSON_URL);
-
-            // connect to the database
-            Properties props = new Properties();
-            Connection conn = DriverManager.getConnection("jdbc:derby:"
-                    + "SuDoKuDB", props);
-
-            // create a prepared statement that inserts into the game table
-            PreparedStatement ps = conn.prepareStatement("INSERT INTO GAME "
-                    + "VALUES(?, ?, ?)");
-
-            // iterate through all of the objects in the JSON array
-            for (Object o : jarr) {
-                JSONObject j = (JSONObject) o;
+            // read JSON array containing games from the cloud, giving up if
+            // the feed stalls
+            JSONArray jarr = JsonReader.readJsonArrFromUrl(sJSON_URL, feedTimeout);
+
+            // pull out the fields of each game
+            int n = jarr.length();
+            int[] ids = new int[n];
+            String[] games = new String[n];
+            String[] solutions = new String[n];
+            for (int i = 0; i < n; i++) {
+                JSONObject j = jarr.getJSONObject(i);
+                ids[i] = j.getInt("GAME_ID");
+                games[i] = j.getString("GAME_DATA");
+                solutions[i] = j.getString("SOLVED_GAME_DATA");
+            }
 
-                // set parameters in the prepared statement
-                ps.setInt(1, j.getInt("GAME_ID"));
-                ps.setString(2, j.getString("GAME_DATA"));
-                ps.setString(3, j.getString("SOLVED_GAME_DATA"));
+            // optionally, make sure each game has one solution, and that it
+            // matches the solution we were sent
+            PuzzleValidator.Verdict[] verdicts = null;
+            if (validateImports) {
+                verdicts = new PuzzleValidator(solverEngine).validateAll(games, solutions);
+            }
 
-                // add the row!
-                ps.executeUpdate();
+            // drop the games that failed validation
+            int kept = 0;
+            for (int i = 0; i < n; i++) {
+                if (verdicts != null && verdicts[i] != PuzzleValidator.Verdict.VALID) {
+                    System.err.println("Skipping game " + ids[i] + ": " + verdicts[i]);
+                    continue;
+                }
+                ids[kept] = ids[i];
+                games[kept] = games[i];
+                solutions[kept] = solutions[i];
+                kept++;
+            }
+            if (kept < n) {
+                System.err.println("Rejected " + (n - kept) + " of " + n
+                        + " games from the cloud.");
             }
 
-            // close database connection
-            conn.close();
+            // add the rows!
+            return importGames(Arrays.copyOf(ids, kept), Arrays.copyOf(games, kept),
+                    Arrays.copyOf(solutions, kept)) > 0;
 
         } catch (IOException | JSONException | SQLException ex) {
-            System.err.println("Cannot access JSON object from cloud! Exiting!");
+            System.err.println("Cannot access JSON object from cloud!");
             System.err.println(ex.toString());
-            System.exit(-1);
+            return false;
         }
     }
 
+    /**
+     * Insert games into the GAME table in batches, skipping any that are
+     * already there, and report the rate.
+     *
+     * @param ids       GAME_ID of each game.
+     * @param games     GAME_DATA of each game.
+     * @param solutions SOLVED_GAME_DATA of each game.
+     * @return Number of games inserted.
+     * @throws SQLException if the games can't be stored.
+     */
+    private int importGames(int[] ids, String[] games, String[] solutions)
+            throws SQLException {
+        GameImporter importer = new GameImporter(pool, batchSize);
+        importer.importGames(ids, games, solutions);
+        System.err.printf("Imported %d games, skipped %d duplicates (%.1f rows/s)%n",
+                importer.getInserted(), importer.getSkipped(),
+                importer.getRowsPerSecond());
+        return importer.getInserted();
+    }
+
     /**
      * Load persistence data from the DoaneSuDoKu.ini file.
      */
@@ -277,6 +833,27 @@ public class Persistence {
                     // make assignments based on label 
                     if (label.equals("url")) {
                         sJSON_URL = value;
+                    } else if (label.equals("validate")) {
+                        validateImports = Boolean.parseBoolean(value);
+                    } else if (label.equals("source")) {
+                        gameSource = value.toLowerCase();
+                    } else if (label.equals("generate")) {
+                        generateCount = Integer.parseInt(value);
+                    } else if (label.equals("batch")) {
+                        batchSize = Math.max(1, Integer.parseInt(value));
+                    } else if (label.equals("prefetch")) {
+                        prefetchDepth = Math.max(1, Integer.parseInt(value));
+                    } else if (label.equals("lowwater")) {
+                        lowWater = Math.max(1, Integer.parseInt(value));
+                    } else if (label.equals("timeout")) {
+                        feedTimeout = Math.max(1, Integer.parseInt(value)) * 1000;
+                    } else if (label.equals("solver")) {
+                        try {
+                            solverEngine = SolverEngine.fromName(value);
+                        } catch (IllegalArgumentException ex) {
+                            System.err.println("Unknown solver in DoaneSuDoKu.ini: "
+                                    + value + "; using " + solverEngine);
+                        }
                     }
                 } // while
 
@@ -0,0 +1,217 @@
+package edu.doane.sudoku.tools;
+
+import edu.doane.sudoku.model.SolutionCache;
+import edu.doane.sudoku.model.Solver;
+import edu.doane.sudoku.model.SolverEngine;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Headless program that solves a file of puzzles. Each line of the input
+ * is one puzzle, as 81 characters of game data (the format accepted by
+ * GameGrid.setGameData()); blank lines are skipped. For each puzzle, one
+ * line is written to the output, in input order: the solution as game
+ * data, or "ERROR" and the reason the puzzle couldn't be solved.
+ * <p>
+ * Puzzles are solved by a pool of worker threads, one solver each. The
+ * file is streamed: at most a fixed window of puzzles per thread is in
+ * flight at once, so files far larger than memory can be solved. When the
+ * run is over, throughput, median and 99th percentile solve latency, and
+ * the number of failures are printed to standard error. Solutions are
+ * cached, so repeated puzzles in the input are only solved once.
+ * <p>
+ * Usage: BatchSolver [-t threads] [-e engine] input [output]
+ * <p>
+ * The output goes to standard output if no output file is named. The
+ * default is one thread per core and the default solver engine.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/16/2026
+ */
+public final class BatchSolver {
+
+    /**
+     * Number of puzzles per worker thread allowed in flight at once.
+     */
+    private static final int WINDOW_PER_THREAD = 256;
+
+    /**
+     * Solver for each worker thread.
+     */
+    private final ThreadLocal<Solver> solvers;
+
+    /**
+     * Solve latencies of all puzzles, successful or not.
+     */
+    private final LatencyHistogram latencies = new LatencyHistogram();
+
+    /**
+     * Number of puzzles that were malformed or had no solution.
+     */
+    private final AtomicLong failures = new AtomicLong();
+
+    /**
+     * Create a batch solver.
+     *
+     * @param engine Solver engine to use.
+     */
+    private BatchSolver(SolverEngine engine) {
+        solvers = ThreadLocal.withInitial(engine::createCached);
+    }
+
+    /**
+     * Program entry point.
+     *
+     * @param args Command-line arguments; see the class description.
+     */
+    public static void main(String[] args) {
+        int threads = Runtime.getRuntime().availableProcessors();
+        SolverEngine engine = SolverEngine.DEFAULT;
+        String input = null;
+        String output = null;
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                if (args[i].equals("-t")) {
+                    threads = Integer.parseInt(args[++i]);
+                } else if (args[i].equals("-e")) {
+                    engine = SolverEngine.fromName(args[++i]);
+                } else if (input == null) {
+                    input = args[i];
+                } else if (output == null) {
+                    output = args[i];
+                } else {
+                    throw new IllegalArgumentException("Unexpected argument: " + args[i]);
+                }
+            }
+            if (input == null || threads < 1) {
+                throw new IllegalArgumentException("No input file, or bad thread count");
+            }
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException ex) {
+            System.err.println(ex.getMessage());
+            System.err.println("Usage: BatchSolver [-t threads] [-e engine] input [output]");
+            System.exit(1);
+        }
+
+        BatchSolver batch = new BatchSolver(engine);
+        try (BufferedReader in = Files.newBufferedReader(Paths.get(input), StandardCharsets.US_ASCII);
+             Writer out = output == null
+                     ? new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.US_ASCII))
+                     : Files.newBufferedWriter(Paths.get(output), StandardCharsets.US_ASCII)) {
+            batch.run(in, out, threads);
+        } catch (IOException | InterruptedException | ExecutionException ex) {
+            System.err.println("Batch solve failed! Exiting!");
+            System.err.println(ex.toString());
+            System.exit(-1);
+        }
+    }
+
+    /**
+     * Solve every puzzle read from the input, writing the results to the
+     * output in input order, and print a summary.
+     *
+     * @param in      Puzzles, one per line.
+     * @param out     Where the results are written.
+     * @param threads Number of worker threads.
+     * @throws IOException          if the input can't be read or the output
+     *                              written.
+     * @throws InterruptedException if interrupted while waiting on a worker.
+     * @throws ExecutionException   if a worker fails unexpectedly.
+     */
+    private void run(BufferedReader in, Writer out, int threads)
+            throws IOException, InterruptedException, ExecutionException {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        ArrayDeque<Future<String>> window = new ArrayDeque<>();
+        int windowSize = threads * WINDOW_PER_THREAD;
+        long puzzles = 0;
+        long start = System.nanoTime();
+
+        try {
+            String line;
+            while ((line = in.readLine()) != null) {
+                final String gameData = line.trim();
+                if (gameData.isEmpty()) {
+                    continue;
+                }
+
+                // keep the window bounded: write the oldest result first
+                if (window.size() == windowSize) {
+                    writeLine(out, window.removeFirst().get());
+                }
+                window.addLast(pool.submit(new Callable<String>() {
+                    @Override
+                    public String call() {
+                        return solve(gameData);
+                    }
+                }));
+                puzzles++;
+            }
+
+            while (!window.isEmpty()) {
+                writeLine(out, window.removeFirst().get());
+            }
+            out.flush();
+        } finally {
+            pool.shutdownNow();
+        }
+
+        double seconds = (System.nanoTime() - start) / 1.0e9;
+        System.err.printf("%d puzzles in %.2f s: %.1f puzzles/s on %d threads%n",
+                puzzles, seconds, puzzles / seconds, threads);
+        System.err.printf("latency p50 %.1f us, p99 %.1f us%n",
+                latencies.percentile(50) / 1.0e3, latencies.percentile(99) / 1.0e3);
+        System.err.println("failures: " + failures.get());
+        System.err.println("solution cache: " + SolutionCache.getShared());
+    }
+
+    /**
+     * Solve one puzzle on the calling thread.
+     *
+     * @param gameData 81-character game data.
+     * @return Solution game data, or an error line.
+     */
+    private String solve(String gameData) {
+        long start = System.nanoTime();
+        String result;
+        try {
+            byte[] solution = new byte[81];
+            if (solvers.get().solve(Solver.toNumbers(gameData), solution, 1) == 0) {
+                failures.incrementAndGet();
+                result = "ERROR no solution";
+            } else {
+                result = Solver.toGameData(solution);
+            }
+        } catch (IllegalArgumentException ex) {
+            failures.incrementAndGet();
+            result = "ERROR malformed";
+        }
+        latencies.record(System.nanoTime() - start);
+        return result;
+    }
+
+    /**
+     * Write one line of output.
+     *
+     * @param out  Where to write.
+     * @param line Line to write, without the line terminator.
+     * @throws IOException if the line can't be written.
+     */
+    private static void writeLine(Writer out, String line) throws IOException {
+        out.write(line);
+        out.write('\n');
+    }
+}
@@ -0,0 +1,105 @@
+package edu.doane.sudoku.tools;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe histogram of latencies, in nanoseconds, with fixed memory no
+ * matter how many values are recorded. Buckets are log-linear: each power
+ * of two is split into 16 equal sub-buckets, so any percentile is reported
+ * to within about 6%.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/16/2026
+ */
+final class LatencyHistogram {
+
+    /**
+     * Number of bits of each value kept below its leading one bit.
+     */
+    private static final int SUB_BITS = 4;
+
+    /**
+     * Number of sub-buckets per power of two.
+     */
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+
+    /**
+     * Count of values recorded in each bucket.
+     */
+    private final AtomicLongArray counts = new AtomicLongArray((64 - SUB_BITS + 1) * SUB_COUNT);
+
+    /**
+     * Record one latency.
+     *
+     * @param nanos Latency in nanoseconds; negative values count as 0.
+     */
+    void record(long nanos) {
+        counts.incrementAndGet(bucket(Math.max(nanos, 0)));
+    }
+
+    /**
+     * Get the number of latencies recorded.
+     *
+     * @return Number of values recorded.
+     */
+    long count() {
+        long total = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            total += counts.get(i);
+        }
+        return total;
+    }
+
+    /**
+     * Get a percentile of the recorded latencies.
+     *
+     * @param percent Percentile to get, in (0, 100].
+     * @return Upper bound of the bucket holding the percentile, in
+     * nanoseconds, or 0 if nothing has been recorded.
+     */
+    long percentile(double percent) {
+        long total = count();
+        if (total == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(percent / 100.0 * total));
+        long seen = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return upperBound(i);
+            }
+        }
+        return upperBound(counts.length() - 1);
+    }
+
+    /**
+     * Find the bucket for a value.
+     *
+     * @param value Non-negative value.
+     * @return Bucket index.
+     */
+    private static int bucket(long value) {
+        if (value < SUB_COUNT) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BITS;
+        return (shift + 1) * SUB_COUNT + (int) ((value >>> shift) & (SUB_COUNT - 1));
+    }
+
+    /**
+     * Find the largest value that falls in a bucket.
+     *
+     * @param bucket Bucket index.
+     * @return Largest value in the bucket.
+     */
+    private static long upperBound(int bucket) {
+        if (bucket < SUB_COUNT) {
+            return bucket;
+        }
+        int shift = bucket / SUB_COUNT - 1;
+        long lower = (long) (SUB_COUNT + bucket % SUB_COUNT) << shift;
+        return lower + (1L << shift) - 1;
+    }
+}
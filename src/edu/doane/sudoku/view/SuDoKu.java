@@ -51,6 +51,11 @@ public class SuDoKu extends Application implements SuDoKuUI {
      */
     private MenuBar mnuBar;
 
+    /**
+     * Submenu of the Game menu for starting a game of a chosen difficulty.
+     */
+    private Menu mnuDifficulty;
+
     /**
      * Status bar, with timer and notes mode strings.
      */
@@ -157,7 +162,7 @@ public class SuDoKu extends Application implements SuDoKuUI {
      */
     private void configureMenus() {
         Menu mnuGame, mnuHelp, mnuTheme;
-        MenuItem mtmNewGame, mtmClearGrid , mtmExit, mtmAbout, mtmDark, mtmLight;
+        MenuItem mtmNewGame, mtmClearGrid , mtmUndo, mtmRedo, mtmExit, mtmAbout, mtmDark, mtmLight;
 
         mnuGame = new Menu("_Game");
         mtmNewGame = new MenuItem("_New game");
@@ -168,12 +173,26 @@ public class SuDoKu extends Application implements SuDoKuUI {
             }
         });
 
+        mnuDifficulty = new Menu("New game by _difficulty");
+
         mtmClearGrid = new MenuItem("_Clear grid");
         mtmClearGrid.setOnAction(new EventHandler<ActionEvent>() {
             @Override
             public void handle(ActionEvent event) { controller.resetGrids(); }
         });
 
+        mtmUndo = new MenuItem("_Undo");
+        mtmUndo.setOnAction(new EventHandler<ActionEvent>() {
+            @Override
+            public void handle(ActionEvent event) { controller.undo(); }
+        });
+
+        mtmRedo = new MenuItem("_Redo");
+        mtmRedo.setOnAction(new EventHandler<ActionEvent>() {
+            @Override
+            public void handle(ActionEvent event) { controller.redo(); }
+        });
+
         mtmExit = new MenuItem("E_xit");
         mtmExit.setOnAction(new EventHandler<ActionEvent>() {
             @Override
@@ -182,7 +201,8 @@ public class SuDoKu extends Application implements SuDoKuUI {
             }
         });
 
-        mnuGame.getItems().addAll(mtmNewGame, mtmClearGrid,
+        mnuGame.getItems().addAll(mtmNewGame, mnuDifficulty, mtmClearGrid,
+                new SeparatorMenuItem(), mtmUndo, mtmRedo,
                 new SeparatorMenuItem(), mtmExit);
 
         mnuHelp = new Menu("_Help");
@@ -268,7 +288,17 @@ public class SuDoKu extends Application implements SuDoKuUI {
      */
     @Override
     public void setDifficulties(String[] difficulties) {
-        throw new UnsupportedOperationException("Not supported yet.");
+        mnuDifficulty.getItems().clear();
+        for (final String difficulty : difficulties) {
+            MenuItem mtmDifficulty = new MenuItem(difficulty);
+            mtmDifficulty.setOnAction(new EventHandler<ActionEvent>() {
+                @Override
+                public void handle(ActionEvent event) {
+                    controller.requestGame(difficulty);
+                }
+            });
+            mnuDifficulty.getItems().add(mtmDifficulty);
+        }
     }
 
     /**
@@ -428,6 +458,23 @@ public class SuDoKu extends Application implements SuDoKuUI {
         cells[row][col].toggleNote(c);
     }
 
+    /**
+     * Show a batch of cells' notes, replacing whatever notes they showed
+     * before.
+     *
+     * @param cells Indices of the cells, row * 9 + col; only the first
+     *              count are used.
+     * @param masks Notes to show in each cell, as DigitMask masks, parallel
+     *              to cells.
+     * @param count Number of cells to update.
+     */
+    @Override
+    public void showNotes(int[] cells, int[] masks, int count) {
+        for (int i = 0; i < count; i++) {
+            this.cells[cells[i] / 9][cells[i] % 9].setNotes(masks[i]);
+        }
+    }
+
     /**
      * Set the time value to be displayed on the UI.
      *
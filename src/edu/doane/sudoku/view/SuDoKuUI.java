@@ -55,6 +55,18 @@ public interface SuDoKuUI {
      */
     void toggleNote(int row, int col, int number);
 
+    /**
+     * Show a batch of cells' notes, replacing whatever notes they showed
+     * before.
+     *
+     * @param cells Indices of the cells, row * 9 + col; only the first
+     *              count are used.
+     * @param masks Notes to show in each cell, as DigitMask masks, parallel
+     *              to cells.
+     * @param count Number of cells to update.
+     */
+    void showNotes(int[] cells, int[] masks, int count);
+
     /**
      * Set the time value to be displayed on the UI.
      *
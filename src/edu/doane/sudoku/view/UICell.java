@@ -234,6 +234,19 @@ public class UICell extends BorderPane implements EventHandler<MouseEvent> {
         lblNotes[i].setVisible(notes[i]);
     }
 
+    /**
+     * Show exactly the notes in a mask.
+     *
+     * @param mask DigitMask mask of the notes to show; bit i set means
+     *             number i is shown.
+     */
+    public void setNotes(int mask) {
+        for (int i = 1; i < notes.length; i++) {
+            notes[i] = (mask & (1 << i)) != 0;
+            lblNotes[i].setVisible(notes[i]);
+        }
+    }
+
     /**
      * Place a number in the cell as a given.
      *
@@ -88,6 +88,14 @@ public class UIKeyHandler implements EventHandler<KeyEvent> {
 
                     break;
 
+                // a toggles automatic candidates
+                case 'a':
+                case 'A':
+                    if (!pausedMode) {
+                        controller.toggleAutoCandidates();
+                    }
+                    break;
+
                 // p toggles paused mode
                 case 'p':
                 case 'P':
@@ -105,6 +113,21 @@ public class UIKeyHandler implements EventHandler<KeyEvent> {
                     }
                     break;
 
+                // u undoes the last move, r redoes it
+                case 'u':
+                case 'U':
+                    if (!pausedMode) {
+                        controller.undo();
+                    }
+                    break;
+
+                case 'r':
+                case 'R':
+                    if (!pausedMode) {
+                        controller.redo();
+                    }
+                    break;
+
                 // 1 - 9 sets number or note
                 case '1':
                 case '2':